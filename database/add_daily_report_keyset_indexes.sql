@@ -0,0 +1,11 @@
+-- Migration: indexes for keyset (cursor) pagination of daily reports
+-- /api/daily-reports/cursor and /api/daily-reports/my-reports/cursor read pages ordered by
+-- (business_date DESC, id DESC) and seek past the last row of the previous page; these indexes
+-- let each page be an index range scan with no OFFSET and no COUNT.
+-- Users and defects page by primary key and need no extra index.
+
+CREATE INDEX IF NOT EXISTS idx_daily_reports_date_id
+    ON daily_reports (business_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_daily_reports_employee_date_id
+    ON daily_reports (employee_id, business_date, id);
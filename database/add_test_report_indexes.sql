@@ -0,0 +1,12 @@
+-- Migration: indexes for the test management report (GET /api/test/reports)
+-- TestReportService counts test cases, executions and defects with GROUP BY queries, optionally
+-- scoped to one module through the test case; these indexes cover the module and join columns.
+
+CREATE INDEX IF NOT EXISTS idx_test_cases_module_status
+    ON test_cases (module_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_test_executions_test_case_status
+    ON test_executions (test_case_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_defects_test_case
+    ON defects (test_case_id);
@@ -0,0 +1,33 @@
+-- Migration: bulk test result import (POST /api/test/executions/import)
+-- test_cases.external_key identifies the automated test covering a case (JUnit "classname.name");
+-- imported results are matched by it, then by title, so both are indexed.
+-- test_executions now takes ids from test_executions_seq with allocationSize = 50 instead of IDENTITY,
+-- so Hibernate can batch the inserts.
+-- Run this BEFORE starting the new application version on an existing database:
+-- otherwise ddl-auto=update creates the sequence starting at 1 and inserts collide with existing ids.
+-- Safe to re-run; run it with the application stopped.
+
+ALTER TABLE test_cases ADD COLUMN IF NOT EXISTS external_key VARCHAR(255);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_test_cases_external_key ON test_cases (external_key);
+
+CREATE INDEX IF NOT EXISTS idx_test_cases_title ON test_cases (title);
+
+CREATE SEQUENCE IF NOT EXISTS test_executions_seq INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'test_executions'
+                 AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE test_executions ALTER COLUMN id DROP IDENTITY;
+    END IF;
+END $$;
+
+-- Hibernate's pooled optimizer treats each nextval as the top of a block of 50,
+-- so the first value handed out must be at least MAX(id) + 50
+SELECT setval('test_executions_seq', COALESCE((SELECT MAX(id) FROM test_executions), 0) + 50, false);
+
+-- Keep plain SQL inserts working; a nextval taken here is never reused by Hibernate
+ALTER TABLE test_executions ALTER COLUMN id SET DEFAULT nextval('test_executions_seq');
+ALTER SEQUENCE test_executions_seq OWNED BY test_executions.id;
@@ -0,0 +1,31 @@
+-- Migration: daily_report_stats rollup for the daily report dashboard
+-- One row per business date x employee x status, maintained by DailyReportStatsService.
+-- The application seeds the table on startup when it is empty; after a restore,
+-- run the reconcile block below or call POST /api/daily-reports/dashboard/rebuild (ADMIN).
+
+CREATE TABLE IF NOT EXISTS daily_report_stats (
+    id                      BIGSERIAL PRIMARY KEY,
+    business_date           DATE NOT NULL,
+    employee_id             BIGINT NOT NULL,
+    status                  VARCHAR(50) NOT NULL,
+    report_count            BIGINT NOT NULL DEFAULT 0,
+    escalation_count        BIGINT NOT NULL DEFAULT 0,
+    pending_activity_count  BIGINT NOT NULL DEFAULT 0,
+    qrmis_issue_count       BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_daily_report_stats_bucket
+        UNIQUE (business_date, employee_id, status)
+);
+
+-- Reconcile from source tables
+BEGIN;
+DELETE FROM daily_report_stats;
+INSERT INTO daily_report_stats
+    (business_date, employee_id, status, report_count, escalation_count, pending_activity_count, qrmis_issue_count)
+SELECT dr.business_date, dr.employee_id, dr.status, COUNT(*),
+       COALESCE(SUM(pe.cnt), 0), COALESCE(SUM(pa.cnt), 0), COALESCE(SUM(qi.cnt), 0)
+FROM daily_reports dr
+LEFT JOIN (SELECT daily_report_id, COUNT(*) AS cnt FROM problem_escalations GROUP BY daily_report_id) pe ON pe.daily_report_id = dr.id
+LEFT JOIN (SELECT daily_report_id, COUNT(*) AS cnt FROM pending_activities GROUP BY daily_report_id) pa ON pa.daily_report_id = dr.id
+LEFT JOIN (SELECT daily_report_id, COUNT(*) AS cnt FROM qrmis_issues GROUP BY daily_report_id) qi ON qi.daily_report_id = dr.id
+GROUP BY dr.business_date, dr.employee_id, dr.status;
+COMMIT;
@@ -0,0 +1,43 @@
+-- Migration: full-text search for test management (GET /api/test/search)
+-- Adds a generated, weighted tsvector column with a GIN index to test_cases, defects and comments.
+-- Weights: titles A; preconditions, defect descriptions and comment text B; steps and expected result C.
+-- Test case steps live in test_case_steps, which a generated column cannot read, so the application
+-- keeps a newline-joined copy in test_cases.steps_text; the backfill below seeds it for existing rows.
+-- Adding a STORED generated column rewrites the table once; run outside peak hours on large tables.
+-- The 'english' configuration must match TestSearchRepository.TS_CONFIG.
+
+ALTER TABLE test_cases ADD COLUMN IF NOT EXISTS steps_text TEXT;
+
+UPDATE test_cases tc
+SET steps_text = s.steps
+FROM (
+    SELECT test_case_id, string_agg(step, E'\n' ORDER BY step_order) AS steps
+    FROM test_case_steps
+    GROUP BY test_case_id
+) s
+WHERE s.test_case_id = tc.id AND tc.steps_text IS DISTINCT FROM s.steps;
+
+ALTER TABLE test_cases ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(preconditions, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(steps_text, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(expected_result, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_test_cases_search_vector ON test_cases USING GIN (search_vector);
+
+ALTER TABLE defects ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_defects_search_vector ON defects USING GIN (search_vector);
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_comments_search_vector ON comments USING GIN (search_vector);
@@ -0,0 +1,43 @@
+-- Migration: training_monthly_facts for the CFO training dashboard
+-- One row per month x program x effective instructor (session instructor, else program instructor),
+-- maintained by TrainingFactService when sessions and attendance change and rebuilt nightly.
+-- The application seeds the table on startup when it is empty; after a restore, run the reconcile block below.
+-- (month_start, program_id, instructor_id) is unique, with a missing instructor counting as one value
+-- (NULLS NOT DISTINCT, PostgreSQL 15+); the constraint is added after the reconcile so existing duplicates
+-- are gone first. Safe to re-run.
+
+CREATE TABLE IF NOT EXISTS training_monthly_facts (
+    id                       BIGSERIAL PRIMARY KEY,
+    month_start              DATE NOT NULL,
+    program_id               BIGINT NOT NULL,
+    instructor_id            BIGINT,
+    session_count            BIGINT NOT NULL DEFAULT 0,
+    completed_session_count  BIGINT NOT NULL DEFAULT 0,
+    attendance_count         BIGINT NOT NULL DEFAULT 0,
+    present_like_count       BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_training_monthly_facts_month ON training_monthly_facts (month_start);
+CREATE INDEX IF NOT EXISTS idx_training_monthly_facts_program ON training_monthly_facts (program_id, month_start);
+
+-- Reconcile from source tables
+BEGIN;
+DELETE FROM training_monthly_facts;
+INSERT INTO training_monthly_facts
+    (month_start, program_id, instructor_id, session_count, completed_session_count, attendance_count, present_like_count)
+SELECT CAST(date_trunc('month', ts.start_date_time) AS DATE), ts.program_id,
+       COALESCE(ts.instructor_id, tp.instructor_id),
+       COUNT(DISTINCT ts.id),
+       COUNT(DISTINCT CASE WHEN ts.status = 'COMPLETED' THEN ts.id END),
+       COUNT(a.id),
+       COUNT(CASE WHEN a.status IN ('PRESENT', 'LATE', 'EXCUSED') THEN a.id END)
+FROM training_sessions ts
+JOIN training_programs tp ON tp.id = ts.program_id
+LEFT JOIN attendances a ON a.session_id = ts.id
+GROUP BY 1, 2, 3;
+COMMIT;
+
+-- Replaces a plain unique constraint of the same name that ddl-auto may have created (NULLs distinct)
+ALTER TABLE training_monthly_facts DROP CONSTRAINT IF EXISTS uk_training_monthly_facts_month_program_instructor;
+ALTER TABLE training_monthly_facts ADD CONSTRAINT uk_training_monthly_facts_month_program_instructor
+    UNIQUE NULLS NOT DISTINCT (month_start, program_id, instructor_id);
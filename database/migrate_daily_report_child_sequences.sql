@@ -0,0 +1,44 @@
+-- Migration: pooled sequences for daily report section tables
+-- The ten section entities (chat_communications ... qrmis_issues) now take ids from
+-- <table>_seq with allocationSize = 50 instead of IDENTITY, so Hibernate can batch inserts.
+-- Run this BEFORE starting the new application version on an existing database:
+-- otherwise ddl-auto=update creates the sequences starting at 1 and inserts collide with existing ids.
+-- Safe to re-run; run it with the application stopped.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'chat_communications',
+        'email_communications',
+        'problem_escalations',
+        'training_capacity_buildings',
+        'project_progress_updates',
+        'cbs_team_activities',
+        'pending_activities',
+        'meetings',
+        'afpay_card_requests',
+        'qrmis_issues'
+    ] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+
+        -- Columns created by Hibernate are identity columns; columns from create_daily_report_tables.sql are BIGSERIAL
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = t
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', t);
+        END IF;
+
+        -- Hibernate's pooled optimizer treats each nextval as the top of a block of 50,
+        -- so the first value handed out must be at least MAX(id) + 50
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', t || '_seq', t);
+
+        -- Keep plain SQL inserts working; a nextval taken here is never reused by Hibernate
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.id', t || '_seq', t);
+    END LOOP;
+END $$;
+
+-- Verify
+SELECT sequencename, last_value, increment_by FROM pg_sequences WHERE sequencename LIKE '%\_seq' ORDER BY sequencename;
@@ -0,0 +1,53 @@
+-- Migration: store e-signature images once, referenced by content hash
+-- signature_images holds each distinct image as bytes keyed by the hex SHA-256 of those bytes.
+-- attendances.signature_hash replaces the per-row base64 copy in attendances.signature_data;
+-- users keep signature_data for the profile API and gain signature_hash.
+-- Rows whose base64 cannot be decoded are left untouched (the application still reads signature_data).
+-- Requires PostgreSQL 11+ for sha256(bytea).
+
+CREATE TABLE IF NOT EXISTS signature_images (
+    hash        VARCHAR(64) PRIMARY KEY,
+    image_data  BYTEA NOT NULL,
+    created_at  TIMESTAMP
+);
+
+ALTER TABLE attendances ADD COLUMN IF NOT EXISTS signature_hash VARCHAR(64);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS signature_hash VARCHAR(64);
+
+CREATE OR REPLACE FUNCTION pg_temp.try_decode_signature(data TEXT) RETURNS BYTEA AS $$
+BEGIN
+    RETURN decode(regexp_replace(substring(data FROM position(',' IN data) + 1), '\s', '', 'g'), 'base64');
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+BEGIN;
+
+CREATE TEMP TABLE signature_backfill ON COMMIT DROP AS
+SELECT 'A' AS source, id, pg_temp.try_decode_signature(signature_data) AS image
+FROM attendances
+WHERE signature_data IS NOT NULL AND signature_data <> '' AND signature_hash IS NULL
+UNION ALL
+SELECT 'U', id, pg_temp.try_decode_signature(signature_data)
+FROM users
+WHERE signature_data IS NOT NULL AND signature_data <> '' AND signature_hash IS NULL;
+
+DELETE FROM signature_backfill WHERE image IS NULL OR length(image) = 0;
+
+INSERT INTO signature_images (hash, image_data, created_at)
+SELECT DISTINCT ON (encode(sha256(image), 'hex')) encode(sha256(image), 'hex'), image, now()
+FROM signature_backfill
+ON CONFLICT (hash) DO NOTHING;
+
+UPDATE attendances a
+SET signature_hash = encode(sha256(b.image), 'hex'), signature_data = NULL
+FROM signature_backfill b
+WHERE b.source = 'A' AND b.id = a.id;
+
+UPDATE users u
+SET signature_hash = encode(sha256(b.image), 'hex')
+FROM signature_backfill b
+WHERE b.source = 'U' AND b.id = u.id;
+
+COMMIT;
@@ -0,0 +1,77 @@
+-- Migration: monthly range partitioning of audit_logs on created_at
+-- Replaces audit_logs with a table partitioned by month (audit_logs_pYYYYMM), copies the existing
+-- rows across and adds the (entity_type, entity_id, created_at) and (user_id, created_at) indexes
+-- used by /api/audit. The primary key becomes (id, created_at) because a partitioned table's
+-- unique keys must include the partition key.
+-- Partitions for the coming months are created and old ones detached or dropped by the application
+-- (AuditPartitionService, app.audit.partitions.* / app.audit.retention.*), so no row-level DELETE
+-- is ever needed. The old table is kept as audit_logs_legacy; drop it once the copy is verified.
+-- Run this BEFORE starting the new application version on an existing database, with the old version
+-- stopped so no audit row is written to the old table mid-copy. If the new version has already been
+-- started, ddl-auto=update will have created the idx_audit_logs_* indexes on the old table; they are
+-- renamed along with it, so the script still produces the right indexes.
+-- Safe to re-run: does nothing if audit_logs is already partitioned.
+
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE := date_trunc('month', now())::date + INTERVAL '3 months';
+    month DATE;
+    legacy_index TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt
+               JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = 'audit_logs' AND c.relnamespace = 'public'::regnamespace) THEN
+        RAISE NOTICE 'audit_logs is already partitioned';
+        RETURN;
+    END IF;
+
+    ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+
+    -- Indexes keep their names across a table rename; move them aside so the new table's primary key
+    -- (audit_logs_pkey) and the idx_audit_logs_* indexes below do not collide with the legacy ones
+    FOR legacy_index IN
+        SELECT indexname FROM pg_indexes
+        WHERE schemaname = current_schema() AND tablename = 'audit_logs_legacy'
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', legacy_index, left(legacy_index, 56) || '_legacy');
+    END LOOP;
+
+    CREATE SEQUENCE IF NOT EXISTS audit_logs_id_partitioned_seq;
+    PERFORM setval('audit_logs_id_partitioned_seq',
+                   COALESCE((SELECT MAX(id) FROM audit_logs_legacy), 0) + 1, false);
+
+    CREATE TABLE audit_logs (
+        id          BIGINT       NOT NULL DEFAULT nextval('audit_logs_id_partitioned_seq'),
+        entity_type VARCHAR(100) NOT NULL,
+        entity_id   BIGINT       NOT NULL,
+        action      VARCHAR(50)  NOT NULL,
+        user_id     BIGINT       NOT NULL REFERENCES users (id),
+        old_value   TEXT,
+        new_value   TEXT,
+        description TEXT,
+        created_at  TIMESTAMP(6) NOT NULL DEFAULT now(),
+        PRIMARY KEY (id, created_at)
+    ) PARTITION BY RANGE (created_at);
+
+    ALTER SEQUENCE audit_logs_id_partitioned_seq OWNED BY audit_logs.id;
+
+    -- One partition per month from the oldest existing row through three months ahead
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::date, date_trunc('month', now())::date)
+    INTO first_month FROM audit_logs_legacy;
+    month := first_month;
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_p' || to_char(month, 'YYYYMM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO audit_logs (id, entity_type, entity_id, action, user_id, old_value, new_value, description, created_at)
+    SELECT id, entity_type, entity_id, action, user_id, old_value, new_value, description,
+           COALESCE(created_at, now())
+    FROM audit_logs_legacy;
+
+    -- Created on the parent, so every partition (including ones added later) gets them
+    CREATE INDEX idx_audit_logs_entity_created ON audit_logs (entity_type, entity_id, created_at);
+    CREATE INDEX idx_audit_logs_user_created ON audit_logs (user_id, created_at);
+END $$;
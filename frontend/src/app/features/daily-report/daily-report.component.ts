@@ -24,6 +24,27 @@ import {
   ACTIVITY_TYPES
 } from '../../core/models/daily-report/daily-report.model';
 
+type ReportSection = Exclude<keyof CreateDailyReportRequest, 'businessDate' | 'cbsEndTime' | 'cbsStartTimeNextDay' | 'reportingLine'>;
+
+/**
+ * One row of the simplified activity list. `id` is a local counter; rows loaded from a saved report
+ * keep the server row in `source` so saving sends its id back and the backend updates it in place
+ * instead of deleting and re-inserting every row.
+ */
+interface TempActivity {
+  id: number;
+  activityType: string;
+  description: string;
+  branch?: string;
+  source?: {
+    section: ReportSection;
+    row: any;
+    activityType: string;
+    description: string;
+    branch?: string;
+  };
+}
+
 @Component({
   selector: 'app-daily-report',
   standalone: true,
@@ -163,12 +184,14 @@ export class DailyReportComponent implements OnInit {
   newActivityType = '';
   newActivityDescription = '';
   newActivityBranch = '';
-  tempActivities: { id: number; activityType: string; description: string; branch?: string }[] = [];
+  tempActivities: TempActivity[] = [];
   editingActivityIndex: number | null = null;
   editingActivityType = '';
   editingActivityText = '';
   editingActivityBranch = '';
   private activityIdCounter = 1;
+  // What the last convertTempActivitiesToBackendFormat() sent for each activity, in request order
+  private sentRows: { activity: TempActivity; section: ReportSection; activityType: string; description: string; branch?: string }[] = [];
   
   // Branch List organized by zones
   branchZones: { zone: string; branches: string[] }[] = [
@@ -357,8 +380,62 @@ export class DailyReportComponent implements OnInit {
     }
   }
 
+  // Rows loaded from the server are sent back with their id: untouched rows verbatim, edited rows with
+  // only the fields this editor owns overwritten. A row moved to another section starts again from defaults.
+  private toSectionRow(activity: TempActivity, section: ReportSection, defaults: any, edited: any): any {
+    this.sentRows.push({
+      activity,
+      section,
+      activityType: activity.activityType,
+      description: activity.description?.trim() || '',
+      branch: activity.branch?.trim() || undefined
+    });
+    const source = activity.source;
+    if (!source || source.section !== section) {
+      return { ...defaults, ...edited };
+    }
+    const unchanged = source.activityType === activity.activityType
+      && source.description === activity.description?.trim()
+      && (source.branch || '') === (activity.branch?.trim() || '');
+    return unchanged ? { ...source.row } : { ...source.row, ...edited };
+  }
+
+  // After a save, point each sent activity at the row the server now holds for it, so the next save
+  // updates that row instead of inserting it again. Rows the server did not know yet come back after
+  // the existing ones, in request order.
+  private bindSavedRows(report: DailyReport) {
+    const sections = new Set(this.sentRows.map(sent => sent.section));
+    sections.forEach(section => {
+      const sent = this.sentRows.filter(entry => entry.section === section);
+      const serverRows: any[] = (report as any)[section] || [];
+      const byId = new Map<number, any>(serverRows.map(row => [row.id, row] as [number, any]));
+      const sentIds = new Set(sent
+        .filter(entry => entry.activity.source?.section === section)
+        .map(entry => entry.activity.source!.row.id));
+      const newRows = serverRows.filter(row => !sentIds.has(row.id));
+      let next = 0;
+      sent.forEach(entry => {
+        const source = entry.activity.source;
+        const row = source?.section === section && byId.has(source.row.id)
+          ? byId.get(source.row.id)
+          : newRows[next++];
+        if (row) {
+          entry.activity.source = {
+            section,
+            row,
+            activityType: entry.activityType,
+            description: entry.description,
+            branch: entry.branch
+          };
+        }
+      });
+    });
+    this.sentRows = [];
+  }
+
   // Convert temp activities to backend format
   convertTempActivitiesToBackendFormat(): CreateDailyReportRequest {
+    this.sentRows = [];
     const request: CreateDailyReportRequest = {
       businessDate: this.reportForm.get('businessDate')?.value,
       chatCommunications: [],
@@ -390,76 +467,85 @@ export class DailyReportComponent implements OnInit {
         case 'Branch coordination':
         case 'Manual entry work':
         case 'Other':
-          request.cbsTeamActivities!.push({
+          request.cbsTeamActivities!.push(this.toSectionRow(activity, 'cbsTeamActivities', {}, {
             description: desc,
             activityType: activity.activityType,
             branch: branch || undefined
-          });
+          }));
           break;
         case 'Chat Communication':
-          request.chatCommunications!.push({
+          request.chatCommunications!.push(this.toSectionRow(activity, 'chatCommunications', {
             platform: 'General',
-            summary: desc,
             actionTaken: ''
-          });
+          }, {
+            summary: desc
+          }));
           break;
         case 'Email Communication':
-          request.emailCommunications!.push({
+          request.emailCommunications!.push(this.toSectionRow(activity, 'emailCommunications', {
             isInternal: true,
             sender: '',
             receiver: '',
-            subject: desc,
-            summary: desc,
             followUpRequired: false
-          });
+          }, {
+            subject: desc,
+            summary: desc
+          }));
           break;
         case 'Problem Escalation':
-          request.problemEscalations!.push({
+          request.problemEscalations!.push(this.toSectionRow(activity, 'problemEscalations', {
             escalatedTo: '',
-            reason: desc,
             escalationDateTime: new Date().toISOString()
-          });
+          }, {
+            reason: desc
+          }));
           break;
         case 'Training & Capacity Building':
-          request.trainingCapacityBuildings!.push({
-            trainingType: 'Internal',
+          request.trainingCapacityBuildings!.push(this.toSectionRow(activity, 'trainingCapacityBuildings', {
+            trainingType: 'Internal'
+          }, {
             topic: desc
-          });
+          }));
           break;
         case 'Project Progress Update':
-          request.projectProgressUpdates!.push({
-            projectName: '',
+          request.projectProgressUpdates!.push(this.toSectionRow(activity, 'projectProgressUpdates', {
+            projectName: ''
+          }, {
             progressDetail: desc
-          });
+          }));
           break;
         case 'Pending Activity':
-          request.pendingActivities!.push({
-            title: desc,
-            description: desc,
+          request.pendingActivities!.push(this.toSectionRow(activity, 'pendingActivities', {
             status: 'Pending',
             followUpRequired: false
-          });
+          }, {
+            title: desc,
+            description: desc
+          }));
           break;
         case 'Meeting':
-          request.meetings!.push({
-            meetingType: 'Internal',
+          request.meetings!.push(this.toSectionRow(activity, 'meetings', {
+            meetingType: 'Internal'
+          }, {
             topic: desc,
             summary: desc
-          });
+          }));
           break;
         case 'AFPay Card Request':
-          request.afpayCardRequests!.push({
+          request.afpayCardRequests!.push(this.toSectionRow(activity, 'afpayCardRequests', {
             requestType: 'Issue',
             requestedBy: '',
-            requestDate: this.reportForm.get('businessDate')?.value || this.today,
+            requestDate: this.reportForm.get('businessDate')?.value || this.today
+          }, {
             resolutionDetails: desc
-          });
+          }));
           break;
         case 'QRMIS Issue':
-          request.qrmisIssues!.push({
-            problemType: '',
+          request.qrmisIssues!.push(this.toSectionRow(activity, 'qrmisIssues', {
+            problemType: ''
+          }, {
             problemDescription: desc
-          });
+          }));
           break;
       }
     });
@@ -536,6 +622,16 @@ export class DailyReportComponent implements OnInit {
     }
   }
 
+  private fromServer(section: ReportSection, row: any, activityType: string, description: string, branch?: string): TempActivity {
+    return {
+      id: this.activityIdCounter++,
+      activityType,
+      description,
+      branch,
+      source: { section, row, activityType, description, branch }
+    };
+  }
+
   loadFormFromReport(report: DailyReport) {
     const date = new Date(report.businessDate);
     const dayName = this.daysOfWeek[date.getDay() === 0 ? 6 : date.getDay() - 1];
@@ -555,111 +651,71 @@ export class DailyReportComponent implements OnInit {
     // Convert CBS Team Activities (including all subtypes)
     if (report.cbsTeamActivities && report.cbsTeamActivities.length > 0) {
       report.cbsTeamActivities.forEach(activity => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: activity.activityType || 'CBS Team Activity',
-          description: activity.description,
-          branch: activity.branch
-        });
+        this.tempActivities.push(this.fromServer('cbsTeamActivities', activity,
+          activity.activityType || 'CBS Team Activity', activity.description, activity.branch));
       });
     }
     
     // Convert Chat Communications
     if (report.chatCommunications && report.chatCommunications.length > 0) {
       report.chatCommunications.forEach(chat => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Chat Communication',
-          description: chat.summary || ''
-        });
+        this.tempActivities.push(this.fromServer('chatCommunications', chat, 'Chat Communication', chat.summary || ''));
       });
     }
     
     // Convert Email Communications
     if (report.emailCommunications && report.emailCommunications.length > 0) {
       report.emailCommunications.forEach(email => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Email Communication',
-          description: email.summary || email.subject || ''
-        });
+        this.tempActivities.push(this.fromServer('emailCommunications', email, 'Email Communication', email.summary || email.subject || ''));
       });
     }
     
     // Convert Problem Escalations
     if (report.problemEscalations && report.problemEscalations.length > 0) {
       report.problemEscalations.forEach(escalation => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Problem Escalation',
-          description: escalation.reason || ''
-        });
+        this.tempActivities.push(this.fromServer('problemEscalations', escalation, 'Problem Escalation', escalation.reason || ''));
       });
     }
     
     // Convert Training & Capacity Building
     if (report.trainingCapacityBuildings && report.trainingCapacityBuildings.length > 0) {
       report.trainingCapacityBuildings.forEach(training => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Training & Capacity Building',
-          description: training.topic || ''
-        });
+        this.tempActivities.push(this.fromServer('trainingCapacityBuildings', training, 'Training & Capacity Building', training.topic || ''));
       });
     }
     
     // Convert Project Progress Updates
     if (report.projectProgressUpdates && report.projectProgressUpdates.length > 0) {
       report.projectProgressUpdates.forEach(project => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Project Progress Update',
-          description: project.progressDetail || ''
-        });
+        this.tempActivities.push(this.fromServer('projectProgressUpdates', project, 'Project Progress Update', project.progressDetail || ''));
       });
     }
     
     // Convert Pending Activities
     if (report.pendingActivities && report.pendingActivities.length > 0) {
       report.pendingActivities.forEach(pending => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Pending Activity',
-          description: pending.description || pending.title || ''
-        });
+        this.tempActivities.push(this.fromServer('pendingActivities', pending, 'Pending Activity', pending.description || pending.title || ''));
       });
     }
     
     // Convert Meetings
     if (report.meetings && report.meetings.length > 0) {
       report.meetings.forEach(meeting => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'Meeting',
-          description: meeting.summary || meeting.topic || ''
-        });
+        this.tempActivities.push(this.fromServer('meetings', meeting, 'Meeting', meeting.summary || meeting.topic || ''));
       });
     }
     
     // Convert AFPay Card Requests
     if (report.afpayCardRequests && report.afpayCardRequests.length > 0) {
       report.afpayCardRequests.forEach(afpay => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'AFPay Card Request',
-          description: afpay.resolutionDetails || ''
-        });
+        this.tempActivities.push(this.fromServer('afpayCardRequests', afpay, 'AFPay Card Request', afpay.resolutionDetails || ''));
       });
     }
     
     // Convert QRMIS Issues
     if (report.qrmisIssues && report.qrmisIssues.length > 0) {
       report.qrmisIssues.forEach(qrmis => {
-        this.tempActivities.push({
-          id: this.activityIdCounter++,
-          activityType: 'QRMIS Issue',
-          description: qrmis.problemDescription || ''
-        });
+        this.tempActivities.push(this.fromServer('qrmisIssues', qrmis, 'QRMIS Issue', qrmis.problemDescription || ''));
       });
     }
     
@@ -685,6 +741,7 @@ export class DailyReportComponent implements OnInit {
         // Update existing report (keeps current status, or sets to DRAFT if needed)
         const updatedReport = await this.reportService.updateReport(reportId, request).toPromise();
         this.currentReport = updatedReport!;
+        this.bindSavedRows(updatedReport!);
         this.successMessage = 'Draft saved successfully';
         this.loadMyReports();
         
@@ -696,6 +753,7 @@ export class DailyReportComponent implements OnInit {
         // Create new report as DRAFT
         const report = await this.reportService.createReport(request).toPromise();
         this.currentReport = report!;
+        this.bindSavedRows(report!);
         this.successMessage = 'Draft saved successfully';
         this.loadMyReports();
       }
@@ -731,11 +789,13 @@ export class DailyReportComponent implements OnInit {
         // Create new report first
         const report = await this.reportService.createReport(request).toPromise();
         this.currentReport = report!;
+        this.bindSavedRows(report!);
         reportId = report!.id!;
       } else {
         // Update existing report
         const updatedReport = await this.reportService.updateReport(reportId, request).toPromise();
         this.currentReport = updatedReport!;
+        this.bindSavedRows(updatedReport!);
       }
 
       // Now submit the report
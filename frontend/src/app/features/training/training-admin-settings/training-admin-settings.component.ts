@@ -779,6 +779,17 @@ export class TrainingAdminSettingsComponent implements OnInit {
   openProgramView(program: TrainingProgram): void {
     this.viewProgram = program;
     this.showProgramViewModal = true;
+    // The list omits long text fields (description etc.); load the full program for the view
+    this.trainingService.getProgramById(program.id).subscribe({
+      next: (full) => {
+        if (this.viewProgram?.id === full.id) {
+          this.viewProgram = full;
+        }
+      },
+      error: () => {
+        // Keep showing the list row; only the long text fields are missing
+      }
+    });
   }
 
   closeProgramView(): void {
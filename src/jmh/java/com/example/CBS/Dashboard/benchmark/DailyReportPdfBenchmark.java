@@ -0,0 +1,135 @@
+package com.example.CBS.Dashboard.benchmark;
+
+import com.example.CBS.Dashboard.entity.CbsTeamActivity;
+import com.example.CBS.Dashboard.entity.DailyReport;
+import com.example.CBS.Dashboard.entity.PendingActivity;
+import com.example.CBS.Dashboard.entity.User;
+import com.example.CBS.Dashboard.service.dailyreport.DailyReportPdfService;
+import com.example.CBS.Dashboard.service.pdf.PdfAssetRegistry;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.layout.element.Image;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders employee and combined daily report PDFs for 1, 100 and 1000 in-memory reports
+ * into a discarding stream, so only layout and PDF serialization are measured.
+ * The {@code *Baseline} benchmarks re-read and re-decode the logo for every document, as the
+ * renderers did before {@link PdfAssetRegistry}; see README.md next to this class for results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DailyReportPdfBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int reportCount;
+
+    private DailyReportPdfService pdfService;
+    private DailyReportPdfService baselinePdfService;
+    private List<DailyReport> reports;
+
+    @Setup
+    public void setUp() {
+        pdfService = new DailyReportPdfService(new PdfAssetRegistry());
+        baselinePdfService = new DailyReportPdfService(new UncachedAssets());
+        reports = new ArrayList<>(reportCount);
+        LocalDate date = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < reportCount; i++) {
+            User employee = new User();
+            employee.setId((long) i);
+            employee.setUsername("employee" + i);
+            employee.setFullName("Employee " + i);
+
+            DailyReport report = new DailyReport();
+            report.setId((long) i);
+            report.setEmployee(employee);
+            report.setBusinessDate(date.minusDays(i));
+            report.setCbsEndTime(LocalTime.of(16, 0));
+            report.setCbsStartTimeNextDay(LocalTime.of(8, 0));
+            report.setStatus(DailyReport.ReportStatus.SUBMITTED);
+            report.setReportingLine("CBS Operations");
+
+            for (int a = 0; a < 5; a++) {
+                CbsTeamActivity activity = new CbsTeamActivity();
+                activity.setDailyReport(report);
+                activity.setDescription("Activity " + a + " for report " + i);
+                activity.setBranch("Branch " + (a % 3));
+                activity.setAccountNumber("10000" + a);
+                activity.setActivityType(a % 2 == 0 ? "Reversals" : "Allowing without check number");
+                report.getCbsTeamActivities().add(activity);
+            }
+            PendingActivity pending = new PendingActivity();
+            pending.setDailyReport(report);
+            pending.setTitle("Pending item for report " + i);
+            pending.setStatus("Open");
+            report.getPendingActivities().add(pending);
+
+            reports.add(report);
+        }
+    }
+
+    @Benchmark
+    public void employeeReport() throws IOException {
+        pdfService.writeEmployeeReportPdf(reports.iterator(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void combinedReport() throws IOException {
+        pdfService.writeCombinedReportPdf(reports.iterator(), LocalTime.of(16, 0), LocalTime.of(8, 0),
+                OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void employeeReportBaseline() throws IOException {
+        baselinePdfService.writeEmployeeReportPdf(reports.iterator(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void combinedReportBaseline() throws IOException {
+        baselinePdfService.writeCombinedReportPdf(reports.iterator(), LocalTime.of(16, 0), LocalTime.of(8, 0),
+                OutputStream.nullOutputStream());
+    }
+
+    /** The pre-registry asset path: probe the classpath and decode the PNG on every call. */
+    static class UncachedAssets extends PdfAssetRegistry {
+
+        private static final String[] LOGO_PATHS = {
+                "static/assets/DAB.png",
+                "static/DAB.png",
+                "DAB.png"
+        };
+
+        @Override
+        public Image newLogo() {
+            for (String path : LOGO_PATHS) {
+                ClassPathResource resource = new ClassPathResource(path);
+                if (!resource.exists() || !resource.isReadable()) {
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    return new Image(ImageDataFactory.create(in.readAllBytes()));
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.CBS.Dashboard.controller.admin;
 
+import com.example.CBS.Dashboard.dto.common.CursorPage;
 import com.example.CBS.Dashboard.dto.user.CreateUserRequest;
 import com.example.CBS.Dashboard.dto.user.ModuleRoleDto;
 import com.example.CBS.Dashboard.dto.user.RoleDto;
@@ -40,6 +41,15 @@ public class UserAdminController {
         return ResponseEntity.ok(adminUserService.getUsers(pageable, search));
     }
 
+    /** Infinite-scroll variant of /users in id order; no total count. */
+    @GetMapping("/users/cursor")
+    public ResponseEntity<CursorPage<UserDto>> findUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(adminUserService.getUsersPage(cursor, size, search));
+    }
+
     @GetMapping("/users/all")
     public ResponseEntity<List<UserDto>> findAllUsersList() {
         return ResponseEntity.ok(adminUserService.getAllUsers());
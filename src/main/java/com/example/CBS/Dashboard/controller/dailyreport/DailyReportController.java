@@ -1,9 +1,10 @@
 package com.example.CBS.Dashboard.controller.dailyreport;
 
+import com.example.CBS.Dashboard.dto.common.CursorPage;
 import com.example.CBS.Dashboard.dto.dailyreport.*;
 import com.example.CBS.Dashboard.entity.DailyReport;
-import com.example.CBS.Dashboard.entity.User;
-import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.security.CurrentUserProvider;
+import com.example.CBS.Dashboard.service.dailyreport.DailyReportImportService;
 import com.example.CBS.Dashboard.service.dailyreport.DailyReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -20,10 +21,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/daily-reports")
@@ -33,7 +37,10 @@ public class DailyReportController {
     private DailyReportService dailyReportService;
     
     @Autowired
-    private UserRepository userRepository;
+    private DailyReportImportService importService;
+    
+    @Autowired
+    private CurrentUserProvider currentUserProvider;
     
     @PostMapping
     public ResponseEntity<DailyReportDto> createReport(
@@ -109,6 +116,16 @@ public class DailyReportController {
         return ResponseEntity.ok(reports);
     }
     
+    /** Infinite-scroll variant of /my-reports: newest first, no total count. */
+    @GetMapping("/my-reports/cursor")
+    public ResponseEntity<CursorPage<DailyReportDto>> getMyReportsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Long employeeId = getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(dailyReportService.getMyReportsPage(employeeId, cursor, size));
+    }
+    
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL', 'ROLE_CFO')")
     public ResponseEntity<Page<DailyReportDto>> getAllReports(
@@ -126,6 +143,19 @@ public class DailyReportController {
         return ResponseEntity.ok(reports);
     }
     
+    /** Infinite-scroll variant of the report list: same filters, newest first, no total count. */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL', 'ROLE_CFO')")
+    public ResponseEntity<CursorPage<DailyReportDto>> getAllReportsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) DailyReport.ReportStatus status) {
+        return ResponseEntity.ok(dailyReportService.getAllReportsPage(cursor, size, startDate, endDate, employeeId, status));
+    }
+    
     @GetMapping("/dashboard")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL', 'ROLE_CFO')")
     public ResponseEntity<DailyReportDashboardDto> getDashboard() {
@@ -133,6 +163,32 @@ public class DailyReportController {
         return ResponseEntity.ok(dashboard);
     }
     
+    @PostMapping("/dashboard/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildDashboardStats() {
+        int buckets = dailyReportService.rebuildStats();
+        return ResponseEntity.ok(Map.of("buckets", buckets));
+    }
+    
+    @GetMapping("/pdf-cache/stats")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPdfCacheStats() {
+        return ResponseEntity.ok(dailyReportService.getPdfCacheStats());
+    }
+    
+    /** Bulk import; the body is streamed, so it may hold tens of thousands of reports. */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<DailyReportImportResult> importJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importJson(body));
+    }
+    
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<DailyReportImportResult> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importCsv(body));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReport(
             @PathVariable Long id,
@@ -144,12 +200,13 @@ public class DailyReportController {
     
     @GetMapping("/download/employee/{employeeId}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_CFO')")
-    public ResponseEntity<Resource> downloadEmployeeReport(
+    public ResponseEntity<StreamingResponseBody> downloadEmployeeReport(
             @PathVariable Long employeeId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) throws IOException {
-        byte[] pdfBytes = dailyReportService.generateEmployeeReportPdf(employeeId, startDate, endDate);
-        ByteArrayResource resource = new ByteArrayResource(pdfBytes);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // Validate before streaming; once the body starts, errors can no longer change the status code
+        dailyReportService.requireEmployeeReports(employeeId, startDate, endDate);
+        StreamingResponseBody body = out -> dailyReportService.writeEmployeeReportPdf(employeeId, startDate, endDate, out);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
@@ -157,7 +214,7 @@ public class DailyReportController {
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(resource);
+                .body(body);
     }
     
     @GetMapping("/download/my-report/{reportId}")
@@ -181,9 +238,8 @@ public class DailyReportController {
             System.out.println("Download ownership check - Report Employee ID: " + reportEmployeeId + ", Current User ID: " + userId + ", Match: " + reportEmployeeId.equals(userId));
             
             // Check if user has Quality Control, Admin, or CFO role (can download any report)
-            User user = userRepository.findById(userId).orElse(null);
-            boolean hasQualityControlAccess = user != null && user.getRoles().stream()
-                .anyMatch(role -> role.getName().equals("ROLE_QUALITY_CONTROL") || role.getName().equals("ROLE_ADMIN") || role.getName().equals("ROLE_CFO"));
+            boolean hasQualityControlAccess = currentUserProvider.get(authentication)
+                .hasAnyRole("ROLE_QUALITY_CONTROL", "ROLE_ADMIN", "ROLE_CFO");
             
             // Verify ownership - users can only download their own reports unless they have Quality Control/Admin access
             if (!reportEmployeeId.equals(userId) && !hasQualityControlAccess) {
@@ -232,10 +288,10 @@ public class DailyReportController {
     
     @GetMapping("/download/combined")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL', 'ROLE_CFO')")
-    public ResponseEntity<Resource> downloadCombinedReport(
+    public ResponseEntity<StreamingResponseBody> downloadCombinedReport(
             @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(required = false) String cbsEndTime,
-            @RequestParam(required = false) String cbsStartTimeNextDay) throws IOException {
+            @RequestParam(required = false) String cbsStartTimeNextDay) {
         if (date == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -250,8 +306,10 @@ public class DailyReportController {
             startTimeNextDay = java.time.LocalTime.parse(cbsStartTimeNextDay);
         }
         
-        byte[] pdfBytes = dailyReportService.generateCombinedReportPdf(date, endTime, startTimeNextDay);
-        ByteArrayResource resource = new ByteArrayResource(pdfBytes);
+        dailyReportService.requireCombinedReports(date);
+        java.time.LocalTime finalEndTime = endTime;
+        java.time.LocalTime finalStartTimeNextDay = startTimeNextDay;
+        StreamingResponseBody body = out -> dailyReportService.writeCombinedReportPdf(date, finalEndTime, finalStartTimeNextDay, out);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
@@ -262,7 +320,7 @@ public class DailyReportController {
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(resource);
+                .body(body);
     }
     
     @GetMapping("/by-date/{date}")
@@ -274,15 +332,6 @@ public class DailyReportController {
     }
     
     private Long getUserIdFromAuthentication(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
-            throw new SecurityException("User not authenticated");
-        }
-        
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new SecurityException("User not found"));
-        
-        return user.getId();
+        return currentUserProvider.get(authentication).id();
     }
 }
-
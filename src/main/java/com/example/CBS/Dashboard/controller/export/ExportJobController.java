@@ -0,0 +1,140 @@
+package com.example.CBS.Dashboard.controller.export;
+
+import com.example.CBS.Dashboard.dto.export.ExportJobDto;
+import com.example.CBS.Dashboard.dto.training.DateBasedGroupedReportDto;
+import com.example.CBS.Dashboard.service.dailyreport.DailyReportService;
+import com.example.CBS.Dashboard.service.export.ExportJob;
+import com.example.CBS.Dashboard.service.export.ExportJobService;
+import com.example.CBS.Dashboard.service.training.TeacherReportService;
+import com.example.CBS.Dashboard.service.training.TrainingReportPdfService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background PDF exports. POST endpoints validate the request, queue a job and return 202 with its id;
+ * clients poll {@code GET /api/exports/{id}} and fetch the file from {@code /download}, which honours
+ * HTTP Range requests so interrupted downloads can resume.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+    private final DailyReportService dailyReportService;
+    private final TeacherReportService teacherReportService;
+    private final TrainingReportPdfService trainingReportPdfService;
+
+    @PostMapping("/daily-reports/employee/{employeeId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_CFO')")
+    public ResponseEntity<ExportJobDto> exportEmployeeReport(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            Authentication authentication) {
+        dailyReportService.requireEmployeeReports(employeeId, startDate, endDate);
+        ExportJobDto job = exportJobService.submit(requireUsername(authentication), "DAILY_REPORT_EMPLOYEE",
+                "employee_report_" + employeeId + ".pdf",
+                (out, progress) -> {
+                    long total = dailyReportService.countEmployeeReports(employeeId, startDate, endDate);
+                    AtomicLong done = new AtomicLong();
+                    dailyReportService.writeEmployeeReportPdf(employeeId, startDate, endDate, out,
+                            () -> progress.reportProgress(done.incrementAndGet(), total));
+                });
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/daily-reports/combined")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL', 'ROLE_CFO')")
+    public ResponseEntity<ExportJobDto> exportCombinedReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cbsEndTime,
+            @RequestParam(required = false) String cbsStartTimeNextDay,
+            Authentication authentication) {
+        dailyReportService.requireCombinedReports(date);
+        LocalTime endTime = cbsEndTime != null && !cbsEndTime.isEmpty() ? LocalTime.parse(cbsEndTime) : null;
+        LocalTime startTimeNextDay = cbsStartTimeNextDay != null && !cbsStartTimeNextDay.isEmpty()
+                ? LocalTime.parse(cbsStartTimeNextDay) : null;
+        String filename = "CBS_Daily_Report_" + date.format(DateTimeFormatter.ISO_LOCAL_DATE) + ".pdf";
+        ExportJobDto job = exportJobService.submit(requireUsername(authentication), "DAILY_REPORT_COMBINED", filename,
+                (out, progress) -> {
+                    long total = dailyReportService.countCombinedReports(date);
+                    AtomicLong done = new AtomicLong();
+                    dailyReportService.writeCombinedReportPdf(date, endTime, startTimeNextDay, out,
+                            () -> progress.reportProgress(done.incrementAndGet(), total));
+                });
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/training/teacher-grouped")
+    @PreAuthorize("hasAnyAuthority('ROLE_TEACHER', 'ROLE_TRAINING_ADMIN', 'ROLE_ADMIN', 'ROLE_CFO')")
+    public ResponseEntity<ExportJobDto> exportDateBasedGroupedReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication) {
+        String username = requireUsername(authentication);
+        boolean isCfo = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_CFO".equals(a.getAuthority()));
+        String filename = "grouped_report_" + from.format(DateTimeFormatter.ISO_LOCAL_DATE)
+                + "_to_" + to.format(DateTimeFormatter.ISO_LOCAL_DATE) + ".pdf";
+        ExportJobDto job = exportJobService.submit(username, "TRAINING_GROUPED", filename,
+                (out, progress) -> {
+                    DateBasedGroupedReportDto report = isCfo
+                            ? teacherReportService.getDateBasedGroupedReportForCfo(from, to)
+                            : teacherReportService.getDateBasedGroupedReport(username, from, to);
+                    // Gathering the data is the bulk of the work; rendering is the second half
+                    progress.reportProgress(1, 2);
+                    trainingReportPdfService.writeDateBasedGroupedReportPdf(report, out);
+                });
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ExportJobDto>> getMyJobs(Authentication authentication) {
+        return ResponseEntity.ok(exportJobService.getJobs(requireUsername(authentication)));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ExportJobDto> getJob(@PathVariable String jobId, Authentication authentication) {
+        return ResponseEntity.ok(exportJobService.getJob(jobId, requireUsername(authentication)));
+    }
+
+    /** Spring serves {@link Resource} bodies with Range/206 support and an Accept-Ranges header. */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> download(@PathVariable String jobId, Authentication authentication) {
+        ExportJob job = exportJobService.getCompletedJob(jobId, requireUsername(authentication));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", job.getFilename());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Void> deleteJob(@PathVariable String jobId, Authentication authentication) {
+        exportJobService.deleteJob(jobId, requireUsername(authentication));
+        return ResponseEntity.noContent().build();
+    }
+
+    private String requireUsername(Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            throw new RuntimeException("Authentication required");
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.CBS.Dashboard.controller.test;
+
+import com.example.CBS.Dashboard.dto.common.CursorPage;
+import com.example.CBS.Dashboard.dto.test.AuditLogDto;
+import com.example.CBS.Dashboard.service.test.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditLogController {
+    
+    private final AuditLogService auditLogService;
+    
+    /** History of one test case, defect, execution, ... newest first; pass nextCursor back for older rows. */
+    @GetMapping("/entities/{entityType}/{entityId}")
+    public ResponseEntity<CursorPage<AuditLogDto>> getEntityHistory(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(auditLogService.getEntityHistory(entityType, entityId, from, to, cursor, size));
+    }
+    
+    @GetMapping("/users/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<AuditLogDto>> getUserActions(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(auditLogService.getUserActions(userId, from, to, cursor, size));
+    }
+    
+    @GetMapping("/writer/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWriterStats() {
+        return ResponseEntity.ok(auditLogService.getWriterStats());
+    }
+}
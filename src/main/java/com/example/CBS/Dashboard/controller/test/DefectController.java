@@ -1,5 +1,6 @@
 package com.example.CBS.Dashboard.controller.test;
 
+import com.example.CBS.Dashboard.dto.common.CursorPage;
 import com.example.CBS.Dashboard.dto.test.CreateDefectRequest;
 import com.example.CBS.Dashboard.dto.test.DefectDto;
 import com.example.CBS.Dashboard.dto.test.UpdateDefectRequest;
@@ -43,6 +44,17 @@ public class DefectController {
         return ResponseEntity.ok(defects);
     }
     
+    /** Infinite-scroll variant of the defect list: newest first, no total count. */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<DefectDto>> getDefectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Defect.DefectStatus status,
+            @RequestParam(required = false) Defect.DefectSeverity severity,
+            @RequestParam(required = false) Long assignedToId) {
+        return ResponseEntity.ok(defectService.getDefectsPage(cursor, size, status, severity, assignedToId));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<DefectDto> getDefectById(@PathVariable Long id) {
         DefectDto defect = defectService.getDefectById(id);
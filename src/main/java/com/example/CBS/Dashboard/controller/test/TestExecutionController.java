@@ -2,15 +2,20 @@ package com.example.CBS.Dashboard.controller.test;
 
 import com.example.CBS.Dashboard.dto.test.CreateTestExecutionRequest;
 import com.example.CBS.Dashboard.dto.test.TestExecutionDto;
+import com.example.CBS.Dashboard.dto.test.TestResultImportResult;
 import com.example.CBS.Dashboard.entity.TestExecution;
 import com.example.CBS.Dashboard.service.test.TestExecutionService;
+import com.example.CBS.Dashboard.service.test.TestResultImportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,6 +24,7 @@ import java.util.List;
 public class TestExecutionController {
     
     private final TestExecutionService testExecutionService;
+    private final TestResultImportService testResultImportService;
     
     @PostMapping
     public ResponseEntity<TestExecutionDto> createExecution(
@@ -51,5 +57,26 @@ public class TestExecutionController {
         TestExecutionDto execution = testExecutionService.getExecutionById(id);
         return ResponseEntity.ok(execution);
     }
+    
+    /**
+     * Bulk import of automated results as executions by the caller; the body is streamed, so it may
+     * hold tens of thousands of results. With createDefects, failures open a defect unless their
+     * test case already has an open one.
+     */
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE })
+    public ResponseEntity<TestResultImportResult> importJunitXml(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean createDefects,
+            Authentication authentication) {
+        return ResponseEntity.ok(testResultImportService.importJunitXml(body, createDefects, authentication.getName()));
+    }
+    
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<TestResultImportResult> importCsv(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean createDefects,
+            Authentication authentication) throws IOException {
+        return ResponseEntity.ok(testResultImportService.importCsv(body, createDefects, authentication.getName()));
+    }
 }
 
@@ -0,0 +1,27 @@
+package com.example.CBS.Dashboard.controller.test;
+
+import com.example.CBS.Dashboard.dto.test.TestSearchResultDto;
+import com.example.CBS.Dashboard.service.test.TestSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/test/search")
+@RequiredArgsConstructor
+public class TestSearchController {
+    
+    private final TestSearchService testSearchService;
+    
+    /** Ranked hits across test cases, defects and comments; {@code types} narrows the sources. */
+    @GetMapping
+    public ResponseEntity<TestSearchResultDto> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<String> types,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(testSearchService.search(q, types, page, size));
+    }
+}
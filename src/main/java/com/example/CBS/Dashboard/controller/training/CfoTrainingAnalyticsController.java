@@ -2,6 +2,7 @@ package com.example.CBS.Dashboard.controller.training;
 
 import com.example.CBS.Dashboard.dto.training.CfoTrainingDashboardDto;
 import com.example.CBS.Dashboard.service.training.CfoTrainingAnalyticsService;
+import com.example.CBS.Dashboard.service.training.TrainingReportCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +25,7 @@ import java.time.LocalDate;
 public class CfoTrainingAnalyticsController {
 
     private final CfoTrainingAnalyticsService cfoTrainingAnalyticsService;
+    private final TrainingReportCache reportCache;
 
     /**
      * Executive CFO dashboard.
@@ -39,7 +41,9 @@ public class CfoTrainingAnalyticsController {
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        CfoTrainingDashboardDto dto = cfoTrainingAnalyticsService.getDashboard(from, to);
+        CfoTrainingAnalyticsService.Window window = CfoTrainingAnalyticsService.Window.of(from, to);
+        CfoTrainingDashboardDto dto = reportCache.get("cfo-dashboard", window.from(), window.to(), "cfo",
+                () -> cfoTrainingAnalyticsService.getDashboard(window.from(), window.to()));
         return ResponseEntity.ok(dto);
     }
 }
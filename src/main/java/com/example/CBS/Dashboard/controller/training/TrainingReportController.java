@@ -4,6 +4,7 @@ import com.example.CBS.Dashboard.dto.training.DateBasedGroupedReportDto;
 import com.example.CBS.Dashboard.dto.training.SessionAttendanceReportDto;
 import com.example.CBS.Dashboard.dto.training.SingleSessionReportDto;
 import com.example.CBS.Dashboard.service.training.TeacherReportService;
+import com.example.CBS.Dashboard.service.training.TrainingReportCache;
 import com.example.CBS.Dashboard.service.training.TrainingReportPdfService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/training/reports")
@@ -28,6 +30,7 @@ public class TrainingReportController {
 
     private final TeacherReportService teacherReportService;
     private final TrainingReportPdfService trainingReportPdfService;
+    private final TrainingReportCache reportCache;
 
     @GetMapping("/teacher")
     @PreAuthorize("hasAnyAuthority('ROLE_TEACHER', 'ROLE_TRAINING_ADMIN', 'ROLE_ADMIN', 'ROLE_CFO')")
@@ -40,9 +43,11 @@ public class TrainingReportController {
         }
         boolean isCfo = authentication.getAuthorities().stream()
                 .anyMatch(a -> "ROLE_CFO".equals(a.getAuthority()));
-        List<SessionAttendanceReportDto> report = isCfo
-                ? teacherReportService.getCfoAttendanceReport(from, to)
-                : teacherReportService.getTeacherAttendanceReport(authentication.getName(), from, to);
+        String username = authentication.getName();
+        List<SessionAttendanceReportDto> report = reportCache.get("teacher", from, to, isCfo ? "cfo" : username,
+                () -> isCfo
+                        ? teacherReportService.getCfoAttendanceReport(from, to)
+                        : teacherReportService.getTeacherAttendanceReport(username, from, to));
         return ResponseEntity.ok(report);
     }
 
@@ -123,12 +128,20 @@ public class TrainingReportController {
         }
         boolean isCfo = authentication.getAuthorities().stream()
                 .anyMatch(a -> "ROLE_CFO".equals(a.getAuthority()));
-        DateBasedGroupedReportDto report = isCfo
-                ? teacherReportService.getDateBasedGroupedReportForCfo(from, to)
-                : teacherReportService.getDateBasedGroupedReport(authentication.getName(), from, to);
+        String username = authentication.getName();
+        DateBasedGroupedReportDto report = reportCache.get("teacher-grouped", from, to, isCfo ? "cfo" : username,
+                () -> isCfo
+                        ? teacherReportService.getDateBasedGroupedReportForCfo(from, to)
+                        : teacherReportService.getDateBasedGroupedReport(username, from, to));
         return ResponseEntity.ok(report);
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getReportCacheStats() {
+        return ResponseEntity.ok(reportCache.stats());
+    }
+
     @GetMapping("/teacher/grouped/pdf")
     @PreAuthorize("hasAnyAuthority('ROLE_TEACHER', 'ROLE_TRAINING_ADMIN', 'ROLE_ADMIN', 'ROLE_CFO')")
     public ResponseEntity<Resource> downloadDateBasedGroupedReportPdf(
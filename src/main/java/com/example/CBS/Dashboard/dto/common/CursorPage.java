@@ -0,0 +1,97 @@
+package com.example.CBS.Dashboard.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) paginated list. Pages are read with {@code WHERE key < last key}
+ * instead of OFFSET and without a COUNT, so every page costs the same regardless of depth.
+ * Clients pass {@link #nextCursor} back as {@code cursor} to get the following page; the token is
+ * opaque and only valid for the endpoint that issued it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /** Clamps a requested page size to 1..{@link #MAX_SIZE}. */
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only signals
+     * that another page exists.
+     */
+    public static <R, T> CursorPage<T> of(List<R> rows, int size, Function<R, String> cursorOf, Function<R, T> mapper) {
+        return ofRows(rows, size, cursorOf, page -> page.stream().map(mapper).toList());
+    }
+
+    /** As {@link #of}, for mappers that convert the whole page at once (e.g. to batch-load children). */
+    public static <R, T> CursorPage<T> ofRows(List<R> rows, int size, Function<R, String> cursorOf,
+                                              Function<List<R>, List<T>> pageMapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(pageMapper.apply(page), size, nextCursor, hasNext);
+    }
+
+    public static String encodeCursor(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (Object key : keys) {
+            if (raw.length() > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits a cursor issued by {@link #encodeCursor} back into its keys.
+     * @throws IllegalArgumentException if the token is malformed or has the wrong number of keys
+     */
+    public static String[] decodeCursor(String cursor, int keyCount) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\|", -1);
+            if (keys.length == keyCount) {
+                return keys;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64; reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    /**
+     * Decodes a single-id cursor; null or blank means the first page and yields null.
+     * @throws IllegalArgumentException if the token is not an id cursor
+     */
+    public static Long decodeIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(decodeCursor(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.CBS.Dashboard.dto.dailyreport;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyReportImportResult {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int errors;
+    private List<Row> rows = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        /** 1-based array index for JSON, first data line of the report for CSV. */
+        private int row;
+        private String employeeUsername;
+        private LocalDate businessDate;
+        private Outcome outcome;
+        private Long reportId;
+        private String message;
+    }
+    
+    public enum Outcome {
+        CREATED, DUPLICATE, ERROR
+    }
+}
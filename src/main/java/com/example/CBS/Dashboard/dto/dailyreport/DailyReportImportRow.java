@@ -0,0 +1,14 @@
+package com.example.CBS.Dashboard.dto.dailyreport;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/** One element of a JSON bulk import: a create request plus who it belongs to. */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class DailyReportImportRow extends CreateDailyReportRequest {
+    private String employeeUsername;
+    private String status;
+}
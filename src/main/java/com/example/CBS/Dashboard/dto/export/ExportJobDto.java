@@ -0,0 +1,25 @@
+package com.example.CBS.Dashboard.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobDto {
+    private String id;
+    private String type;
+    private String filename;
+    private String status;
+    private int progress;
+    private long sizeBytes;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;
+    private String downloadUrl;
+}
@@ -0,0 +1,26 @@
+package com.example.CBS.Dashboard.dto.test;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogDto {
+    private Long id;
+    private String entityType;
+    private Long entityId;
+    private String action;
+    private Long userId;
+    private String username;
+    private String userFullName;
+    /** JSON of the changed fields' previous values (free text for older rows). */
+    private String oldValue;
+    /** JSON of the changed fields' new values. */
+    private String newValue;
+    private String description;
+    private LocalDateTime createdAt;
+}
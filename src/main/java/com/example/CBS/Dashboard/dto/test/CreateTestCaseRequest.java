@@ -16,6 +16,7 @@ import java.util.List;
 public class CreateTestCaseRequest {
     @NotBlank(message = "Title is required")
     private String title;
+    private String externalKey;
     private String preconditions;
     @NotNull(message = "Steps are required")
     private List<String> steps = new ArrayList<>();
@@ -16,6 +16,7 @@ import java.util.List;
 public class TestCaseDto {
     private Long id;
     private String title;
+    private String externalKey;
     private String preconditions;
     private List<String> steps = new ArrayList<>();
     private String expectedResult;
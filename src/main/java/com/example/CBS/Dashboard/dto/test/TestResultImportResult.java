@@ -0,0 +1,41 @@
+package com.example.CBS.Dashboard.dto.test;
+
+import com.example.CBS.Dashboard.entity.TestExecution;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestResultImportResult {
+    private int total;
+    private int created;
+    private int unmatched;
+    private int errors;
+    private int defectsCreated;
+    private List<Row> rows = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        /** 1-based position of the &lt;testcase&gt; element (JUnit XML) or data line (CSV). */
+        private int row;
+        private String externalKey;
+        private String title;
+        private TestExecution.ExecutionStatus status;
+        private Outcome outcome;
+        private Long testCaseId;
+        private Long executionId;
+        private Long defectId;
+        private String message;
+    }
+    
+    public enum Outcome {
+        CREATED, UNMATCHED, ERROR
+    }
+}
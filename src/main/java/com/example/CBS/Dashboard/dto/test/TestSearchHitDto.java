@@ -0,0 +1,21 @@
+package com.example.CBS.Dashboard.dto.test;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestSearchHitDto {
+    /** TEST_CASE, DEFECT or COMMENT. */
+    private String type;
+    private Long id;
+    /** The hit's own title; for comments, the title of the test case or defect commented on. */
+    private String title;
+    private Long testCaseId;
+    private Long defectId;
+    private Double rank;
+    /** HTML-escaped excerpt with the matched terms wrapped in {@code <mark>}. */
+    private String snippet;
+}
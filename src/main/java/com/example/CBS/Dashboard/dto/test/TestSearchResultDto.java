@@ -0,0 +1,19 @@
+package com.example.CBS.Dashboard.dto.test;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestSearchResultDto {
+    private String query;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private List<TestSearchHitDto> hits = new ArrayList<>();
+}
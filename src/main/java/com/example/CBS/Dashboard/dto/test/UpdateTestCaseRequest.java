@@ -14,6 +14,7 @@ import java.util.List;
 @AllArgsConstructor
 public class UpdateTestCaseRequest {
     private String title;
+    private String externalKey;
     private String preconditions;
     private List<String> steps;
     private String expectedResult;
@@ -12,4 +12,6 @@ public class AttendeeSignatureDto {
     private String fullName;
     /** Base64-encoded signature image (data:image/png;base64,... or raw base64). */
     private String signatureData;
+    /** Content hash of the image in signature_images; null for legacy inline signatures. */
+    private String signatureHash;
 }
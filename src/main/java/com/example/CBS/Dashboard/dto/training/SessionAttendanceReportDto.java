@@ -22,6 +22,8 @@ public class SessionAttendanceReportDto {
     private String instructorName;
     /** Instructor's e-signature (base64) for this session. */
     private String instructorSignatureData;
+    /** Content hash of the instructor's signature in signature_images; null for legacy inline signatures. */
+    private String instructorSignatureHash;
     private String sessionType;   // e.g. In-Person, Virtual, Hybrid
     private String notes;
 }
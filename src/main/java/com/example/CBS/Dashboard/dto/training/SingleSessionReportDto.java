@@ -18,6 +18,8 @@ public class SingleSessionReportDto {
     private String instructorName;
     /** Instructor's e-signature (base64) for this session. */
     private String instructorSignatureData;
+    /** Content hash of the instructor's signature in signature_images; null for legacy inline signatures. */
+    private String instructorSignatureHash;
     private String sessionType;
     private String notes;
     private List<String> contentCoverage;      // Topic points / materials covered
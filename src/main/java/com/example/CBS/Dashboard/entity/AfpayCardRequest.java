@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class AfpayCardRequest {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "afpay_card_requests_seq")
+    @SequenceGenerator(name = "afpay_card_requests_seq", sequenceName = "afpay_card_requests_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,10 +50,17 @@ public class Attendance {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    /** E-signature image (base64) stored when status is PRESENT or after student acknowledgment for ABSENT/EXCUSED. */
+    /**
+     * Legacy inline e-signature (base64). New rows leave it null and reference the image through
+     * {@link #signatureHash}; see database/migrate_signature_images.sql.
+     */
     @Column(name = "signature_data", columnDefinition = "TEXT")
     private String signatureData;
 
+    /** {@link SignatureImage} recorded when status is PRESENT or after student acknowledgment for ABSENT/EXCUSED. */
+    @Column(name = "signature_hash", length = 64)
+    private String signatureHash;
+
     /** PRESENT = signature attached when teacher marked present; ACKNOWLEDGMENT = student signed after reviewing materials. */
     @Enumerated(EnumType.STRING)
     @Column(name = "signature_type", length = 20)
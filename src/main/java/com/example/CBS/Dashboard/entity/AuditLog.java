@@ -8,8 +8,15 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Partitioned by month on created_at in PostgreSQL (database/partition_audit_logs.sql); rows are
+ * written by AuditLogWriter and old months are detached or dropped by AuditPartitionService.
+ */
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_entity_created", columnList = "entity_type, entity_id, created_at"),
+    @Index(name = "idx_audit_logs_user_created", columnList = "user_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,7 +49,7 @@ public class AuditLog {
     private String description;
     
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 }
 
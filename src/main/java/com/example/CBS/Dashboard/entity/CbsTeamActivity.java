@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class CbsTeamActivity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cbs_team_activities_seq")
+    @SequenceGenerator(name = "cbs_team_activities_seq", sequenceName = "cbs_team_activities_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
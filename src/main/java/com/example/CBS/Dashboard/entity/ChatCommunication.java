@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class ChatCommunication {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_communications_seq")
+    @SequenceGenerator(name = "chat_communications_seq", sequenceName = "chat_communications_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,6 +3,7 @@ package com.example.CBS.Dashboard.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,11 +16,25 @@ import java.util.List;
 @Entity
 @Table(name = "daily_reports", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"business_date", "employee_id"})
+}, indexes = {
+    // Keyset pagination: (business_date, id) DESC overall and per employee
+    @Index(name = "idx_daily_reports_date_id", columnList = "business_date, id"),
+    @Index(name = "idx_daily_reports_employee_date_id", columnList = "employee_id, business_date, id")
+})
+@NamedEntityGraph(name = DailyReport.GRAPH_PEOPLE, attributeNodes = {
+    @NamedAttributeNode("employee"),
+    @NamedAttributeNode("reviewedBy")
 })
 @NoArgsConstructor
 @AllArgsConstructor
 public class DailyReport {
 
+    /** Fetches employee and reviewer in the report query; child sections are batch-loaded instead (they are bags). */
+    public static final String GRAPH_PEOPLE = "DailyReport.people";
+
+    /** Uninitialized child collections of up to this many reports are loaded with one query per section. */
+    public static final int FETCH_BATCH_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -55,33 +70,43 @@ public class DailyReport {
     private String reportingLine;
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<ChatCommunication> chatCommunications = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<EmailCommunication> emailCommunications = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<ProblemEscalation> problemEscalations = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<TrainingCapacityBuilding> trainingCapacityBuildings = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<ProjectProgressUpdate> projectProgressUpdates = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<CbsTeamActivity> cbsTeamActivities = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<PendingActivity> pendingActivities = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<Meeting> meetings = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<AfpayCardRequest> afpayCardRequests = new ArrayList<>();
 
     @OneToMany(mappedBy = "dailyReport", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = DailyReport.FETCH_BATCH_SIZE)
     private List<QrmisIssue> qrmisIssues = new ArrayList<>();
 
     @CreationTimestamp
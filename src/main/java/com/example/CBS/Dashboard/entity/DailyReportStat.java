@@ -0,0 +1,49 @@
+package com.example.CBS.Dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup of daily reports per business date, employee and status.
+ * Maintained by {@link com.example.CBS.Dashboard.service.dailyreport.DailyReportStatsService}
+ * so the dashboard never has to scan the report and section tables.
+ */
+@Entity
+@Table(name = "daily_report_stats", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"business_date", "employee_id", "status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyReportStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private DailyReport.ReportStatus status;
+
+    @Column(name = "report_count", nullable = false)
+    private Long reportCount = 0L;
+
+    @Column(name = "escalation_count", nullable = false)
+    private Long escalationCount = 0L;
+
+    @Column(name = "pending_activity_count", nullable = false)
+    private Long pendingActivityCount = 0L;
+
+    @Column(name = "qrmis_issue_count", nullable = false)
+    private Long qrmisIssueCount = 0L;
+}
@@ -12,7 +12,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "defects")
+@Table(name = "defects", indexes = {
+    @Index(name = "idx_defects_test_case", columnList = "test_case_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
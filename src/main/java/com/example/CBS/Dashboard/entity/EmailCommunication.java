@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class EmailCommunication {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_communications_seq")
+    @SequenceGenerator(name = "email_communications_seq", sequenceName = "email_communications_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class Meeting {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meetings_seq")
+    @SequenceGenerator(name = "meetings_seq", sequenceName = "meetings_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class PendingActivity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pending_activities_seq")
+    @SequenceGenerator(name = "pending_activities_seq", sequenceName = "pending_activities_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
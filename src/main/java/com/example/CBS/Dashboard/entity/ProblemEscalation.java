@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class ProblemEscalation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "problem_escalations_seq")
+    @SequenceGenerator(name = "problem_escalations_seq", sequenceName = "problem_escalations_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
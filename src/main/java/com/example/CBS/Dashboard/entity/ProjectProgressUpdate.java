@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class ProjectProgressUpdate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_progress_updates_seq")
+    @SequenceGenerator(name = "project_progress_updates_seq", sequenceName = "project_progress_updates_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
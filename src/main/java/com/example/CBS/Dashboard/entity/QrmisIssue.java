@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class QrmisIssue {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "qrmis_issues_seq")
+    @SequenceGenerator(name = "qrmis_issues_seq", sequenceName = "qrmis_issues_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
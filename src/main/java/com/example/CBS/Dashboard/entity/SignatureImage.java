@@ -0,0 +1,34 @@
+package com.example.CBS.Dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * E-signature image stored once as bytes and addressed by the SHA-256 of its content.
+ * Attendance rows and users reference it by {@link #hash} instead of carrying their own base64 copy.
+ */
+@Entity
+@Table(name = "signature_images")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignatureImage {
+
+    /** Lower-case hex SHA-256 of {@link #imageData}. */
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    /** Decoded image bytes (PNG as captured by the signature pad). */
+    @Column(name = "image_data", nullable = false)
+    private byte[] imageData;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
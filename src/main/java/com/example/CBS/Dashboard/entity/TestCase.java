@@ -14,7 +14,11 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "test_cases")
+@Table(name = "test_cases", indexes = {
+    @Index(name = "idx_test_cases_module_status", columnList = "module_id, status"),
+    @Index(name = "idx_test_cases_title", columnList = "title"),
+    @Index(name = "uk_test_cases_external_key", columnList = "external_key", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +31,13 @@ public class TestCase {
     @Column(nullable = false, length = 500)
     private String title;
     
+    /**
+     * Identifier of the automated test that covers this case (for JUnit results, "classname.name"),
+     * used to match imported results; unique when set.
+     */
+    @Column(name = "external_key")
+    private String externalKey;
+    
     @Column(name = "preconditions", columnDefinition = "TEXT")
     private String preconditions;
     
@@ -39,6 +50,13 @@ public class TestCase {
     @Column(name = "expected_result", columnDefinition = "TEXT")
     private String expectedResult;
     
+    /**
+     * {@link #steps} joined with newlines, so the full-text search vector generated on this table
+     * can cover them (see database/create_test_search_vectors.sql). Kept in sync on save.
+     */
+    @Column(name = "steps_text", columnDefinition = "TEXT")
+    private String stepsText;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Priority priority = Priority.MEDIUM;
@@ -76,6 +94,17 @@ public class TestCase {
     @OneToMany(mappedBy = "testCase", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
     
+    public void setSteps(List<String> steps) {
+        this.steps = steps;
+        syncStepsText();
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void syncStepsText() {
+        stepsText = steps == null || steps.isEmpty() ? null : String.join("\n", steps);
+    }
+    
     public enum Priority {
         LOW, MEDIUM, HIGH, CRITICAL
     }
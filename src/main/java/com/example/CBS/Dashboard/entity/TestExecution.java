@@ -12,14 +12,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "test_executions")
+@Table(name = "test_executions", indexes = {
+    @Index(name = "idx_test_executions_test_case_status", columnList = "test_case_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TestExecution {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_executions_seq")
+    @SequenceGenerator(name = "test_executions_seq", sequenceName = "test_executions_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
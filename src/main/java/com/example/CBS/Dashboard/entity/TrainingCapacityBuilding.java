@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class TrainingCapacityBuilding {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_capacity_buildings_seq")
+    @SequenceGenerator(name = "training_capacity_buildings_seq", sequenceName = "training_capacity_buildings_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
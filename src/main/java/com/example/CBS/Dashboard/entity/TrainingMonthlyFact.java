@@ -0,0 +1,54 @@
+package com.example.CBS.Dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Monthly training facts per program and effective instructor (the session instructor, falling back
+ * to the program instructor). Maintained by
+ * {@link com.example.CBS.Dashboard.service.training.TrainingFactService} so the CFO dashboard can
+ * sum whole months instead of scanning sessions and attendance.
+ */
+@Entity
+@Table(name = "training_monthly_facts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_training_monthly_facts_month_program_instructor",
+                      columnNames = {"month_start", "program_id", "instructor_id"})
+}, indexes = {
+    @Index(name = "idx_training_monthly_facts_month", columnList = "month_start"),
+    @Index(name = "idx_training_monthly_facts_program", columnList = "program_id, month_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingMonthlyFact {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** First day of the month the sessions start in. */
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "program_id", nullable = false)
+    private Long programId;
+
+    @Column(name = "instructor_id")
+    private Long instructorId;
+
+    @Column(name = "session_count", nullable = false)
+    private Long sessionCount = 0L;
+
+    @Column(name = "completed_session_count", nullable = false)
+    private Long completedSessionCount = 0L;
+
+    @Column(name = "attendance_count", nullable = false)
+    private Long attendanceCount = 0L;
+
+    @Column(name = "present_like_count", nullable = false)
+    private Long presentLikeCount = 0L;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -37,6 +38,7 @@ public class User {
     private Boolean enabled = true;
     
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -52,6 +54,10 @@ public class User {
     @Column(name = "signature_data", columnDefinition = "TEXT")
     private String signatureData;
 
+    /** {@link SignatureImage} holding the same image as {@link #signatureData}; set when the signature is saved. */
+    @Column(name = "signature_hash", length = 64)
+    private String signatureHash;
+
     @Column(name = "signature_created_at")
     private LocalDateTime signatureCreatedAt;
 }
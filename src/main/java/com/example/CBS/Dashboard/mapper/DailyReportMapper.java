@@ -4,6 +4,14 @@ import com.example.CBS.Dashboard.dto.dailyreport.*;
 import com.example.CBS.Dashboard.entity.*;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component
@@ -215,38 +223,20 @@ public class DailyReportMapper {
             report.setReportingLine(request.getReportingLine());
         }
         
-        // Update collections - clear and add new
-        report.getChatCommunications().clear();
-        if (request.getChatCommunications() != null) {
-            request.getChatCommunications().forEach(dto -> {
-                ChatCommunication entity = new ChatCommunication();
+        // Merge collections by id: rows the client still sends are updated in place (Hibernate only
+        // writes the ones whose values changed), rows without an id are inserted, missing rows are deleted
+        mergeSection(report, report.getChatCommunications(), request.getChatCommunications(),
+            ChatCommunication::getId, ChatCommunicationDto::getId, ChatCommunication::new, ChatCommunication::setDailyReport,
+            (entity, dto) -> {
                 entity.setPlatform(dto.getPlatform());
                 entity.setSummary(dto.getSummary());
                 entity.setActionTaken(dto.getActionTaken());
                 entity.setActionPerformed(dto.getActionPerformed());
                 entity.setReferenceNumber(dto.getReferenceNumber());
-                entity.setDailyReport(report);
-                report.getChatCommunications().add(entity);
             });
-        }
-        
-        // Similar updates for other collections...
-        updateEmailCommunications(report, request);
-        updateProblemEscalations(report, request);
-        updateTrainingCapacityBuildings(report, request);
-        updateProjectProgressUpdates(report, request);
-        updateCbsTeamActivities(report, request);
-        updatePendingActivities(report, request);
-        updateMeetings(report, request);
-        updateAfpayCardRequests(report, request);
-        updateQrmisIssues(report, request);
-    }
-    
-    private void updateEmailCommunications(DailyReport report, UpdateDailyReportRequest request) {
-        report.getEmailCommunications().clear();
-        if (request.getEmailCommunications() != null) {
-            request.getEmailCommunications().forEach(dto -> {
-                EmailCommunication entity = new EmailCommunication();
+        mergeSection(report, report.getEmailCommunications(), request.getEmailCommunications(),
+            EmailCommunication::getId, EmailCommunicationDto::getId, EmailCommunication::new, EmailCommunication::setDailyReport,
+            (entity, dto) -> {
                 entity.setIsInternal(dto.getIsInternal());
                 entity.setSender(dto.getSender());
                 entity.setReceiver(dto.getReceiver());
@@ -254,118 +244,71 @@ public class DailyReportMapper {
                 entity.setSummary(dto.getSummary());
                 entity.setActionTaken(dto.getActionTaken());
                 entity.setFollowUpRequired(dto.getFollowUpRequired());
-                entity.setDailyReport(report);
-                report.getEmailCommunications().add(entity);
             });
-        }
-    }
-    
-    private void updateProblemEscalations(DailyReport report, UpdateDailyReportRequest request) {
-        report.getProblemEscalations().clear();
-        if (request.getProblemEscalations() != null) {
-            request.getProblemEscalations().forEach(dto -> {
-                ProblemEscalation entity = new ProblemEscalation();
+        mergeSection(report, report.getProblemEscalations(), request.getProblemEscalations(),
+            ProblemEscalation::getId, ProblemEscalationDto::getId, ProblemEscalation::new, ProblemEscalation::setDailyReport,
+            (entity, dto) -> {
                 entity.setEscalatedTo(dto.getEscalatedTo());
                 entity.setReason(dto.getReason());
                 entity.setEscalationDateTime(dto.getEscalationDateTime());
                 entity.setFollowUpStatus(dto.getFollowUpStatus());
                 entity.setComments(dto.getComments());
-                entity.setDailyReport(report);
-                report.getProblemEscalations().add(entity);
             });
-        }
-    }
-    
-    private void updateTrainingCapacityBuildings(DailyReport report, UpdateDailyReportRequest request) {
-        report.getTrainingCapacityBuildings().clear();
-        if (request.getTrainingCapacityBuildings() != null) {
-            request.getTrainingCapacityBuildings().forEach(dto -> {
-                TrainingCapacityBuilding entity = new TrainingCapacityBuilding();
+        mergeSection(report, report.getTrainingCapacityBuildings(), request.getTrainingCapacityBuildings(),
+            TrainingCapacityBuilding::getId, TrainingCapacityBuildingDto::getId, TrainingCapacityBuilding::new,
+            TrainingCapacityBuilding::setDailyReport,
+            (entity, dto) -> {
                 entity.setTrainingType(dto.getTrainingType());
                 entity.setTopic(dto.getTopic());
                 entity.setDuration(dto.getDuration());
                 entity.setSkillsGained(dto.getSkillsGained());
                 entity.setTrainerName(dto.getTrainerName());
                 entity.setParticipants(dto.getParticipants());
-                entity.setDailyReport(report);
-                report.getTrainingCapacityBuildings().add(entity);
             });
-        }
-    }
-    
-    private void updateProjectProgressUpdates(DailyReport report, UpdateDailyReportRequest request) {
-        report.getProjectProgressUpdates().clear();
-        if (request.getProjectProgressUpdates() != null) {
-            request.getProjectProgressUpdates().forEach(dto -> {
-                ProjectProgressUpdate entity = new ProjectProgressUpdate();
+        mergeSection(report, report.getProjectProgressUpdates(), request.getProjectProgressUpdates(),
+            ProjectProgressUpdate::getId, ProjectProgressUpdateDto::getId, ProjectProgressUpdate::new,
+            ProjectProgressUpdate::setDailyReport,
+            (entity, dto) -> {
                 entity.setProjectName(dto.getProjectName());
                 entity.setTaskOrMilestone(dto.getTaskOrMilestone());
                 entity.setProgressDetail(dto.getProgressDetail());
                 entity.setRoadblocksIssues(dto.getRoadblocksIssues());
                 entity.setEstimatedCompletionDate(dto.getEstimatedCompletionDate());
                 entity.setComments(dto.getComments());
-                entity.setDailyReport(report);
-                report.getProjectProgressUpdates().add(entity);
             });
-        }
-    }
-    
-    private void updateCbsTeamActivities(DailyReport report, UpdateDailyReportRequest request) {
-        report.getCbsTeamActivities().clear();
-        if (request.getCbsTeamActivities() != null) {
-            request.getCbsTeamActivities().forEach(dto -> {
-                CbsTeamActivity entity = new CbsTeamActivity();
+        mergeSection(report, report.getCbsTeamActivities(), request.getCbsTeamActivities(),
+            CbsTeamActivity::getId, CbsTeamActivityDto::getId, CbsTeamActivity::new, CbsTeamActivity::setDailyReport,
+            (entity, dto) -> {
                 entity.setDescription(dto.getDescription());
                 entity.setBranch(dto.getBranch());
                 entity.setAccountNumber(dto.getAccountNumber());
                 entity.setActionTaken(dto.getActionTaken());
                 entity.setFinalStatus(dto.getFinalStatus());
                 entity.setActivityType(dto.getActivityType());
-                entity.setDailyReport(report);
-                report.getCbsTeamActivities().add(entity);
             });
-        }
-    }
-    
-    private void updatePendingActivities(DailyReport report, UpdateDailyReportRequest request) {
-        report.getPendingActivities().clear();
-        if (request.getPendingActivities() != null) {
-            request.getPendingActivities().forEach(dto -> {
-                PendingActivity entity = new PendingActivity();
+        mergeSection(report, report.getPendingActivities(), request.getPendingActivities(),
+            PendingActivity::getId, PendingActivityDto::getId, PendingActivity::new, PendingActivity::setDailyReport,
+            (entity, dto) -> {
                 entity.setTitle(dto.getTitle());
                 entity.setDescription(dto.getDescription());
                 entity.setStatus(dto.getStatus());
                 entity.setAmount(dto.getAmount());
                 entity.setFollowUpRequired(dto.getFollowUpRequired());
                 entity.setResponsiblePerson(dto.getResponsiblePerson());
-                entity.setDailyReport(report);
-                report.getPendingActivities().add(entity);
             });
-        }
-    }
-    
-    private void updateMeetings(DailyReport report, UpdateDailyReportRequest request) {
-        report.getMeetings().clear();
-        if (request.getMeetings() != null) {
-            request.getMeetings().forEach(dto -> {
-                Meeting entity = new Meeting();
+        mergeSection(report, report.getMeetings(), request.getMeetings(),
+            Meeting::getId, MeetingDto::getId, Meeting::new, Meeting::setDailyReport,
+            (entity, dto) -> {
                 entity.setMeetingType(dto.getMeetingType());
                 entity.setTopic(dto.getTopic());
                 entity.setSummary(dto.getSummary());
                 entity.setActionTaken(dto.getActionTaken());
                 entity.setNextStep(dto.getNextStep());
                 entity.setParticipants(dto.getParticipants());
-                entity.setDailyReport(report);
-                report.getMeetings().add(entity);
             });
-        }
-    }
-    
-    private void updateAfpayCardRequests(DailyReport report, UpdateDailyReportRequest request) {
-        report.getAfpayCardRequests().clear();
-        if (request.getAfpayCardRequests() != null) {
-            request.getAfpayCardRequests().forEach(dto -> {
-                AfpayCardRequest entity = new AfpayCardRequest();
+        mergeSection(report, report.getAfpayCardRequests(), request.getAfpayCardRequests(),
+            AfpayCardRequest::getId, AfpayCardRequestDto::getId, AfpayCardRequest::new, AfpayCardRequest::setDailyReport,
+            (entity, dto) -> {
                 entity.setRequestType(dto.getRequestType());
                 entity.setRequestedBy(dto.getRequestedBy());
                 entity.setRequestDate(dto.getRequestDate());
@@ -373,17 +316,10 @@ public class DailyReportMapper {
                 entity.setSupportingDocumentPath(dto.getSupportingDocumentPath());
                 entity.setArchivedDate(dto.getArchivedDate());
                 entity.setOperator(dto.getOperator());
-                entity.setDailyReport(report);
-                report.getAfpayCardRequests().add(entity);
             });
-        }
-    }
-    
-    private void updateQrmisIssues(DailyReport report, UpdateDailyReportRequest request) {
-        report.getQrmisIssues().clear();
-        if (request.getQrmisIssues() != null) {
-            request.getQrmisIssues().forEach(dto -> {
-                QrmisIssue entity = new QrmisIssue();
+        mergeSection(report, report.getQrmisIssues(), request.getQrmisIssues(),
+            QrmisIssue::getId, QrmisIssueDto::getId, QrmisIssue::new, QrmisIssue::setDailyReport,
+            (entity, dto) -> {
                 entity.setProblemType(dto.getProblemType());
                 entity.setProblemDescription(dto.getProblemDescription());
                 entity.setSolutionProvided(dto.getSolutionProvided());
@@ -391,10 +327,36 @@ public class DailyReportMapper {
                 entity.setAuthorizedBy(dto.getAuthorizedBy());
                 entity.setSupportingDocumentsArchived(dto.getSupportingDocumentsArchived());
                 entity.setOperator(dto.getOperator());
-                entity.setDailyReport(report);
-                report.getQrmisIssues().add(entity);
             });
+    }
+    
+    /**
+     * Reconciles one section with the submitted rows. A DTO id that does not belong to this report
+     * (or repeats within the request) is treated as a new row, so clients that send no ids at all get
+     * the previous replace-everything behaviour.
+     */
+    private <E, D> void mergeSection(DailyReport report, List<E> entities, List<D> dtos,
+                                     Function<E, Long> entityId, Function<D, Long> dtoId,
+                                     Supplier<E> factory, BiConsumer<E, DailyReport> attach,
+                                     BiConsumer<E, D> apply) {
+        List<D> incoming = dtos != null ? dtos : List.of();
+        Set<Long> keptIds = incoming.stream()
+            .map(dtoId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        entities.removeIf(entity -> !keptIds.contains(entityId.apply(entity)));
+        
+        Map<Long, E> existing = new HashMap<>();
+        entities.forEach(entity -> existing.put(entityId.apply(entity), entity));
+        for (D dto : incoming) {
+            Long id = dtoId.apply(dto);
+            E entity = id != null ? existing.remove(id) : null;
+            if (entity == null) {
+                entity = factory.get();
+                attach.accept(entity, report);
+                entities.add(entity);
+            }
+            apply.accept(entity, dto);
         }
     }
 }
-
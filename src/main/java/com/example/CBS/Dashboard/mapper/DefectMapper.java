@@ -2,8 +2,11 @@ package com.example.CBS.Dashboard.mapper;
 
 import com.example.CBS.Dashboard.dto.test.DefectDto;
 import com.example.CBS.Dashboard.entity.Defect;
+import com.example.CBS.Dashboard.repository.DefectRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class DefectMapper {
     
@@ -52,5 +55,27 @@ public class DefectMapper {
         dto.setUpdatedAt(defect.getUpdatedAt());
         return dto;
     }
+    
+    /** Maps a defect list row; the description is truncated (the detail endpoint returns it in full). */
+    public DefectDto toDto(DefectRepository.DefectListRow row, List<String> attachments) {
+        if (row == null) return null;
+        
+        DefectDto dto = new DefectDto();
+        dto.setId(row.getId());
+        dto.setTitle(row.getTitle());
+        dto.setDescription(row.getDescription());
+        dto.setSeverity(row.getSeverity());
+        dto.setStatus(row.getStatus());
+        dto.setTestCaseId(row.getTestCaseId());
+        dto.setTestCaseTitle(row.getTestCaseTitle());
+        dto.setTestExecutionId(row.getTestExecutionId());
+        dto.setReportedById(row.getReportedById());
+        dto.setReportedByUsername(row.getReportedByUsername());
+        dto.setAssignedToId(row.getAssignedToId());
+        dto.setAssignedToUsername(row.getAssignedToUsername());
+        dto.setAttachments(attachments);
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        return dto;
+    }
 }
-
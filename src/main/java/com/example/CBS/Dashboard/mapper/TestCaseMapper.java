@@ -13,6 +13,7 @@ public class TestCaseMapper {
         TestCaseDto dto = new TestCaseDto();
         dto.setId(testCase.getId());
         dto.setTitle(testCase.getTitle());
+        dto.setExternalKey(testCase.getExternalKey());
         dto.setPreconditions(testCase.getPreconditions());
         dto.setSteps(testCase.getSteps());
         dto.setExpectedResult(testCase.getExpectedResult());
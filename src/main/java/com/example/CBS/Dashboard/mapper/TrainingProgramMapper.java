@@ -2,6 +2,7 @@ package com.example.CBS.Dashboard.mapper;
 
 import com.example.CBS.Dashboard.dto.training.TrainingProgramDto;
 import com.example.CBS.Dashboard.entity.TrainingProgram;
+import com.example.CBS.Dashboard.repository.TrainingProgramRepository;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -118,4 +119,55 @@ public class TrainingProgramMapper {
             return dto;
         }
     }
+    
+    /**
+     * Maps a program list row. Description, prerequisites and learning objectives are left null;
+     * the detail endpoint returns them.
+     */
+    public TrainingProgramDto toDto(TrainingProgramRepository.ProgramListRow row) {
+        if (row == null) {
+            return null;
+        }
+        
+        TrainingProgramDto dto = new TrainingProgramDto();
+        dto.setId(row.getId());
+        dto.setTitle(row.getTitle() != null ? row.getTitle() : "");
+        dto.setTrainingTopicId(row.getTrainingTopicId());
+        dto.setTrainingTopicName(row.getTrainingTopicName());
+        dto.setTrainingNameId(row.getTrainingNameId());
+        dto.setTrainingNameName(row.getTrainingNameName());
+        dto.setTrainingName(row.getTrainingNameString() != null ? row.getTrainingNameString() : row.getTrainingNameName());
+        dto.setTrainingDate(row.getTrainingDate());
+        dto.setTrainingLevel(row.getTrainingLevel() != null ? row.getTrainingLevel().name() : null);
+        dto.setTrainingCategoryId(row.getTrainingCategoryId());
+        dto.setTrainingCategoryName(row.getTrainingCategoryName());
+        dto.setDepartmentId(row.getDepartmentId());
+        dto.setDepartmentName(row.getDepartmentName());
+        dto.setTrainingModuleId(row.getTrainingModuleId());
+        dto.setTrainingModuleName(row.getTrainingModuleName());
+        dto.setFacultyName(row.getFacultyName());
+        dto.setCoordinatorId(row.getCoordinatorId());
+        dto.setCoordinatorName(row.getCoordinatorUsername());
+        dto.setTrainingType(row.getTrainingType() != null ? row.getTrainingType().name() : null);
+        dto.setExamType(row.getExamType() != null ? row.getExamType().name() : null);
+        dto.setHasArticleMaterial(row.getHasArticleMaterial());
+        dto.setHasVideoMaterial(row.getHasVideoMaterial());
+        dto.setHasSlideMaterial(row.getHasSlideMaterial());
+        dto.setThumbnailImagePath(row.getThumbnailImagePath());
+        
+        // Legacy fields
+        dto.setCategory(row.getCategory());
+        dto.setDurationHours(row.getDurationHours());
+        dto.setStatus(row.getStatus() != null ? row.getStatus().name() : null);
+        dto.setMaxParticipants(row.getMaxParticipants());
+        dto.setCreatedById(row.getCreatedById());
+        dto.setCreatedByUsername(row.getCreatedByUsername());
+        dto.setInstructorId(row.getInstructorId());
+        dto.setInstructorUsername(row.getInstructorUsername());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setSessionsCount(row.getSessionsCount() != null ? row.getSessionsCount() : 0L);
+        dto.setEnrollmentsCount(row.getEnrollmentsCount() != null ? row.getEnrollmentsCount() : 0L);
+        return dto;
+    }
 }
@@ -2,8 +2,10 @@ package com.example.CBS.Dashboard.mapper;
 
 import com.example.CBS.Dashboard.dto.user.UserDto;
 import com.example.CBS.Dashboard.entity.User;
+import com.example.CBS.Dashboard.repository.UserRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -27,5 +29,21 @@ public class UserMapper {
                 .hasSignature(user.getSignatureData() != null && !user.getSignatureData().isBlank())
                 .build();
     }
-}
 
+    public UserDto toDto(UserRepository.UserListRow row, Set<String> roles) {
+        if (row == null) {
+            return null;
+        }
+
+        return UserDto.builder()
+                .id(row.getId())
+                .username(row.getUsername())
+                .fullName(row.getFullName())
+                .email(row.getEmail())
+                .roles(roles)
+                .enabled(row.getEnabled())
+                .createdAt(row.getCreatedAt())
+                .hasSignature(row.getHasSignature())
+                .build();
+    }
+}
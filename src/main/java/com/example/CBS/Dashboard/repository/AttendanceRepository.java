@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,12 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
            "LEFT JOIN FETCH a.markedBy " +
            "WHERE a.session.id = :sessionId")
     List<Attendance> findBySessionId(@Param("sessionId") Long sessionId);
+
+    /** Attendance of several sessions at once (with participant), for multi-session reports. */
+    @Query("SELECT a FROM Attendance a " +
+           "JOIN FETCH a.participant " +
+           "WHERE a.session.id IN :sessionIds")
+    List<Attendance> findBySessionIdIn(@Param("sessionIds") Collection<Long> sessionIds);
     
     @Query("SELECT DISTINCT a FROM Attendance a " +
            "LEFT JOIN FETCH a.session " +
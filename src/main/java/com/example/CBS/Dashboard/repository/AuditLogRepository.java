@@ -1,6 +1,7 @@
 package com.example.CBS.Dashboard.repository;
 
 import com.example.CBS.Dashboard.entity.AuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,13 +12,57 @@ import java.util.List;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, Long entityId);
-    List<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    String ROW_SELECT = "SELECT al.id AS id, al.entityType AS entityType, al.entityId AS entityId, " +
+                        "al.action AS action, u.id AS userId, u.username AS username, u.fullName AS userFullName, " +
+                        "al.oldValue AS oldValue, al.newValue AS newValue, al.description AS description, " +
+                        "al.createdAt AS createdAt FROM AuditLog al JOIN al.user u ";
+    
+    /**
+     * Rows from {@code from} up to (exclusive) the ({@code beforeCreatedAt}, {@code beforeId}) key, newest first.
+     * Every bound is always present (the service fills open ends), so no {@code :x IS NULL OR} branch hides them
+     * from a generic plan: the plain created_at range prunes partitions and the row-value comparison is a
+     * single index seek.
+     */
+    String WINDOW_AND_KEYSET = "AND al.createdAt >= :from AND al.createdAt <= :beforeCreatedAt " +
+                               "AND (al.createdAt, al.id) < (:beforeCreatedAt, :beforeId) " +
+                               "ORDER BY al.createdAt DESC, al.id DESC";
+    
+    /** Keyset page of one entity's history; served by idx_audit_logs_entity_created. */
+    @Query(ROW_SELECT + "WHERE al.entityType = :entityType AND al.entityId = :entityId " + WINDOW_AND_KEYSET)
+    List<AuditLogRow> findEntityHistory(@Param("entityType") String entityType,
+                                        @Param("entityId") Long entityId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                        @Param("beforeId") Long beforeId,
+                                        Pageable limit);
+    
+    /** Keyset page of one user's actions; served by idx_audit_logs_user_created. */
+    @Query(ROW_SELECT + "WHERE al.user.id = :userId " + WINDOW_AND_KEYSET)
+    List<AuditLogRow> findUserActions(@Param("userId") Long userId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable limit);
     
     @Query("SELECT al FROM AuditLog al WHERE al.createdAt BETWEEN :startDate AND :endDate ORDER BY al.createdAt DESC")
     List<AuditLog> findByDateRange(
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
+    
+    interface AuditLogRow {
+        Long getId();
+        String getEntityType();
+        Long getEntityId();
+        String getAction();
+        Long getUserId();
+        String getUsername();
+        String getUserFullName();
+        String getOldValue();
+        String getNewValue();
+        String getDescription();
+        LocalDateTime getCreatedAt();
+    }
 }
 
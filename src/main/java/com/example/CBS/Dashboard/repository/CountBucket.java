@@ -0,0 +1,7 @@
+package com.example.CBS.Dashboard.repository;
+
+/** One row of a GROUP BY count: the grouped value (an enum constant or a name) and its row count. */
+public interface CountBucket {
+    Object getBucket();
+    Long getTotal();
+}
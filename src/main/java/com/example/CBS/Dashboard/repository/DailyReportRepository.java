@@ -3,6 +3,8 @@ package com.example.CBS.Dashboard.repository;
 import com.example.CBS.Dashboard.entity.DailyReport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,12 +12,22 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DailyReportRepository extends JpaRepository<DailyReport, Long>, JpaSpecificationExecutor<DailyReport> {
     
+    @Override
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
+    Page<DailyReport> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
+    Page<DailyReport> findAll(Specification<DailyReport> spec, Pageable pageable);
+    
     Optional<DailyReport> findByBusinessDateAndEmployeeId(LocalDate businessDate, Long employeeId);
     
     List<DailyReport> findByEmployeeIdOrderByBusinessDateDesc(Long employeeId);
@@ -26,13 +38,92 @@ public interface DailyReportRepository extends JpaRepository<DailyReport, Long>,
            "ORDER BY dr.businessDate DESC")
     List<DailyReport> findByEmployeeIdWithActivities(@Param("employeeId") Long employeeId);
     
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
     Page<DailyReport> findByEmployeeIdOrderByBusinessDateDesc(Long employeeId, Pageable pageable);
     
+    /**
+     * Keyset page of an employee's reports, newest first: rows before the (beforeDate, beforeId) key in
+     * (businessDate DESC, id DESC) order. The key is always bound (the first page starts from the far end), so
+     * the row-value comparison stays an index seek under a generic plan; the pageable only limits.
+     */
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
+    @Query("SELECT dr FROM DailyReport dr WHERE dr.employee.id = :employeeId " +
+           "AND (dr.businessDate, dr.id) < (:beforeDate, :beforeId) " +
+           "ORDER BY dr.businessDate DESC, dr.id DESC")
+    List<DailyReport> findKeysetPageByEmployeeId(@Param("employeeId") Long employeeId,
+                                                 @Param("beforeDate") LocalDate beforeDate,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable limit);
+    
+    /**
+     * Keyset page over all reports from {@code startDate} down from the (beforeDate, beforeId) key; the end date
+     * filter is folded into that key by the caller. Null employee/status filters are ignored.
+     */
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
+    @Query("SELECT dr FROM DailyReport dr WHERE " +
+           "dr.businessDate >= :startDate AND " +
+           "(dr.businessDate, dr.id) < (:beforeDate, :beforeId) AND " +
+           "(:employeeId IS NULL OR dr.employee.id = :employeeId) AND " +
+           "(:status IS NULL OR dr.status = :status) " +
+           "ORDER BY dr.businessDate DESC, dr.id DESC")
+    List<DailyReport> findKeysetPage(@Param("startDate") LocalDate startDate,
+                                     @Param("employeeId") Long employeeId,
+                                     @Param("status") DailyReport.ReportStatus status,
+                                     @Param("beforeDate") LocalDate beforeDate,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable limit);
+    
+    boolean existsByEmployeeId(Long employeeId);
+    
+    boolean existsByEmployeeIdAndBusinessDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate);
+    
+    boolean existsByBusinessDateAndStatusIn(LocalDate businessDate, Collection<DailyReport.ReportStatus> statuses);
+    
+    long countByEmployeeId(Long employeeId);
+    
+    long countByEmployeeIdAndBusinessDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate);
+    
+    long countByBusinessDateAndStatusIn(LocalDate businessDate, Collection<DailyReport.ReportStatus> statuses);
+    
+    /** Report ids for the employee PDF in output order; reports are then loaded in chunks with {@link #findByIdIn}. */
+    @Query("SELECT dr.id FROM DailyReport dr WHERE dr.employee.id = :employeeId ORDER BY dr.businessDate DESC")
+    List<Long> findIdsByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    @Query("SELECT dr.id FROM DailyReport dr WHERE dr.employee.id = :employeeId " +
+           "AND dr.businessDate BETWEEN :startDate AND :endDate ORDER BY dr.businessDate DESC")
+    List<Long> findIdsByEmployeeIdAndBusinessDateBetween(@Param("employeeId") Long employeeId,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT dr.id FROM DailyReport dr WHERE dr.businessDate = :date AND dr.status IN :statuses ORDER BY dr.employee.username")
+    List<Long> findIdsByBusinessDateAndStatusIn(@Param("date") LocalDate date,
+                                                @Param("statuses") Collection<DailyReport.ReportStatus> statuses);
+    
+    /** Loads reports with their people; child sections of the whole chunk are then batch-fetched together. */
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
+    List<DailyReport> findByIdIn(Collection<Long> ids);
+    
+    /** Everything besides child rows that changes the combined PDF for a date; used as its cache key. */
+    @Query("SELECT dr.id AS id, dr.updatedAt AS updatedAt, e.username AS username, e.fullName AS fullName " +
+           "FROM DailyReport dr JOIN dr.employee e WHERE dr.businessDate = :date AND dr.status IN :statuses ORDER BY dr.id")
+    List<ReportVersion> findVersionsByBusinessDateAndStatusIn(@Param("date") LocalDate date,
+                                                             @Param("statuses") Collection<DailyReport.ReportStatus> statuses);
+    
+    /**
+     * Set-based duplicate check for imports. May return pairs outside the requested
+     * combinations, so callers match on (employeeId, businessDate) themselves.
+     */
+    @Query("SELECT dr.employee.id AS employeeId, dr.businessDate AS businessDate FROM DailyReport dr " +
+           "WHERE dr.employee.id IN :employeeIds AND dr.businessDate IN :dates")
+    List<ReportKey> findKeysByEmployeeIdInAndBusinessDateIn(@Param("employeeIds") Collection<Long> employeeIds,
+                                                            @Param("dates") Collection<LocalDate> dates);
+    
     Page<DailyReport> findByStatusOrderByBusinessDateDesc(DailyReport.ReportStatus status, Pageable pageable);
     
     @Query("SELECT dr FROM DailyReport dr WHERE dr.businessDate BETWEEN :startDate AND :endDate ORDER BY dr.businessDate DESC")
     List<DailyReport> findByBusinessDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    @EntityGraph(DailyReport.GRAPH_PEOPLE)
     @Query("SELECT dr FROM DailyReport dr WHERE dr.businessDate = :date ORDER BY dr.employee.username")
     List<DailyReport> findByBusinessDate(@Param("date") LocalDate date);
     
@@ -41,5 +132,16 @@ public interface DailyReportRepository extends JpaRepository<DailyReport, Long>,
     
     @Query("SELECT dr FROM DailyReport dr WHERE dr.employee.id = :employeeId AND dr.businessDate = :date")
     Optional<DailyReport> findByEmployeeIdAndBusinessDate(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
+    
+    interface ReportVersion {
+        Long getId();
+        LocalDateTime getUpdatedAt();
+        String getUsername();
+        String getFullName();
+    }
+    
+    interface ReportKey {
+        Long getEmployeeId();
+        LocalDate getBusinessDate();
+    }
 }
-
@@ -0,0 +1,73 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.entity.DailyReport;
+import com.example.CBS.Dashboard.entity.DailyReportStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyReportStatRepository extends JpaRepository<DailyReportStat, Long> {
+    
+    /** Adds (or subtracts, with negative values) counters for one date/employee/status bucket. */
+    @Modifying
+    @Query(value = "INSERT INTO daily_report_stats " +
+                   "(business_date, employee_id, status, report_count, escalation_count, pending_activity_count, qrmis_issue_count) " +
+                   "VALUES (:businessDate, :employeeId, :status, :reports, :escalations, :pendingActivities, :qrmisIssues) " +
+                   "ON CONFLICT (business_date, employee_id, status) DO UPDATE SET " +
+                   "report_count = daily_report_stats.report_count + EXCLUDED.report_count, " +
+                   "escalation_count = daily_report_stats.escalation_count + EXCLUDED.escalation_count, " +
+                   "pending_activity_count = daily_report_stats.pending_activity_count + EXCLUDED.pending_activity_count, " +
+                   "qrmis_issue_count = daily_report_stats.qrmis_issue_count + EXCLUDED.qrmis_issue_count",
+           nativeQuery = true)
+    void applyDelta(@Param("businessDate") LocalDate businessDate,
+                    @Param("employeeId") Long employeeId,
+                    @Param("status") String status,
+                    @Param("reports") long reports,
+                    @Param("escalations") long escalations,
+                    @Param("pendingActivities") long pendingActivities,
+                    @Param("qrmisIssues") long qrmisIssues);
+    
+    @Modifying
+    @Query("DELETE FROM DailyReportStat s WHERE s.businessDate = :businessDate AND s.employeeId = :employeeId " +
+           "AND s.status = :status AND s.reportCount <= 0")
+    void deleteEmptyBucket(@Param("businessDate") LocalDate businessDate,
+                           @Param("employeeId") Long employeeId,
+                           @Param("status") DailyReport.ReportStatus status);
+    
+    @Modifying
+    @Query(value = "DELETE FROM daily_report_stats", nativeQuery = true)
+    void deleteAllStats();
+    
+    /** Recomputes every bucket from daily_reports and its section tables. */
+    @Modifying
+    @Query(value = "INSERT INTO daily_report_stats " +
+                   "(business_date, employee_id, status, report_count, escalation_count, pending_activity_count, qrmis_issue_count) " +
+                   "SELECT dr.business_date, dr.employee_id, dr.status, COUNT(*), " +
+                   "COALESCE(SUM(pe.cnt), 0), COALESCE(SUM(pa.cnt), 0), COALESCE(SUM(qi.cnt), 0) " +
+                   "FROM daily_reports dr " +
+                   "LEFT JOIN (SELECT daily_report_id, COUNT(*) AS cnt FROM problem_escalations GROUP BY daily_report_id) pe ON pe.daily_report_id = dr.id " +
+                   "LEFT JOIN (SELECT daily_report_id, COUNT(*) AS cnt FROM pending_activities GROUP BY daily_report_id) pa ON pa.daily_report_id = dr.id " +
+                   "LEFT JOIN (SELECT daily_report_id, COUNT(*) AS cnt FROM qrmis_issues GROUP BY daily_report_id) qi ON qi.daily_report_id = dr.id " +
+                   "GROUP BY dr.business_date, dr.employee_id, dr.status",
+           nativeQuery = true)
+    int insertFromSourceTables();
+    
+    @Query("SELECT s.status AS status, SUM(s.reportCount) AS reports, SUM(s.escalationCount) AS escalations, " +
+           "SUM(s.pendingActivityCount) AS pendingActivities, SUM(s.qrmisIssueCount) AS qrmisIssues " +
+           "FROM DailyReportStat s GROUP BY s.status")
+    List<StatusTotals> sumByStatus();
+    
+    interface StatusTotals {
+        DailyReport.ReportStatus getStatus();
+        Long getReports();
+        Long getEscalations();
+        Long getPendingActivities();
+        Long getQrmisIssues();
+    }
+}
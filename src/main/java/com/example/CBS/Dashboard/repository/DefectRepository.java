@@ -3,11 +3,14 @@ package com.example.CBS.Dashboard.repository;
 import com.example.CBS.Dashboard.entity.Defect;
 import com.example.CBS.Dashboard.entity.Defect.DefectStatus;
 import com.example.CBS.Dashboard.entity.Defect.DefectSeverity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,22 +26,93 @@ public interface DefectRepository extends JpaRepository<Defect, Long> {
            "LEFT JOIN FETCH d.testCase " +
            "LEFT JOIN FETCH d.testExecution " +
            "LEFT JOIN FETCH d.reportedBy " +
-           "LEFT JOIN FETCH d.assignedTo " +
+           "LEFT JOIN FETCH d.assignedTo")
+    @Override
+    List<Defect> findAll();
+    
+    /** Leading part of the description sent with list rows, enough for the list's client-side search. */
+    int LIST_DESCRIPTION_CHARS = 500;
+    
+    String LIST_ROW_SELECT = "SELECT d.id AS id, d.title AS title, " +
+           "SUBSTRING(d.description, 1, " + LIST_DESCRIPTION_CHARS + ") AS description, " +
+           "d.severity AS severity, d.status AS status, " +
+           "tc.id AS testCaseId, tc.title AS testCaseTitle, te.id AS testExecutionId, " +
+           "rb.id AS reportedById, rb.username AS reportedByUsername, " +
+           "ast.id AS assignedToId, ast.username AS assignedToUsername, " +
+           "d.createdAt AS createdAt, d.updatedAt AS updatedAt " +
+           "FROM Defect d " +
+           "LEFT JOIN d.testCase tc " +
+           "LEFT JOIN d.testExecution te " +
+           "LEFT JOIN d.reportedBy rb " +
+           "LEFT JOIN d.assignedTo ast ";
+    
+    /** Defect list rows with a truncated description; attachments come from {@link #findAttachmentsByDefectIdIn}. */
+    @Query(LIST_ROW_SELECT)
+    List<DefectListRow> findListRows();
+    
+    @Query(LIST_ROW_SELECT +
            "WHERE (:status IS NULL OR d.status = :status) AND " +
            "(:severity IS NULL OR d.severity = :severity) AND " +
-           "(:assignedToId IS NULL OR d.assignedTo.id = :assignedToId)")
-    List<Defect> findByFilters(
+           "(:assignedToId IS NULL OR ast.id = :assignedToId)")
+    List<DefectListRow> findListRowsByFilters(
         @Param("status") DefectStatus status,
         @Param("severity") DefectSeverity severity,
         @Param("assignedToId") Long assignedToId
     );
     
-    @Query("SELECT DISTINCT d FROM Defect d " +
-           "LEFT JOIN FETCH d.testCase " +
-           "LEFT JOIN FETCH d.testExecution " +
-           "LEFT JOIN FETCH d.reportedBy " +
-           "LEFT JOIN FETCH d.assignedTo")
-    @Override
-    List<Defect> findAll();
+    /** Keyset page of list rows, newest first, after {@code afterId} (null for the first page); the pageable only limits. */
+    @Query(LIST_ROW_SELECT +
+           "WHERE (:status IS NULL OR d.status = :status) AND " +
+           "(:severity IS NULL OR d.severity = :severity) AND " +
+           "(:assignedToId IS NULL OR ast.id = :assignedToId) AND " +
+           "(:afterId IS NULL OR d.id < :afterId) " +
+           "ORDER BY d.id DESC")
+    List<DefectListRow> findListRowsBefore(
+        @Param("status") DefectStatus status,
+        @Param("severity") DefectSeverity severity,
+        @Param("assignedToId") Long assignedToId,
+        @Param("afterId") Long afterId,
+        Pageable limit
+    );
+    
+    @Query("SELECT d.id AS defectId, a AS filePath FROM Defect d JOIN d.attachments a WHERE d.id IN :defectIds")
+    List<DefectAttachment> findAttachmentsByDefectIdIn(@Param("defectIds") Collection<Long> defectIds);
+    
+    /** Defect counts per status; with a moduleId, only defects whose test case belongs to that module. */
+    @Query("SELECT d.status AS bucket, COUNT(d) AS total FROM Defect d LEFT JOIN d.testCase tc " +
+           "WHERE (:moduleId IS NULL OR tc.module.id = :moduleId) GROUP BY d.status")
+    List<CountBucket> countByStatus(@Param("moduleId") Long moduleId);
+    
+    @Query("SELECT d.severity AS bucket, COUNT(d) AS total FROM Defect d LEFT JOIN d.testCase tc " +
+           "WHERE (:moduleId IS NULL OR tc.module.id = :moduleId) GROUP BY d.severity")
+    List<CountBucket> countBySeverity(@Param("moduleId") Long moduleId);
+    
+    /** Test cases among {@code testCaseIds} that already have a defect in one of the given (open) statuses. */
+    @Query("SELECT DISTINCT d.testCase.id FROM Defect d WHERE d.testCase.id IN :testCaseIds AND d.status IN :statuses")
+    List<Long> findTestCaseIdsWithDefectIn(@Param("testCaseIds") Collection<Long> testCaseIds,
+                                           @Param("statuses") Collection<Defect.DefectStatus> statuses);
+    
+    interface DefectListRow {
+        Long getId();
+        String getTitle();
+        /** First {@link DefectRepository#LIST_DESCRIPTION_CHARS} characters of the description. */
+        String getDescription();
+        DefectSeverity getSeverity();
+        DefectStatus getStatus();
+        Long getTestCaseId();
+        String getTestCaseTitle();
+        Long getTestExecutionId();
+        Long getReportedById();
+        String getReportedByUsername();
+        Long getAssignedToId();
+        String getAssignedToUsername();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+    
+    interface DefectAttachment {
+        Long getDefectId();
+        String getFilePath();
+    }
 }
 
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,13 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
            "WHERE e.program.id = :programId")
     List<Enrollment> findByProgramId(@Param("programId") Long programId);
     
+    @Query("SELECT DISTINCT e FROM Enrollment e " +
+           "LEFT JOIN FETCH e.program " +
+           "LEFT JOIN FETCH e.session " +
+           "LEFT JOIN FETCH e.participant " +
+           "WHERE e.program.id IN :programIds")
+    List<Enrollment> findByProgramIdIn(@Param("programIds") Collection<Long> programIds);
+    
     @Query("SELECT DISTINCT e FROM Enrollment e " +
            "LEFT JOIN FETCH e.program " +
            "LEFT JOIN FETCH e.session " +
@@ -54,4 +62,20 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
            "LEFT JOIN FETCH e.participant " +
            "WHERE e.status = :status")
     List<Enrollment> findByStatus(@Param("status") Enrollment.EnrollmentStatus status);
+    
+    boolean existsByProgramIdAndParticipantIdAndStatusNotIn(Long programId, Long participantId,
+                                                            Collection<Enrollment.EnrollmentStatus> statuses);
+    
+    /** Enrollment totals per program, counting separately those not in one of the inactive statuses. */
+    @Query("SELECT e.program.id AS programId, COUNT(e) AS total, " +
+           "SUM(CASE WHEN e.status NOT IN :inactiveStatuses THEN 1 ELSE 0 END) AS active " +
+           "FROM Enrollment e WHERE e.program.id IN :programIds GROUP BY e.program.id")
+    List<ProgramEnrollment> countByProgramIdIn(@Param("programIds") Collection<Long> programIds,
+                                               @Param("inactiveStatuses") Collection<Enrollment.EnrollmentStatus> inactiveStatuses);
+    
+    interface ProgramEnrollment {
+        Long getProgramId();
+        long getTotal();
+        long getActive();
+    }
 }
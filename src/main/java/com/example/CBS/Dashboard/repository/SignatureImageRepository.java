@@ -0,0 +1,19 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.entity.SignatureImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SignatureImageRepository extends JpaRepository<SignatureImage, String> {
+
+    /** Stores the image unless a row with the same content hash already exists. */
+    @Modifying
+    @Query(value = "INSERT INTO signature_images (hash, image_data, created_at) VALUES (:hash, :imageData, now()) " +
+                   "ON CONFLICT (hash) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("imageData") byte[] imageData);
+}
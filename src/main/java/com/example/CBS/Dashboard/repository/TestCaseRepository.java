@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,5 +49,34 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
            "LEFT JOIN FETCH tc.assignedTo")
     @Override
     List<TestCase> findAll();
+    
+    /** Test case counts per status; all modules when moduleId is null. */
+    @Query("SELECT tc.status AS bucket, COUNT(tc) AS total FROM TestCase tc " +
+           "WHERE (:moduleId IS NULL OR tc.module.id = :moduleId) GROUP BY tc.status")
+    List<CountBucket> countByStatus(@Param("moduleId") Long moduleId);
+    
+    @Query("SELECT tc.priority AS bucket, COUNT(tc) AS total FROM TestCase tc " +
+           "WHERE (:moduleId IS NULL OR tc.module.id = :moduleId) GROUP BY tc.priority")
+    List<CountBucket> countByPriority(@Param("moduleId") Long moduleId);
+    
+    /** Test case counts per module name; cases without a module are not counted. */
+    @Query("SELECT m.name AS bucket, COUNT(tc) AS total FROM TestCase tc JOIN tc.module m " +
+           "WHERE (:moduleId IS NULL OR m.id = :moduleId) GROUP BY m.name")
+    List<CountBucket> countByModuleName(@Param("moduleId") Long moduleId);
+    
+    @Query("SELECT tc.id FROM TestCase tc WHERE tc.externalKey = :externalKey")
+    Optional<Long> findIdByExternalKey(@Param("externalKey") String externalKey);
+    
+    /** Match keys for imported test results: cases with one of the external keys or titles, in one query. */
+    @Query("SELECT tc.id AS id, tc.title AS title, tc.externalKey AS externalKey " +
+           "FROM TestCase tc WHERE tc.externalKey IN :externalKeys OR tc.title IN :titles")
+    List<MatchKey> findMatchKeys(@Param("externalKeys") Collection<String> externalKeys,
+                                 @Param("titles") Collection<String> titles);
+    
+    interface MatchKey {
+        Long getId();
+        String getTitle();
+        String getExternalKey();
+    }
 }
 
@@ -50,5 +50,10 @@ public interface TestExecutionRepository extends JpaRepository<TestExecution, Lo
            "LEFT JOIN FETCH te.executedBy")
     @Override
     List<TestExecution> findAll();
+    
+    /** Execution counts per status; all modules when moduleId is null. */
+    @Query("SELECT te.status AS bucket, COUNT(te) AS total FROM TestExecution te JOIN te.testCase tc " +
+           "WHERE (:moduleId IS NULL OR tc.module.id = :moduleId) GROUP BY te.status")
+    List<CountBucket> countByStatus(@Param("moduleId") Long moduleId);
 }
 
@@ -0,0 +1,76 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.entity.TestCase;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Full-text search over test cases, defects and comments, backed by the generated search_vector
+ * columns and their GIN indexes (database/create_test_search_vectors.sql). PostgreSQL only.
+ */
+@org.springframework.stereotype.Repository
+public interface TestSearchRepository extends org.springframework.data.repository.Repository<TestCase, Long> {
+
+    /** Text search configuration; must match the one the search_vector columns are generated with. */
+    String TS_CONFIG = "'english'";
+
+    /**
+     * One page of hits ranked across all three tables. Matching and ranking read only the indexed
+     * vectors; titles, parents and headlines are looked up for the rows of the page alone.
+     * {@code query} is a to_tsquery expression (see TestSearchService for how it is built).
+     */
+    @Query(value = "WITH q AS (SELECT to_tsquery(" + TS_CONFIG + ", :query) AS query), " +
+                   "hits AS (" +
+                   "  SELECT 'TEST_CASE' AS type, tc.id AS id, ts_rank(tc.search_vector, q.query) AS rank " +
+                   "  FROM test_cases tc, q WHERE :includeTestCases AND tc.search_vector @@ q.query " +
+                   "  UNION ALL " +
+                   "  SELECT 'DEFECT', d.id, ts_rank(d.search_vector, q.query) " +
+                   "  FROM defects d, q WHERE :includeDefects AND d.search_vector @@ q.query " +
+                   "  UNION ALL " +
+                   "  SELECT 'COMMENT', c.id, ts_rank(c.search_vector, q.query) " +
+                   "  FROM comments c, q WHERE :includeComments AND c.search_vector @@ q.query" +
+                   "), " +
+                   "page AS (SELECT type, id, rank FROM hits ORDER BY rank DESC, type, id " +
+                   "  LIMIT :pageLimit OFFSET :pageOffset) " +
+                   "SELECT p.type AS type, p.id AS id, CAST(p.rank AS DOUBLE PRECISION) AS rank, " +
+                   "  COALESCE(tc.title, d.title, ctc.title, cd.title) AS title, " +
+                   "  COALESCE(tc.id, d.test_case_id, c.test_case_id) AS testCaseId, " +
+                   "  COALESCE(d.id, c.defect_id) AS defectId, " +
+                   "  ts_headline(" + TS_CONFIG + ", CASE p.type " +
+                   "    WHEN 'TEST_CASE' THEN concat_ws(' ', tc.title, tc.preconditions, tc.steps_text, tc.expected_result) " +
+                   "    WHEN 'DEFECT' THEN concat_ws(' ', d.title, d.description) " +
+                   "    ELSE c.content END, q.query, :headlineOptions) AS snippet " +
+                   "FROM page p CROSS JOIN q " +
+                   "LEFT JOIN test_cases tc ON p.type = 'TEST_CASE' AND tc.id = p.id " +
+                   "LEFT JOIN defects d ON p.type = 'DEFECT' AND d.id = p.id " +
+                   "LEFT JOIN comments c ON p.type = 'COMMENT' AND c.id = p.id " +
+                   "LEFT JOIN test_cases ctc ON ctc.id = c.test_case_id " +
+                   "LEFT JOIN defects cd ON cd.id = c.defect_id " +
+                   "ORDER BY p.rank DESC, p.type, p.id",
+           nativeQuery = true)
+    List<SearchHit> search(@Param("query") String query,
+                           @Param("includeTestCases") boolean includeTestCases,
+                           @Param("includeDefects") boolean includeDefects,
+                           @Param("includeComments") boolean includeComments,
+                           @Param("headlineOptions") String headlineOptions,
+                           @Param("pageLimit") int pageLimit,
+                           @Param("pageOffset") int pageOffset);
+
+    /** Number of the three tables that already have their search_vector column. */
+    @Query(value = "SELECT COUNT(*) FROM information_schema.columns WHERE column_name = 'search_vector' " +
+                   "AND table_schema = current_schema() AND table_name IN ('test_cases', 'defects', 'comments')",
+           nativeQuery = true)
+    long countSearchVectorColumns();
+
+    interface SearchHit {
+        String getType();
+        Long getId();
+        Double getRank();
+        String getTitle();
+        Long getTestCaseId();
+        Long getDefectId();
+        String getSnippet();
+    }
+}
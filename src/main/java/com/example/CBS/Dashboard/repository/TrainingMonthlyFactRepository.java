@@ -0,0 +1,100 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.entity.TrainingMonthlyFact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TrainingMonthlyFactRepository extends JpaRepository<TrainingMonthlyFact, Long> {
+
+    /** Effective instructor of a session: its own, else the program's. */
+    String INSTRUCTOR = "COALESCE(ts.instructor_id, tp.instructor_id)";
+
+    /** Present-like attendance is PRESENT, LATE or EXCUSED, as on the CFO dashboard. */
+    String COUNTS =
+            "COUNT(DISTINCT ts.id) AS sessionCount, " +
+            "COUNT(DISTINCT CASE WHEN ts.status = 'COMPLETED' THEN ts.id END) AS completedSessionCount, " +
+            "COUNT(a.id) AS attendanceCount, " +
+            "COUNT(CASE WHEN a.status IN ('PRESENT', 'LATE', 'EXCUSED') THEN a.id END) AS presentLikeCount ";
+
+    String SOURCE =
+            "FROM training_sessions ts " +
+            "JOIN training_programs tp ON tp.id = ts.program_id " +
+            "LEFT JOIN attendances a ON a.session_id = ts.id ";
+
+    String INSERT_FACTS =
+            "INSERT INTO training_monthly_facts " +
+            "(month_start, program_id, instructor_id, session_count, completed_session_count, attendance_count, present_like_count) " +
+            "SELECT CAST(date_trunc('month', ts.start_date_time) AS DATE), ts.program_id, " + INSTRUCTOR + ", " +
+            COUNTS + SOURCE;
+
+    List<TrainingMonthlyFact> findByMonthStartGreaterThanEqualAndMonthStartLessThan(LocalDate fromMonth, LocalDate toMonth);
+
+    /** Totals computed live from the source tables, for the partial months at the edges of a range. */
+    @Query(value = "SELECT ts.program_id AS programId, " + INSTRUCTOR + " AS instructorId, " + COUNTS + SOURCE +
+                   "WHERE ts.start_date_time >= :from AND ts.start_date_time < :to GROUP BY 1, 2",
+           nativeQuery = true)
+    List<Totals> computeForStartRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** Row lock on the program so concurrent refreshes of its facts run one after the other. */
+    @Query(value = "SELECT id FROM training_programs WHERE id = :programId FOR UPDATE", nativeQuery = true)
+    Long lockProgram(@Param("programId") Long programId);
+
+    @Modifying
+    @Query(value = "DELETE FROM training_monthly_facts WHERE program_id = :programId " +
+                   "AND month_start >= :fromMonth AND month_start < :toMonth",
+           nativeQuery = true)
+    void deleteForProgramMonths(@Param("programId") Long programId,
+                                @Param("fromMonth") LocalDate fromMonth,
+                                @Param("toMonth") LocalDate toMonth);
+
+    @Modifying
+    @Query(value = INSERT_FACTS +
+                   "WHERE ts.program_id = :programId AND ts.start_date_time >= :from AND ts.start_date_time < :to " +
+                   "GROUP BY 1, 2, 3",
+           nativeQuery = true)
+    int insertForProgramRange(@Param("programId") Long programId,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM training_monthly_facts WHERE program_id = :programId", nativeQuery = true)
+    void deleteForProgram(@Param("programId") Long programId);
+
+    @Modifying
+    @Query(value = INSERT_FACTS + "WHERE ts.program_id = :programId GROUP BY 1, 2, 3", nativeQuery = true)
+    int insertForProgram(@Param("programId") Long programId);
+
+    /**
+     * Blocks every other writer of the fact table (incremental refreshes, another rebuild) until the
+     * transaction ends, waiting for those already running to commit; reads are not blocked.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE training_monthly_facts IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockAllFacts();
+
+    @Modifying
+    @Query(value = "DELETE FROM training_monthly_facts", nativeQuery = true)
+    void deleteAllFacts();
+
+    /** Recomputes every fact row from training_sessions and attendances. */
+    @Modifying
+    @Query(value = INSERT_FACTS + "GROUP BY 1, 2, 3", nativeQuery = true)
+    int insertFromSourceTables();
+
+    interface Totals {
+        Long getProgramId();
+        Long getInstructorId();
+        long getSessionCount();
+        long getCompletedSessionCount();
+        long getAttendanceCount();
+        long getPresentLikeCount();
+    }
+}
@@ -6,17 +6,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TrainingProgramRepository extends JpaRepository<TrainingProgram, Long> {
-    // Return all programs ordered by most recently created first
-    List<TrainingProgram> findAllByOrderByCreatedAtDesc();
-    
-    List<TrainingProgram> findByStatus(TrainingProgram.TrainingStatus status);
-    
-    List<TrainingProgram> findByCategory(String category);
-    
     List<TrainingProgram> findByCreatedById(Long createdById);
     
     List<TrainingProgram> findByInstructorId(Long instructorId);
@@ -27,4 +22,93 @@ public interface TrainingProgramRepository extends JpaRepository<TrainingProgram
            "AND e.status != 'WITHDRAWN' " +
            "AND e.status != 'CANCELLED'")
     List<TrainingProgram> findByStudentId(@Param("studentId") Long studentId);
+    
+    /** Ids of every program the user teaches or is actively enrolled in; backs the program access index. */
+    @Query("SELECT tp.id FROM TrainingProgram tp WHERE tp.instructor.id = :userId " +
+           "UNION " +
+           "SELECT e.program.id FROM Enrollment e " +
+           "WHERE e.participant.id = :userId " +
+           "AND e.status != 'WITHDRAWN' " +
+           "AND e.status != 'CANCELLED'")
+    List<Long> findAccessibleProgramIds(@Param("userId") Long userId);
+    
+    boolean existsByIdAndInstructorId(Long id, Long instructorId);
+    
+    String LIST_ROW_SELECT = "SELECT tp.id AS id, tp.title AS title, " +
+           "tt.id AS trainingTopicId, tt.name AS trainingTopicName, " +
+           "tn.id AS trainingNameId, tn.name AS trainingNameName, tp.trainingNameString AS trainingNameString, " +
+           "tp.trainingDate AS trainingDate, tp.trainingLevel AS trainingLevel, " +
+           "tc.id AS trainingCategoryId, tc.name AS trainingCategoryName, " +
+           "d.id AS departmentId, d.name AS departmentName, " +
+           "tm.id AS trainingModuleId, tm.name AS trainingModuleName, tp.facultyName AS facultyName, " +
+           "co.id AS coordinatorId, cu.username AS coordinatorUsername, " +
+           "tp.trainingType AS trainingType, tp.examType AS examType, " +
+           "tp.hasArticleMaterial AS hasArticleMaterial, tp.hasVideoMaterial AS hasVideoMaterial, " +
+           "tp.hasSlideMaterial AS hasSlideMaterial, tp.thumbnailImagePath AS thumbnailImagePath, " +
+           "tp.category AS category, tp.durationHours AS durationHours, tp.status AS status, " +
+           "tp.maxParticipants AS maxParticipants, " +
+           "cb.id AS createdById, cb.username AS createdByUsername, " +
+           "i.id AS instructorId, i.username AS instructorUsername, " +
+           "tp.createdAt AS createdAt, tp.updatedAt AS updatedAt, " +
+           "(SELECT COUNT(s) FROM TrainingSession s WHERE s.program = tp) AS sessionsCount, " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.program = tp) AS enrollmentsCount " +
+           "FROM TrainingProgram tp " +
+           "LEFT JOIN tp.trainingTopic tt " +
+           "LEFT JOIN tp.trainingName tn " +
+           "LEFT JOIN tp.trainingCategory tc " +
+           "LEFT JOIN tp.department d " +
+           "LEFT JOIN tp.trainingModule tm " +
+           "LEFT JOIN tp.coordinator co " +
+           "LEFT JOIN co.user cu " +
+           "LEFT JOIN tp.createdBy cb " +
+           "LEFT JOIN tp.instructor i ";
+    
+    /** List rows, newest first; reads only the columns of the program list (no description, prerequisites or objectives). */
+    @Query(LIST_ROW_SELECT + "ORDER BY tp.createdAt DESC")
+    List<ProgramListRow> findListRows();
+    
+    @Query(LIST_ROW_SELECT + "WHERE tp.status = :status")
+    List<ProgramListRow> findListRowsByStatus(@Param("status") TrainingProgram.TrainingStatus status);
+    
+    @Query(LIST_ROW_SELECT + "WHERE tp.category = :category")
+    List<ProgramListRow> findListRowsByCategory(@Param("category") String category);
+    
+    interface ProgramListRow {
+        Long getId();
+        String getTitle();
+        Long getTrainingTopicId();
+        String getTrainingTopicName();
+        Long getTrainingNameId();
+        String getTrainingNameName();
+        String getTrainingNameString();
+        LocalDate getTrainingDate();
+        TrainingProgram.TrainingLevel getTrainingLevel();
+        Long getTrainingCategoryId();
+        String getTrainingCategoryName();
+        Long getDepartmentId();
+        String getDepartmentName();
+        Long getTrainingModuleId();
+        String getTrainingModuleName();
+        String getFacultyName();
+        Long getCoordinatorId();
+        String getCoordinatorUsername();
+        TrainingProgram.TrainingType getTrainingType();
+        TrainingProgram.ExamType getExamType();
+        Boolean getHasArticleMaterial();
+        Boolean getHasVideoMaterial();
+        Boolean getHasSlideMaterial();
+        String getThumbnailImagePath();
+        String getCategory();
+        Integer getDurationHours();
+        TrainingProgram.TrainingStatus getStatus();
+        Integer getMaxParticipants();
+        Long getCreatedById();
+        String getCreatedByUsername();
+        Long getInstructorId();
+        String getInstructorUsername();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Long getSessionsCount();
+        Long getEnrollmentsCount();
+    }
 }
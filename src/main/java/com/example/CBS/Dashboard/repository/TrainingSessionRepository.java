@@ -39,10 +39,13 @@ public interface TrainingSessionRepository extends JpaRepository<TrainingSession
     List<TrainingSession> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                           @Param("endDate") LocalDateTime endDate);
 
+    /** Sessions taught by the user in [from, to), with program, topic and both instructors for the attendance report. */
     @Query("SELECT DISTINCT ts FROM TrainingSession ts " +
-           "LEFT JOIN FETCH ts.program " +
+           "LEFT JOIN FETCH ts.program p " +
+           "LEFT JOIN FETCH p.trainingTopic " +
+           "LEFT JOIN FETCH p.instructor " +
            "LEFT JOIN FETCH ts.instructor " +
-           "WHERE (ts.instructor.id = :instructorId OR ts.program.instructor.id = :instructorId) " +
+           "WHERE (ts.instructor.id = :instructorId OR p.instructor.id = :instructorId) " +
            "AND ts.startDateTime >= :from AND ts.startDateTime < :to " +
            "ORDER BY ts.startDateTime ASC")
     List<TrainingSession> findByInstructorIdAndDateRange(@Param("instructorId") Long instructorId,
@@ -51,17 +54,85 @@ public interface TrainingSessionRepository extends JpaRepository<TrainingSession
 
     /** All sessions in date range (for CFO / organization-wide reports). */
     @Query("SELECT DISTINCT ts FROM TrainingSession ts " +
-           "LEFT JOIN FETCH ts.program " +
+           "LEFT JOIN FETCH ts.program p " +
+           "LEFT JOIN FETCH p.trainingTopic " +
+           "LEFT JOIN FETCH p.instructor " +
            "LEFT JOIN FETCH ts.instructor " +
            "WHERE ts.startDateTime >= :from AND ts.startDateTime < :to " +
            "ORDER BY ts.startDateTime ASC")
     List<TrainingSession> findByStartDateTimeBetween(@Param("from") LocalDateTime from,
                                                      @Param("to") LocalDateTime to);
 
+    /** Sessions starting in [from, to) with program, program department and both instructors, for the CFO dashboard. */
+    @Query("SELECT ts FROM TrainingSession ts " +
+           "JOIN FETCH ts.program p " +
+           "LEFT JOIN FETCH p.department " +
+           "LEFT JOIN FETCH p.instructor " +
+           "LEFT JOIN FETCH ts.instructor " +
+           "WHERE ts.startDateTime >= :from AND ts.startDateTime < :to")
+    List<TrainingSession> findForAnalyticsByStartDateTimeBetween(@Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to);
+
     /** Sessions where this user is the session instructor (for clearing on teacher removal). */
     @Query("SELECT DISTINCT ts FROM TrainingSession ts " +
            "LEFT JOIN FETCH ts.program " +
            "LEFT JOIN FETCH ts.instructor " +
            "WHERE ts.instructor.id = :instructorId")
     List<TrainingSession> findByInstructorId(@Param("instructorId") Long instructorId);
+
+    /** Earliest and latest session start of a program; both null when it has no sessions. */
+    @Query("SELECT MIN(ts.startDateTime) AS firstStart, MAX(ts.startDateTime) AS lastStart " +
+           "FROM TrainingSession ts WHERE ts.program.id = :programId")
+    StartRange findStartRangeByProgramId(@Param("programId") Long programId);
+
+    interface StartRange {
+        LocalDateTime getFirstStart();
+        LocalDateTime getLastStart();
+    }
+
+    String LIST_ROW_SELECT = "SELECT ts.id AS id, p.id AS programId, p.title AS programTitle, " +
+           "ts.topic AS topic, tt.name AS programTopicName, p.trainingNameString AS programTrainingName, " +
+           "ts.startDateTime AS startDateTime, ts.endDateTime AS endDateTime, ts.location AS location, " +
+           "ts.sessionType AS sessionType, ts.status AS status, ts.maxCapacity AS maxCapacity, ts.notes AS notes, " +
+           "i.id AS instructorId, i.username AS instructorUsername, i.fullName AS instructorFullName, " +
+           "cb.id AS createdById, cb.username AS createdByUsername, " +
+           "ts.createdAt AS createdAt, ts.updatedAt AS updatedAt, ts.sequenceOrder AS sequenceOrder, " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.session = ts) AS enrollmentsCount " +
+           "FROM TrainingSession ts " +
+           "JOIN ts.program p " +
+           "LEFT JOIN p.trainingTopic tt " +
+           "LEFT JOIN ts.instructor i " +
+           "LEFT JOIN ts.createdBy cb ";
+
+    /** Session list rows with the program and user columns the list shows, without loading the entities. */
+    @Query(LIST_ROW_SELECT + "ORDER BY ts.sequenceOrder DESC NULLS LAST, ts.id DESC")
+    List<SessionListRow> findListRows();
+
+    @Query(LIST_ROW_SELECT + "WHERE p.id = :programId ORDER BY ts.sequenceOrder DESC NULLS LAST, ts.id DESC")
+    List<SessionListRow> findListRowsByProgramId(@Param("programId") Long programId);
+
+    interface SessionListRow {
+        Long getId();
+        Long getProgramId();
+        String getProgramTitle();
+        String getTopic();
+        String getProgramTopicName();
+        String getProgramTrainingName();
+        LocalDateTime getStartDateTime();
+        LocalDateTime getEndDateTime();
+        String getLocation();
+        String getSessionType();
+        TrainingSession.SessionStatus getStatus();
+        Integer getMaxCapacity();
+        String getNotes();
+        Long getInstructorId();
+        String getInstructorUsername();
+        String getInstructorFullName();
+        Long getCreatedById();
+        String getCreatedByUsername();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Integer getSequenceOrder();
+        Long getEnrollmentsCount();
+    }
 }
@@ -1,10 +1,16 @@
 package com.example.CBS.Dashboard.repository;
 
 import com.example.CBS.Dashboard.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +25,57 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     Boolean existsByEmail(String email);
 
     Boolean existsByEmailAndIdNot(String email, Long id);
+    
+    /** Resolves a batch of usernames to ids in one query, without loading the users. */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.username IN :usernames")
+    List<UserKey> findKeysByUsernameIn(@Param("usernames") Collection<String> usernames);
+    
+    interface UserKey {
+        Long getId();
+        String getUsername();
+    }
+    
+    String LIST_ROW_SELECT = "SELECT u.id AS id, u.username AS username, u.fullName AS fullName, u.email AS email, " +
+           "u.enabled AS enabled, u.createdAt AS createdAt, " +
+           "CASE WHEN u.signatureHash IS NOT NULL OR (u.signatureData IS NOT NULL AND u.signatureData <> '') " +
+           "THEN true ELSE false END AS hasSignature " +
+           "FROM User u ";
+    
+    /** User list rows; tells whether a signature exists without reading the signature text. */
+    @Query(LIST_ROW_SELECT)
+    List<UserListRow> findListRows();
+    
+    /**
+     * Keyset page of list rows in id order, after {@code afterId} (null for the first page).
+     * {@code search} is a lower-case LIKE pattern on username or email, or null; the pageable only limits.
+     */
+    @Query(LIST_ROW_SELECT +
+           "WHERE (:search IS NULL OR LOWER(u.username) LIKE :search OR LOWER(u.email) LIKE :search) " +
+           "AND (:afterId IS NULL OR u.id > :afterId) " +
+           "ORDER BY u.id")
+    List<UserListRow> findListRowsAfter(@Param("search") String search,
+                                        @Param("afterId") Long afterId,
+                                        Pageable limit);
+    
+    /** Every (user id, role name) pair, to attach roles to {@link #findListRows} in one query. */
+    @Query("SELECT u.id AS userId, r.name AS roleName FROM User u JOIN u.roles r")
+    List<UserRoleName> findAllRoleNames();
+    
+    @Query("SELECT u.id AS userId, r.name AS roleName FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleName> findRoleNamesByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    interface UserListRow {
+        Long getId();
+        String getUsername();
+        String getFullName();
+        String getEmail();
+        Boolean getEnabled();
+        LocalDateTime getCreatedAt();
+        Boolean getHasSignature();
+    }
+    
+    interface UserRoleName {
+        Long getUserId();
+        String getRoleName();
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.CBS.Dashboard.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The authenticated user as set up once per request by {@link JwtAuthenticationFilter}.
+ * Services check roles against it in memory instead of reloading the {@code User} entity.
+ */
+public record CurrentUser(Long id, String username, Set<String> roles) implements Principal, Serializable {
+
+    public CurrentUser {
+        roles = roles.stream()
+                .map(role -> role.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean hasAnyRole(String... roleNames) {
+        for (String roleName : roleNames) {
+            if (roles.contains(roleName.toUpperCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.CBS.Dashboard.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Access to the {@link CurrentUser} of the running request. The security context is also carried
+ * to export workers, so this works there too. Lookups for anyone other than the caller go through
+ * {@link UserPrincipalCache} rather than the database.
+ */
+@Component
+public class CurrentUserProvider {
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    public Optional<CurrentUser> find() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CurrentUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    public CurrentUser get(Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            throw new SecurityException("User not authenticated");
+        }
+        if (authentication.getPrincipal() instanceof CurrentUser user) {
+            return user;
+        }
+        return forUsername(authentication.getName());
+    }
+
+    /** The caller when {@code username} is the caller, otherwise the cached state of that user. */
+    public CurrentUser forUsername(String username) {
+        Optional<CurrentUser> current = find().filter(user -> user.username().equals(username));
+        if (current.isPresent()) {
+            return current.get();
+        }
+        UserPrincipalCache.CachedUser cached = principalCache.get(username);
+        if (cached == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return new CurrentUser(cached.id(), cached.username(), cached.authorities());
+    }
+}
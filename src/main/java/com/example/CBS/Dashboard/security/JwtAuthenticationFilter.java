@@ -1,20 +1,23 @@
 package com.example.CBS.Dashboard.security;
 
+import com.example.CBS.Dashboard.service.user.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,7 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider tokenProvider;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserPrincipalCache principalCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -33,20 +36,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, 
-                                null, 
-                                userDetails.getAuthorities()
-                        );
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (claims != null) {
+                UserPrincipalCache.CachedUser user = principalCache.get(claims.getSubject());
+                if (user != null && user.enabled()) {
+                    Set<String> roles = grantedRoles(claims, user);
+                    UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(
+                                    new CurrentUser(user.id(), user.username(), roles), 
+                                    null, 
+                                    roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList())
+                            );
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -55,6 +60,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Roles come from the token, limited to those the user still holds, so a revoked role stops
+     * working at once while a newly granted one needs a fresh token. Tokens without a roles claim
+     * (refresh tokens) get the user's current roles, as before.
+     */
+    private Set<String> grantedRoles(Claims claims, UserPrincipalCache.CachedUser user) {
+        Set<String> tokenRoles = tokenProvider.getRoles(claims);
+        if (tokenRoles.isEmpty()) {
+            return user.authorities();
+        }
+        return tokenRoles.stream()
+                .map(CustomUserDetailsService::toAuthority)
+                .filter(user.authorities()::contains)
+                .collect(Collectors.toSet());
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
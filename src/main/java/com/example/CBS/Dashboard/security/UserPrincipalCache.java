@@ -0,0 +1,95 @@
+package com.example.CBS.Dashboard.security;
+
+import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.service.user.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Small LRU of the account state the JWT filter needs on every request: id, enabled flag and
+ * current authorities. Entries expire after a short TTL so changes made outside this instance are
+ * picked up eventually; changes made here are applied immediately through {@link #invalidateAfterCommit}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    @Value("${app.auth.principal-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.auth.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public record CachedUser(Long id, String username, boolean enabled, Set<String> authorities) {
+    }
+
+    private record Entry(CachedUser user, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /** Bumped on every invalidation so a load that raced with it is not cached. */
+    private long generation;
+
+    /** Returns the user's current state, loading it on a miss; null if the user no longer exists. */
+    public CachedUser get(String username) {
+        long startedAt;
+        synchronized (this) {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                return entry.user;
+            }
+            startedAt = generation;
+        }
+        CachedUser user = userRepository.findByUsername(username)
+                .map(u -> new CachedUser(u.getId(), u.getUsername(), Boolean.TRUE.equals(u.getEnabled()),
+                        u.getRoles().stream()
+                                .map(role -> CustomUserDetailsService.toAuthority(role.getName()))
+                                .collect(Collectors.toUnmodifiableSet())))
+                .orElse(null);
+        synchronized (this) {
+            if (user == null) {
+                entries.remove(username);
+            } else if (generation == startedAt) {
+                entries.put(username, new Entry(user, System.currentTimeMillis() + ttlSeconds * 1000));
+            }
+        }
+        return user;
+    }
+
+    public synchronized void invalidate(String username) {
+        generation++;
+        entries.remove(username);
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a request that
+     * reads the old row in between cannot keep it cached until the TTL runs out.
+     */
+    public void invalidateAfterCommit(String username) {
+        invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(username);
+                }
+            });
+        }
+    }
+}
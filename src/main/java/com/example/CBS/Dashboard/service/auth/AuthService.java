@@ -5,6 +5,7 @@ import com.example.CBS.Dashboard.dto.auth.LoginResponse;
 import com.example.CBS.Dashboard.exception.InvalidRefreshTokenException;
 import com.example.CBS.Dashboard.security.JwtTokenProvider;
 import com.example.CBS.Dashboard.service.user.UserService;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,11 +61,12 @@ public class AuthService {
     }
     
     public LoginResponse refreshToken(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken)) {
+        Claims claims = tokenProvider.parseClaims(refreshToken);
+        if (claims == null) {
             throw new InvalidRefreshTokenException("Invalid or expired refresh token");
         }
         
-        String username = tokenProvider.getUsernameFromToken(refreshToken);
+        String username = claims.getSubject();
         var user = userService.findByUsername(username);
         
         Authentication authentication = new UsernamePasswordAuthenticationToken(
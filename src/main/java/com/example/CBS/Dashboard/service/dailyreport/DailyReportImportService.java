@@ -0,0 +1,364 @@
+package com.example.CBS.Dashboard.service.dailyreport;
+
+import com.example.CBS.Dashboard.dto.dailyreport.CbsTeamActivityDto;
+import com.example.CBS.Dashboard.dto.dailyreport.CreateDailyReportRequest;
+import com.example.CBS.Dashboard.dto.dailyreport.DailyReportImportResult;
+import com.example.CBS.Dashboard.dto.dailyreport.DailyReportImportRow;
+import com.example.CBS.Dashboard.entity.DailyReport;
+import com.example.CBS.Dashboard.repository.DailyReportRepository;
+import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.service.pdf.PdfCache;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk import of daily reports from a JSON array or a CSV file.
+ * <p>
+ * The body is parsed as a stream and handled in chunks: each chunk resolves its employees with one
+ * query, checks for existing reports with one set-based query and is saved in its own transaction.
+ * If a chunk fails to save, its rows are retried one by one so a single bad row is reported
+ * instead of failing its neighbours. Rows are never held beyond their chunk; only the per-row
+ * outcome and the (employee, date) keys already seen in the file are kept for the whole import.
+ */
+@Service
+public class DailyReportImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyReportImportService.class);
+
+    /** CSV has one line per CBS team activity; consecutive lines with the same employee and date form one report. */
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DailyReportRepository dailyReportRepository;
+
+    @Autowired
+    private DailyReportService dailyReportService;
+
+    @Autowired
+    private DailyReportStatsService statsService;
+
+    @Autowired
+    private PdfCache pdfCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public DailyReportImportResult importJson(InputStream in) throws IOException {
+        ImportRun run = new ImportRun();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Import body must be a JSON array of reports");
+            }
+            int rowNumber = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rowNumber++;
+                JsonNode node = parser.readValueAsTree();
+                DailyReportImportRow row;
+                try {
+                    row = objectMapper.treeToValue(node, DailyReportImportRow.class);
+                } catch (JsonProcessingException e) {
+                    run.reject(rowNumber, node.path("employeeUsername").asText(null), null, e.getOriginalMessage());
+                    continue;
+                }
+                run.add(rowNumber, row.getEmployeeUsername(), row.getStatus(), row);
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("Expected a report object at array element " + (rowNumber + 1));
+            }
+        }
+        return run.finish();
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public DailyReportImportResult importCsv(InputStream in) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvGroup group = null;
+        try (MappingIterator<Map<String, String>> lines =
+                 CSV_MAPPER.readerForMapOf(String.class).with(CSV_SCHEMA).readValues(in)) {
+            int lineNumber = 0;
+            while (lines.hasNextValue()) {
+                Map<String, String> line = lines.nextValue();
+                lineNumber++;
+                String username = blankToNull(line.get("employee_username"));
+                String date = blankToNull(line.get("business_date"));
+                if (group == null || !Objects.equals(group.username, username) || !Objects.equals(group.date, date)) {
+                    if (group != null) {
+                        group.submit(run);
+                    }
+                    group = new CsvGroup(lineNumber, username, date, line);
+                }
+                group.addActivity(line);
+            }
+        }
+        if (group != null) {
+            group.submit(run);
+        }
+        return run.finish();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /** Consecutive CSV lines for one report. Report-level columns are taken from the first line. */
+    private static class CsvGroup {
+        private final int firstLine;
+        private final String username;
+        private final String date;
+        private final String status;
+        private final CreateDailyReportRequest request = new CreateDailyReportRequest();
+        private String error;
+
+        CsvGroup(int firstLine, String username, String date, Map<String, String> line) {
+            this.firstLine = firstLine;
+            this.username = username;
+            this.date = date;
+            this.status = blankToNull(line.get("status"));
+            try {
+                request.setBusinessDate(date != null ? LocalDate.parse(date) : null);
+                String endTime = blankToNull(line.get("cbs_end_time"));
+                String startTime = blankToNull(line.get("cbs_start_time_next_day"));
+                request.setCbsEndTime(endTime != null ? LocalTime.parse(endTime) : null);
+                request.setCbsStartTimeNextDay(startTime != null ? LocalTime.parse(startTime) : null);
+            } catch (RuntimeException e) {
+                error = "Line " + firstLine + ": " + e.getMessage();
+            }
+            request.setReportingLine(blankToNull(line.get("reporting_line")));
+        }
+
+        void addActivity(Map<String, String> line) {
+            CbsTeamActivityDto activity = new CbsTeamActivityDto();
+            activity.setActivityType(blankToNull(line.get("activity_type")));
+            activity.setDescription(blankToNull(line.get("description")));
+            activity.setBranch(blankToNull(line.get("branch")));
+            activity.setAccountNumber(blankToNull(line.get("account_number")));
+            activity.setActionTaken(blankToNull(line.get("action_taken")));
+            activity.setFinalStatus(blankToNull(line.get("final_status")));
+            boolean empty = activity.getActivityType() == null && activity.getDescription() == null
+                && activity.getBranch() == null && activity.getAccountNumber() == null
+                && activity.getActionTaken() == null && activity.getFinalStatus() == null;
+            if (!empty) {
+                request.getCbsTeamActivities().add(activity);
+            }
+        }
+
+        void submit(ImportRun run) {
+            if (error != null) {
+                run.reject(firstLine, username, request.getBusinessDate(), error);
+            } else {
+                run.add(firstLine, username, status, request);
+            }
+        }
+    }
+
+    private record PendingRow(int row, String username, LocalDate businessDate,
+                              DailyReport.ReportStatus status, CreateDailyReportRequest request) {
+    }
+
+    /** State of one import: the current chunk, the outcome of every row and the keys seen so far. */
+    private class ImportRun {
+        private final DailyReportImportResult result = new DailyReportImportResult();
+        private final Set<String> seenKeys = new HashSet<>();
+        private final Map<String, Long> userIds = new HashMap<>();
+        private final List<PendingRow> chunk = new ArrayList<>();
+
+        void add(int row, String username, String status, CreateDailyReportRequest request) {
+            LocalDate businessDate = request.getBusinessDate();
+            if (username == null || username.isBlank()) {
+                reject(row, username, businessDate, "Employee username is required");
+                return;
+            }
+            if (businessDate == null) {
+                reject(row, username, null, "Business date is required");
+                return;
+            }
+            DailyReport.ReportStatus reportStatus;
+            try {
+                reportStatus = status == null || status.isBlank()
+                    ? DailyReport.ReportStatus.DRAFT
+                    : DailyReport.ReportStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                reject(row, username, businessDate, "Unknown status: " + status);
+                return;
+            }
+            if (!seenKeys.add(username + '|' + businessDate)) {
+                record(row, username, businessDate, DailyReportImportResult.Outcome.DUPLICATE, null,
+                    "Repeated earlier in the import file");
+                return;
+            }
+            chunk.add(new PendingRow(row, username, businessDate, reportStatus, request));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String username, LocalDate businessDate, String message) {
+            record(row, username, businessDate, DailyReportImportResult.Outcome.ERROR, null, message);
+        }
+
+        DailyReportImportResult finish() {
+            flush();
+            result.getRows().sort(Comparator.comparingInt(DailyReportImportResult.Row::getRow));
+            result.setTotal(result.getRows().size());
+            logger.info("Daily report import finished: {} rows, {} created, {} duplicates, {} errors",
+                result.getTotal(), result.getCreated(), result.getDuplicates(), result.getErrors());
+            return result;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            resolveUsers();
+
+            Map<Long, List<PendingRow>> byEmployee = new HashMap<>();
+            Set<LocalDate> dates = new HashSet<>();
+            List<PendingRow> toSave = new ArrayList<>();
+            for (PendingRow row : chunk) {
+                Long employeeId = userIds.get(row.username());
+                if (employeeId == null) {
+                    reject(row.row(), row.username(), row.businessDate(), "Employee not found");
+                    continue;
+                }
+                byEmployee.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(row);
+                dates.add(row.businessDate());
+            }
+            chunk.clear();
+            if (byEmployee.isEmpty()) {
+                return;
+            }
+
+            Set<String> existing = new HashSet<>();
+            dailyReportRepository.findKeysByEmployeeIdInAndBusinessDateIn(byEmployee.keySet(), dates)
+                .forEach(key -> existing.add(key.getEmployeeId() + "|" + key.getBusinessDate()));
+            byEmployee.forEach((employeeId, rows) -> rows.forEach(row -> {
+                if (existing.contains(employeeId + "|" + row.businessDate())) {
+                    record(row.row(), row.username(), row.businessDate(), DailyReportImportResult.Outcome.DUPLICATE,
+                        null, "Report already exists for this business date");
+                } else {
+                    toSave.add(row);
+                }
+            }));
+            toSave.sort(Comparator.comparingInt(PendingRow::row));
+
+            try {
+                save(toSave);
+            } catch (RuntimeException e) {
+                logger.warn("Import chunk of {} reports failed, retrying row by row: {}", toSave.size(), e.getMessage());
+                for (PendingRow row : toSave) {
+                    try {
+                        save(List.of(row));
+                    } catch (RuntimeException rowFailure) {
+                        reject(row.row(), row.username(), row.businessDate(), rowFailure.getMessage());
+                    }
+                }
+            }
+        }
+
+        /** Looks up only the usernames this chunk needs that earlier chunks did not already resolve. */
+        private void resolveUsers() {
+            Set<String> missing = new TreeSet<>();
+            for (PendingRow row : chunk) {
+                if (!userIds.containsKey(row.username())) {
+                    missing.add(row.username());
+                }
+            }
+            if (!missing.isEmpty()) {
+                userRepository.findKeysByUsernameIn(missing)
+                    .forEach(user -> userIds.put(user.getUsername(), user.getId()));
+            }
+        }
+
+        /**
+         * Saves the rows in one transaction. All reports are persisted before any stats are recorded,
+         * so their sections go out as JDBC batches rather than being flushed report by report.
+         */
+        private void save(List<PendingRow> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<Long> savedIds = new TransactionTemplate(transactionManager).execute(status -> {
+                List<DailyReport> reports = new ArrayList<>(rows.size());
+                for (PendingRow row : rows) {
+                    DailyReport report = dailyReportService.buildReport(
+                        userRepository.getReferenceById(userIds.get(row.username())), row.businessDate(), row.request());
+                    report.setStatus(row.status());
+                    reports.add(report);
+                }
+                dailyReportRepository.saveAll(reports);
+                dailyReportRepository.flush();
+                reports.forEach(statsService::recordCreated);
+                List<Long> ids = reports.stream().map(DailyReport::getId).toList();
+                entityManager.flush();
+                // The chunk's reports are no longer needed; keep the persistence context from growing
+                // across chunks when it is shared with the request (open-in-view)
+                entityManager.clear();
+                return ids;
+            });
+
+            Set<LocalDate> touched = new HashSet<>();
+            for (int i = 0; i < rows.size(); i++) {
+                PendingRow row = rows.get(i);
+                record(row.row(), row.username(), row.businessDate(), DailyReportImportResult.Outcome.CREATED,
+                    savedIds.get(i), null);
+                touched.add(row.businessDate());
+            }
+            touched.forEach(date -> pdfCache.invalidate(DailyReportService.combinedCacheGroup(date)));
+        }
+
+        private void record(int row, String username, LocalDate businessDate,
+                            DailyReportImportResult.Outcome outcome, Long reportId, String message) {
+            result.getRows().add(new DailyReportImportResult.Row(row, username, businessDate, outcome, reportId, message));
+            switch (outcome) {
+                case CREATED -> result.setCreated(result.getCreated() + 1);
+                case DUPLICATE -> result.setDuplicates(result.getDuplicates() + 1);
+                case ERROR -> result.setErrors(result.getErrors() + 1);
+            }
+        }
+    }
+}
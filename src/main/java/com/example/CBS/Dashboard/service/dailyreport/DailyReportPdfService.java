@@ -9,41 +9,177 @@ import com.example.CBS.Dashboard.entity.PendingActivity;
 import com.example.CBS.Dashboard.entity.Meeting;
 import com.example.CBS.Dashboard.entity.AfpayCardRequest;
 import com.example.CBS.Dashboard.entity.QrmisIssue;
-import com.itextpdf.io.image.ImageDataFactory;
+import com.example.CBS.Dashboard.service.pdf.PdfAssetRegistry;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.BorderRadius;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class DailyReportPdfService {
 
+    /** Part of every cached PDF key; bump whenever the layout changes so cached PDFs are re-rendered. */
+    public static final int RENDERER_VERSION = 1;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mm a").withLocale(java.util.Locale.ENGLISH);
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int TABLE_FLUSH_ROWS = 50;
+
+    // Palette
+    private static final DeviceRgb BRAND_RED = new DeviceRgb(211, 78, 78); // #D34E4E
+    private static final DeviceRgb BRAND_RED_LIGHT = new DeviceRgb(254, 242, 242); // Light red background
+    private static final DeviceRgb BROWN = new DeviceRgb(139, 69, 19);
+    private static final DeviceRgb DARK_BROWN = new DeviceRgb(101, 67, 33);
+    private static final DeviceRgb LIGHT_BROWN = new DeviceRgb(245, 222, 179);
+    private static final DeviceRgb MOCCASIN = new DeviceRgb(255, 228, 181);
+    private static final DeviceRgb CORNSILK = new DeviceRgb(255, 248, 220);
+    private static final DeviceRgb FLORAL_WHITE = new DeviceRgb(255, 250, 240);
+    private static final DeviceRgb BURLYWOOD = new DeviceRgb(222, 184, 135);
+    private static final DeviceRgb NAVY = new DeviceRgb(0, 51, 102);
+    private static final DeviceRgb WHITE = new DeviceRgb(255, 255, 255);
+    private static final DeviceRgb GRAY_BORDER = new DeviceRgb(229, 231, 235);
+    private static final DeviceRgb MUTED_TEXT = new DeviceRgb(156, 163, 175);
+    private static final DeviceRgb BODY_TEXT = new DeviceRgb(55, 65, 81);
+    private static final DeviceRgb BRANCH_BADGE_BORDER = new DeviceRgb(254, 202, 202);
+    private static final DeviceRgb ACCOUNT_BLUE = new DeviceRgb(3, 105, 161);
+    private static final DeviceRgb ACCOUNT_BADGE_BACKGROUND = new DeviceRgb(240, 249, 255);
+    private static final DeviceRgb ACCOUNT_BADGE_BORDER = new DeviceRgb(186, 230, 253);
+
+    // Shared styles for elements created per row/cell. Styles are only read during layout,
+    // so the same instances are safe to use from concurrent renders.
+    private static final Style INFO_LABEL_TEXT = new Style().setBold().setFontSize(10);
+    private static final Style INFO_LABEL_CELL = new Style()
+        .setPadding(8)
+        .setBackgroundColor(BRAND_RED)
+        .setFontColor(ColorConstants.WHITE)
+        .setBorder(new SolidBorder(BRAND_RED, 0.5f));
+    private static final Style INFO_VALUE_TEXT = new Style().setFontSize(10);
+    private static final Style INFO_VALUE_CELL = new Style()
+        .setPadding(8)
+        .setBackgroundColor(ColorConstants.WHITE)
+        .setBorder(new SolidBorder(BRAND_RED, 0.5f));
+
+    private static final Style CBS_HEADER_TEXT = new Style().setBold().setFontSize(11);
+    private static final Style CBS_HEADER_CELL = new Style()
+        .setBackgroundColor(BRAND_RED)
+        .setFontColor(ColorConstants.WHITE)
+        .setPadding(10)
+        .setTextAlignment(TextAlignment.CENTER)
+        .setBorder(new SolidBorder(BRAND_RED, 0.5f));
+    private static final Style CBS_CELL_TEXT = new Style().setFontSize(10);
+    private static final Style CBS_CELL = new Style()
+        .setPadding(8)
+        .setBackgroundColor(ColorConstants.WHITE)
+        .setBorder(new SolidBorder(GRAY_BORDER, 0.5f))
+        .setTextAlignment(TextAlignment.LEFT);
+    private static final Style CBS_EMPLOYEE_TEXT = new Style().setBold().setFontSize(10).setFontColor(BRAND_RED);
+    private static final Style CBS_EMPLOYEE_CELL = new Style()
+        .setPadding(8)
+        .setBackgroundColor(BRAND_RED_LIGHT)
+        .setBorder(new SolidBorder(GRAY_BORDER, 0.5f))
+        .setTextAlignment(TextAlignment.LEFT);
+
+    private static final Style SECTION_HEADER_TEXT = new Style().setBold().setFontSize(10);
+    private static final Style SECTION_HEADER_CELL = new Style()
+        .setBackgroundColor(BROWN)
+        .setFontColor(ColorConstants.WHITE)
+        .setPadding(8)
+        .setTextAlignment(TextAlignment.CENTER)
+        .setBorder(new SolidBorder(DARK_BROWN, 0.5f));
+    private static final Style SECTION_CELL_TEXT = new Style().setFontSize(9);
+    private static final Style SECTION_CELL = new Style()
+        .setPadding(6)
+        .setBackgroundColor(CORNSILK)
+        .setBorder(new SolidBorder(BURLYWOOD, 0.5f));
+
+    private static final Style BROWN_HEADER_TEXT = new Style().setBold().setFontSize(11);
+    private static final Style BROWN_HEADER_CELL = new Style()
+        .setBackgroundColor(DARK_BROWN)
+        .setFontColor(ColorConstants.WHITE)
+        .setPadding(10)
+        .setTextAlignment(TextAlignment.CENTER)
+        .setBorder(new SolidBorder(BROWN, 1));
+    private static final Style BROWN_CELL_TEXT = new Style().setFontSize(10);
+    private static final Style BROWN_CELL = new Style()
+        .setPadding(8)
+        .setBackgroundColor(FLORAL_WHITE)
+        .setBorder(new SolidBorder(BURLYWOOD, 0.5f));
+
+    private static final Style ACTIVITY_GROUP_TITLE = new Style()
+        .setBold()
+        .setFontSize(13)
+        .setMarginBottom(8)
+        .setMarginLeft(0)
+        .setFontColor(BRAND_RED)
+        .setPaddingLeft(10)
+        .setPaddingTop(8)
+        .setPaddingBottom(8)
+        .setBackgroundColor(WHITE)
+        .setBorder(new SolidBorder(BRAND_RED, 1.5f));
+    private static final Style ACTIVITY_DESCRIPTION = new Style()
+        .setFontSize(11)
+        .setMarginBottom(4)
+        .setMarginLeft(15)
+        .setFontColor(BODY_TEXT)
+        .setTextAlignment(TextAlignment.LEFT);
+    private static final Style BRANCH_BADGE = new Style()
+        .setFontSize(10)
+        .setMarginLeft(15)
+        .setFontColor(BRAND_RED)
+        .setBackgroundColor(BRAND_RED_LIGHT)
+        .setPaddingLeft(8)
+        .setPaddingRight(8)
+        .setPaddingTop(4)
+        .setPaddingBottom(4)
+        .setBorder(new SolidBorder(BRANCH_BADGE_BORDER, 1f))
+        .setBorderRadius(new BorderRadius(6f));
+    private static final Style ACCOUNT_BADGE = new Style()
+        .setFontSize(10)
+        .setMarginLeft(15)
+        .setFontColor(ACCOUNT_BLUE)
+        .setBackgroundColor(ACCOUNT_BADGE_BACKGROUND)
+        .setPaddingLeft(8)
+        .setPaddingRight(8)
+        .setPaddingTop(4)
+        .setPaddingBottom(4)
+        .setBorder(new SolidBorder(ACCOUNT_BADGE_BORDER, 1f))
+        .setBorderRadius(new BorderRadius(6f));
+    private static final Style GROUP_SEPARATOR = new Style()
+        .setMarginBottom(8)
+        .setBorderBottom(new SolidBorder(GRAY_BORDER, 0.5f))
+        .setPaddingBottom(8);
+
+    private final PdfAssetRegistry assets;
 
     public byte[] generateEmployeeReportPdf(List<DailyReport> reports) throws IOException {
         if (reports == null || reports.isEmpty()) {
@@ -51,27 +187,40 @@ public class DailyReportPdfService {
         }
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
+        writeEmployeeReportPdf(reports.iterator(), baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Writes the employee report straight to {@code out}. Reports are pulled one at a time, so the
+     * iterator may be backed by a database cursor; finished pages are flushed as layout moves on.
+     * The stream is left open for the caller.
+     */
+    public void writeEmployeeReportPdf(Iterator<DailyReport> reports, OutputStream out) throws IOException {
+        if (reports == null || !reports.hasNext()) {
+            throw new IllegalArgumentException("No reports provided");
+        }
+
+        PdfWriter writer = new PdfWriter(StreamUtils.nonClosing(out));
         PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
+        Document document = new Document(pdf, PageSize.A4, true);
 
         // Set page margins
         document.setMargins(50, 50, 50, 50);
 
+        DailyReport report = reports.next();
+
         // Header
-        addHeader(document, reports.get(0));
-
-        // Report sections
-        for (DailyReport report : reports) {
-            addReportContent(document, report);
-            // Add page break between reports if multiple
-            if (reports.indexOf(report) < reports.size() - 1) {
-                document.add(new Paragraph("\n"));
-            }
+        addHeader(document, report);
+
+        // Report sections, with a spacer between reports if multiple
+        addReportContent(document, report);
+        while (reports.hasNext()) {
+            document.add(new Paragraph("\n"));
+            addReportContent(document, reports.next());
         }
 
         document.close();
-        return baos.toByteArray();
     }
 
     public byte[] generateCombinedReportPdf(List<DailyReport> reports, java.time.LocalTime cbsEndTime, java.time.LocalTime cbsStartTimeNextDay) throws IOException {
@@ -80,23 +229,34 @@ public class DailyReportPdfService {
         }
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
+        writeCombinedReportPdf(reports.iterator(), cbsEndTime, cbsStartTimeNextDay, baos);
+        return baos.toByteArray();
+    }
+
+    /** Streaming counterpart of {@link #generateCombinedReportPdf}; see {@link #writeEmployeeReportPdf}. */
+    public void writeCombinedReportPdf(Iterator<DailyReport> reports, java.time.LocalTime cbsEndTime,
+                                       java.time.LocalTime cbsStartTimeNextDay, OutputStream out) throws IOException {
+        if (reports == null || !reports.hasNext()) {
+            throw new IllegalArgumentException("No reports provided");
+        }
+
+        PdfWriter writer = new PdfWriter(StreamUtils.nonClosing(out));
         PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
+        Document document = new Document(pdf, PageSize.A4, true);
 
         document.setMargins(40, 40, 40, 40);
 
         // All reports should be for the same date (enforced by service)
-        java.time.LocalDate businessDate = reports.get(0).getBusinessDate();
+        DailyReport firstReport = reports.next();
+        java.time.LocalDate businessDate = firstReport.getBusinessDate();
         
         // Add main header once with CBS time tracking
-        addCombinedHeader(document, reports.get(0), businessDate, cbsEndTime, cbsStartTimeNextDay);
+        addCombinedHeader(document, firstReport, businessDate, cbsEndTime, cbsStartTimeNextDay);
         
         // Merge all activities from all employees for this single date
-        addCombinedReportContent(document, reports);
+        addCombinedReportContent(document, firstReport, reports);
 
         document.close();
-        return baos.toByteArray();
     }
     
     private void addCombinedHeader(Document document, DailyReport sampleReport, java.time.LocalDate businessDate, 
@@ -106,37 +266,13 @@ public class DailyReportPdfService {
         headerTable.setMarginBottom(20);
         
         // Logo cell (centered)
-        try {
-            Resource logoResource = null;
-            String[] logoPaths = {
-                "static/DAB.png",
-                "DAB.png",
-                "classpath:static/DAB.png",
-                "classpath:DAB.png"
-            };
-            
-            for (String path : logoPaths) {
-                try {
-                    logoResource = new ClassPathResource(path);
-                    if (logoResource.exists() && logoResource.isReadable()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
-            
-            if (logoResource != null && logoResource.exists()) {
-                byte[] logoBytes = logoResource.getInputStream().readAllBytes();
-                Image logo = new Image(ImageDataFactory.create(logoBytes));
-                logo.setWidth(80);
-                logo.setHorizontalAlignment(HorizontalAlignment.CENTER);
-                logo.setMarginBottom(10);
-                Cell logoCell = new Cell().add(logo).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
-                headerTable.addCell(logoCell);
-            }
-        } catch (Exception e) {
-            System.out.println("Logo not found, continuing without logo: " + e.getMessage());
+        Image logo = assets.newLogo();
+        if (logo != null) {
+            logo.setWidth(80);
+            logo.setHorizontalAlignment(HorizontalAlignment.CENTER);
+            logo.setMarginBottom(10);
+            Cell logoCell = new Cell().add(logo).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
+            headerTable.addCell(logoCell);
         }
         
         // Main title
@@ -145,7 +281,7 @@ public class DailyReportPdfService {
             .setFontSize(22)
             .setTextAlignment(TextAlignment.CENTER)
             .setMarginBottom(5)
-            .setFontColor(new DeviceRgb(211, 78, 78)); // #D34E4E
+            .setFontColor(BRAND_RED); // #D34E4E
         Cell titleCell = new Cell().add(mainTitle).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
         headerTable.addCell(titleCell);
         
@@ -155,7 +291,7 @@ public class DailyReportPdfService {
             .setFontSize(18)
             .setTextAlignment(TextAlignment.CENTER)
             .setMarginBottom(8)
-            .setFontColor(new DeviceRgb(211, 78, 78)); // #D34E4E
+            .setFontColor(BRAND_RED); // #D34E4E
         Cell reportTitleCell = new Cell().add(reportTitle).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
         headerTable.addCell(reportTitleCell);
         
@@ -167,14 +303,14 @@ public class DailyReportPdfService {
             .setTextAlignment(TextAlignment.CENTER)
             .setMarginBottom(15)
             .setFontColor(ColorConstants.WHITE)
-            .setBackgroundColor(new DeviceRgb(211, 78, 78)) // #D34E4E background
+            .setBackgroundColor(BRAND_RED) // #D34E4E background
             .setPadding(8);
         document.add(businessDay);
 
         // Report Info Table with modern #D34E4E styling
         Table infoTable = new Table(2).useAllAvailableWidth();
         infoTable.setMarginBottom(15);
-        infoTable.setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 2));
+        infoTable.setBorder(new SolidBorder(BRAND_RED, 2));
 
         // Always show "Prepared By: Aziz Rahman Zazai"
         addStyledInfoRow(infoTable, "Prepared By:", "Aziz Rahman Zazai");
@@ -210,28 +346,25 @@ public class DailyReportPdfService {
     
     private void addStyledInfoRow(Table table, String label, String value) {
         Cell labelCell = new Cell()
-            .add(new Paragraph(label).setBold().setFontSize(10))
-            .setPadding(8)
-            .setBackgroundColor(new DeviceRgb(211, 78, 78)) // #D34E4E
-            .setFontColor(ColorConstants.WHITE)
-            .setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 0.5f));
+            .add(new Paragraph(label).addStyle(INFO_LABEL_TEXT))
+            .addStyle(INFO_LABEL_CELL);
         Cell valueCell = new Cell()
-            .add(new Paragraph(value != null ? value : "").setFontSize(10))
-            .setPadding(8)
-            .setBackgroundColor(ColorConstants.WHITE)
-            .setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 0.5f));
+            .add(new Paragraph(value != null ? value : "").addStyle(INFO_VALUE_TEXT))
+            .addStyle(INFO_VALUE_CELL);
         table.addCell(labelCell);
         table.addCell(valueCell);
     }
     
-    private void addCombinedReportContent(Document document, List<DailyReport> reports) {
+    private void addCombinedReportContent(Document document, DailyReport firstReport, Iterator<DailyReport> remainingReports) {
         // Collect only CBS Team Activities from all employees
         // Exclude: "Allowing without check number", Meetings, QRMIS, Tickets, and other unrelated activities
         // Use a Set to prevent duplicates based on activity description and employee
         Set<String> seenActivities = new HashSet<>();
-        List<ActivityWithEmployee> allActivities = new ArrayList<>();
+        Table activitiesTable = null;
+        int rowsSinceFlush = 0;
         
-        for (DailyReport report : reports) {
+        for (DailyReport report = firstReport; report != null;
+             report = remainingReports.hasNext() ? remainingReports.next() : null) {
             // Get employee full name, fallback to username
             String employeeName = report.getEmployee().getFullName() != null && !report.getEmployee().getFullName().isEmpty()
                 ? report.getEmployee().getFullName()
@@ -255,22 +388,30 @@ public class DailyReportPdfService {
                                       employeeName;
                     
                     // Only add if not already seen
-                    if (!seenActivities.contains(uniqueKey)) {
-                        seenActivities.add(uniqueKey);
-                        allActivities.add(new ActivityWithEmployee(activity, employeeName));
+                    if (seenActivities.add(uniqueKey)) {
+                        if (activitiesTable == null) {
+                            activitiesTable = startMergedCbsActivitiesSection(document);
+                        }
+                        addMergedCbsActivityRow(activitiesTable, activity, employeeName);
+                        // Hand finished rows to the renderer so the table is not held in memory
+                        if (++rowsSinceFlush == TABLE_FLUSH_ROWS) {
+                            activitiesTable.flush();
+                            rowsSinceFlush = 0;
+                        }
                     }
                 }
             }
         }
         
-        // Add merged CBS Team Activities section with professional design
-        if (!allActivities.isEmpty()) {
-            addMergedCbsActivitiesSection(document, allActivities);
+        // Close merged CBS Team Activities section with professional design
+        if (activitiesTable != null) {
+            activitiesTable.complete();
+            document.add(new Paragraph("\n"));
         } else {
             // No activities message
             Paragraph noActivities = new Paragraph("No CBS Team Activities recorded for this report.")
                 .setFontSize(11)
-                .setFontColor(new DeviceRgb(156, 163, 175))
+                .setFontColor(MUTED_TEXT)
                 .setItalic()
                 .setTextAlignment(TextAlignment.CENTER)
                 .setMarginTop(20);
@@ -284,16 +425,16 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(12)
-            .setFontColor(new DeviceRgb(139, 69, 19)) // Brown
-            .setBackgroundColor(new DeviceRgb(245, 222, 179)) // Light brown background
+            .setFontColor(BROWN) // Brown
+            .setBackgroundColor(LIGHT_BROWN) // Light brown background
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
         
         // Create a professional table
         Table withoutCheckTable = new Table(5).useAllAvailableWidth();
         withoutCheckTable.setMarginBottom(15);
-        withoutCheckTable.setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 2));
+        withoutCheckTable.setBorder(new SolidBorder(BROWN, 2));
         
         // Table headers with brown styling
         addStyledTableHeaderBrown(withoutCheckTable, "No.");
@@ -316,24 +457,25 @@ public class DailyReportPdfService {
         document.add(new Paragraph("\n"));
     }
     
-    private void addMergedCbsActivitiesSection(Document document, List<ActivityWithEmployee> activities) {
+    private Table startMergedCbsActivitiesSection(Document document) {
         // Section Title - Professional CBS Team Activity Design
         Paragraph sectionTitle = new Paragraph("CBS Team Activities")
             .setBold()
             .setFontSize(16)
             .setMarginTop(20)
             .setMarginBottom(15)
-            .setFontColor(new DeviceRgb(211, 78, 78)) // #D34E4E
+            .setFontColor(BRAND_RED) // #D34E4E
             .setTextAlignment(TextAlignment.CENTER)
-            .setBackgroundColor(new DeviceRgb(254, 242, 242)) // Light red background
+            .setBackgroundColor(BRAND_RED_LIGHT) // Light red background
             .setPadding(12)
-            .setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 2));
+            .setBorder(new SolidBorder(BRAND_RED, 2));
         document.add(sectionTitle);
         
-        // Create professional table with 4 columns only (removed Account Number)
-        Table activitiesTable = new Table(4).useAllAvailableWidth();
+        // Create professional table with 4 columns only (removed Account Number).
+        // Large-table mode: rows are rendered on flush() and the table is finished with complete().
+        Table activitiesTable = new Table(4, true).useAllAvailableWidth();
         activitiesTable.setMarginBottom(20);
-        activitiesTable.setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 2));
+        activitiesTable.setBorder(new SolidBorder(BRAND_RED, 2));
         
         // Table headers with modern styling - only 4 columns
         addStyledTableHeaderCbs(activitiesTable, "Activity Name");
@@ -341,60 +483,45 @@ public class DailyReportPdfService {
         addStyledTableHeaderCbs(activitiesTable, "Branch Name");
         addStyledTableHeaderCbs(activitiesTable, "Employee Name");
         
-        // Add activities to table
-        for (ActivityWithEmployee item : activities) {
-            String activityName = item.activity.getActivityType() != null && !item.activity.getActivityType().isEmpty()
-                ? item.activity.getActivityType()
-                : "CBS Team Activity";
-            String description = item.activity.getDescription() != null ? item.activity.getDescription() : "";
-            String branch = item.activity.getBranch() != null && !item.activity.getBranch().isEmpty()
-                ? item.activity.getBranch()
-                : "-";
-            String employeeName = item.employeeName != null ? item.employeeName : "";
-            
-            addStyledTableCellCbs(activitiesTable, activityName);
-            addStyledTableCellCbs(activitiesTable, description);
-            addStyledTableCellCbs(activitiesTable, branch);
-            // Employee Name with bold and highlighted styling
-            addStyledTableCellCbsBold(activitiesTable, employeeName);
-        }
-        
         document.add(activitiesTable);
-        document.add(new Paragraph("\n"));
+        return activitiesTable;
+    }
+    
+    private void addMergedCbsActivityRow(Table activitiesTable, CbsTeamActivity activity, String employeeName) {
+        String activityName = activity.getActivityType() != null && !activity.getActivityType().isEmpty()
+            ? activity.getActivityType()
+            : "CBS Team Activity";
+        String description = activity.getDescription() != null ? activity.getDescription() : "";
+        String branch = activity.getBranch() != null && !activity.getBranch().isEmpty()
+            ? activity.getBranch()
+            : "-";
+        
+        addStyledTableCellCbs(activitiesTable, activityName);
+        addStyledTableCellCbs(activitiesTable, description);
+        addStyledTableCellCbs(activitiesTable, branch);
+        // Employee Name with bold and highlighted styling
+        addStyledTableCellCbsBold(activitiesTable, employeeName != null ? employeeName : "");
     }
     
     private void addStyledTableHeaderCbs(Table table, String text) {
         Cell cell = new Cell()
-            .add(new Paragraph(text).setBold().setFontSize(11))
-            .setBackgroundColor(new DeviceRgb(211, 78, 78)) // #D34E4E
-            .setFontColor(ColorConstants.WHITE)
-            .setPadding(10)
-            .setTextAlignment(TextAlignment.CENTER)
-            .setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 0.5f));
+            .add(new Paragraph(text).addStyle(CBS_HEADER_TEXT))
+            .addStyle(CBS_HEADER_CELL);
         table.addHeaderCell(cell);
     }
     
     private void addStyledTableCellCbs(Table table, String text) {
         Cell cell = new Cell()
-            .add(new Paragraph(text != null && !text.isEmpty() ? text : "-").setFontSize(10))
-            .setPadding(8)
-            .setBackgroundColor(ColorConstants.WHITE)
-            .setBorder(new SolidBorder(new DeviceRgb(229, 231, 235), 0.5f))
-            .setTextAlignment(TextAlignment.LEFT);
+            .add(new Paragraph(text != null && !text.isEmpty() ? text : "-").addStyle(CBS_CELL_TEXT))
+            .addStyle(CBS_CELL);
         table.addCell(cell);
     }
     
     private void addStyledTableCellCbsBold(Table table, String text) {
         // Employee Name with bold and highlighted styling
         Cell cell = new Cell()
-            .add(new Paragraph(text != null && !text.isEmpty() ? text : "-")
-                .setBold()
-                .setFontSize(10)
-                .setFontColor(new DeviceRgb(211, 78, 78))) // #D34E4E color for emphasis
-            .setPadding(8)
-            .setBackgroundColor(new DeviceRgb(254, 242, 242)) // Light red background for highlight
-            .setBorder(new SolidBorder(new DeviceRgb(229, 231, 235), 0.5f))
-            .setTextAlignment(TextAlignment.LEFT);
+            .add(new Paragraph(text != null && !text.isEmpty() ? text : "-").addStyle(CBS_EMPLOYEE_TEXT))
+            .addStyle(CBS_EMPLOYEE_CELL);
         table.addCell(cell);
     }
     
@@ -404,15 +531,15 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
         Table emailTable = new Table(6).useAllAvailableWidth();
         emailTable.setMarginBottom(10);
-        emailTable.setBorder(new SolidBorder(new DeviceRgb(0, 51, 102), 1));
+        emailTable.setBorder(new SolidBorder(NAVY, 1));
 
         addStyledTableHeader(emailTable, "Internal/External");
         addStyledTableHeader(emailTable, "Sender");
@@ -440,15 +567,15 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
             Table chatTable = new Table(4).useAllAvailableWidth();
             chatTable.setMarginBottom(10);
-            chatTable.setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 2));
+            chatTable.setBorder(new SolidBorder(BROWN, 2));
 
         addStyledTableHeader(chatTable, "Platform");
         addStyledTableHeader(chatTable, "Summary");
@@ -472,15 +599,15 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
             Table pendingTable = new Table(4).useAllAvailableWidth();
             pendingTable.setMarginBottom(10);
-            pendingTable.setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 2));
+            pendingTable.setBorder(new SolidBorder(BROWN, 2));
 
         addStyledTableHeader(pendingTable, "Title");
         addStyledTableHeader(pendingTable, "Description");
@@ -504,10 +631,10 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
         for (ProblemEscalation escalation : escalations) {
@@ -535,15 +662,15 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
             Table meetingTable = new Table(6).useAllAvailableWidth();
             meetingTable.setMarginBottom(10);
-            meetingTable.setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 2));
+            meetingTable.setBorder(new SolidBorder(BROWN, 2));
 
         addStyledTableHeader(meetingTable, "Type");
         addStyledTableHeader(meetingTable, "Topic");
@@ -571,15 +698,15 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
             Table afpayTable = new Table(6).useAllAvailableWidth();
             afpayTable.setMarginBottom(10);
-            afpayTable.setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 2));
+            afpayTable.setBorder(new SolidBorder(BROWN, 2));
 
         addStyledTableHeader(afpayTable, "Type");
         addStyledTableHeader(afpayTable, "Requested By");
@@ -607,15 +734,15 @@ public class DailyReportPdfService {
             .setFontSize(14)
             .setMarginTop(15)
             .setMarginBottom(10)
-            .setFontColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setBackgroundColor(new DeviceRgb(255, 228, 181)) // Moccasin
+            .setFontColor(DARK_BROWN) // Dark brown
+            .setBackgroundColor(MOCCASIN) // Moccasin
             .setPadding(10)
-            .setBorderBottom(new SolidBorder(new DeviceRgb(139, 69, 19), 3));
+            .setBorderBottom(new SolidBorder(BROWN, 3));
         document.add(sectionTitle);
 
             Table qrmisTable = new Table(7).useAllAvailableWidth();
             qrmisTable.setMarginBottom(10);
-            qrmisTable.setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 2));
+            qrmisTable.setBorder(new SolidBorder(BROWN, 2));
 
         addStyledTableHeader(qrmisTable, "Problem Type");
         addStyledTableHeader(qrmisTable, "Problem Description");
@@ -640,41 +767,29 @@ public class DailyReportPdfService {
     
     private void addStyledTableHeader(Table table, String text) {
         Cell cell = new Cell()
-            .add(new Paragraph(text).setBold().setFontSize(10))
-            .setBackgroundColor(new DeviceRgb(139, 69, 19)) // Brown
-            .setFontColor(ColorConstants.WHITE)
-            .setPadding(8)
-            .setTextAlignment(TextAlignment.CENTER)
-            .setBorder(new SolidBorder(new DeviceRgb(101, 67, 33), 0.5f));
+            .add(new Paragraph(text).addStyle(SECTION_HEADER_TEXT))
+            .addStyle(SECTION_HEADER_CELL);
         table.addHeaderCell(cell);
     }
     
     private void addStyledTableHeaderBrown(Table table, String text) {
         Cell cell = new Cell()
-            .add(new Paragraph(text).setBold().setFontSize(11))
-            .setBackgroundColor(new DeviceRgb(101, 67, 33)) // Dark brown
-            .setFontColor(ColorConstants.WHITE)
-            .setPadding(10)
-            .setTextAlignment(TextAlignment.CENTER)
-            .setBorder(new SolidBorder(new DeviceRgb(139, 69, 19), 1));
+            .add(new Paragraph(text).addStyle(BROWN_HEADER_TEXT))
+            .addStyle(BROWN_HEADER_CELL);
         table.addHeaderCell(cell);
     }
 
     private void addStyledTableCell(Table table, String text) {
         Cell cell = new Cell()
-            .add(new Paragraph(text != null ? text : "").setFontSize(9))
-            .setPadding(6)
-            .setBackgroundColor(new DeviceRgb(255, 248, 220)) // Cornsilk
-            .setBorder(new SolidBorder(new DeviceRgb(222, 184, 135), 0.5f));
+            .add(new Paragraph(text != null ? text : "").addStyle(SECTION_CELL_TEXT))
+            .addStyle(SECTION_CELL);
         table.addCell(cell);
     }
     
     private void addStyledTableCellBrown(Table table, String text) {
         Cell cell = new Cell()
-            .add(new Paragraph(text != null ? text : "").setFontSize(10))
-            .setPadding(8)
-            .setBackgroundColor(new DeviceRgb(255, 250, 240)) // Floral white
-            .setBorder(new SolidBorder(new DeviceRgb(222, 184, 135), 0.5f));
+            .add(new Paragraph(text != null ? text : "").addStyle(BROWN_CELL_TEXT))
+            .addStyle(BROWN_CELL);
         table.addCell(cell);
     }
     
@@ -694,39 +809,14 @@ public class DailyReportPdfService {
         Table headerTable = new Table(1).useAllAvailableWidth();
         headerTable.setMarginBottom(20);
         
-        // Logo cell (centered) - try multiple paths
-        try {
-            Resource logoResource = null;
-            String[] logoPaths = {
-                "static/DAB.png",
-                "DAB.png",
-                "classpath:static/DAB.png",
-                "classpath:DAB.png"
-            };
-            
-            for (String path : logoPaths) {
-                try {
-                    logoResource = new ClassPathResource(path);
-                    if (logoResource.exists() && logoResource.isReadable()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
-            
-            if (logoResource != null && logoResource.exists()) {
-                byte[] logoBytes = logoResource.getInputStream().readAllBytes();
-                Image logo = new Image(ImageDataFactory.create(logoBytes));
-                logo.setWidth(80);
-                logo.setHorizontalAlignment(HorizontalAlignment.CENTER);
-                logo.setMarginBottom(10);
-                Cell logoCell = new Cell().add(logo).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
-                headerTable.addCell(logoCell);
-            }
-        } catch (Exception e) {
-            // If logo not found, continue without it
-            System.out.println("Logo not found, continuing without logo: " + e.getMessage());
+        // Logo cell (centered)
+        Image logo = assets.newLogo();
+        if (logo != null) {
+            logo.setWidth(80);
+            logo.setHorizontalAlignment(HorizontalAlignment.CENTER);
+            logo.setMarginBottom(10);
+            Cell logoCell = new Cell().add(logo).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
+            headerTable.addCell(logoCell);
         }
         
         // Main title
@@ -735,7 +825,7 @@ public class DailyReportPdfService {
             .setFontSize(22)
             .setTextAlignment(TextAlignment.CENTER)
             .setMarginBottom(5)
-            .setFontColor(new DeviceRgb(211, 78, 78)); // #D34E4E
+            .setFontColor(BRAND_RED); // #D34E4E
         Cell titleCell = new Cell().add(mainTitle).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
         headerTable.addCell(titleCell);
         
@@ -745,7 +835,7 @@ public class DailyReportPdfService {
             .setFontSize(18)
             .setTextAlignment(TextAlignment.CENTER)
             .setMarginBottom(8)
-            .setFontColor(new DeviceRgb(211, 78, 78)); // #D34E4E
+            .setFontColor(BRAND_RED); // #D34E4E
         Cell reportTitleCell = new Cell().add(reportTitle).setBorder(Border.NO_BORDER).setTextAlignment(TextAlignment.CENTER);
         headerTable.addCell(reportTitleCell);
         
@@ -757,14 +847,14 @@ public class DailyReportPdfService {
             .setTextAlignment(TextAlignment.CENTER)
             .setMarginBottom(15)
             .setFontColor(ColorConstants.WHITE)
-            .setBackgroundColor(new DeviceRgb(211, 78, 78)) // #D34E4E background
+            .setBackgroundColor(BRAND_RED) // #D34E4E background
             .setPadding(8);
         document.add(businessDay);
 
         // Report Info Table with modern #D34E4E styling
         Table infoTable = new Table(2).useAllAvailableWidth();
         infoTable.setMarginBottom(15);
-        infoTable.setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 2));
+        infoTable.setBorder(new SolidBorder(BRAND_RED, 2));
 
         String preparedBy = report.getEmployee().getFullName() != null && !report.getEmployee().getFullName().isEmpty()
             ? report.getEmployee().getFullName()
@@ -913,7 +1003,7 @@ public class DailyReportPdfService {
                 .setFontSize(16)
                 .setMarginTop(20)
                 .setMarginBottom(15)
-                .setFontColor(new DeviceRgb(211, 78, 78)) // #D34E4E
+                .setFontColor(BRAND_RED) // #D34E4E
                 .setTextAlignment(TextAlignment.CENTER);
             document.add(activitiesTitle);
             
@@ -933,17 +1023,8 @@ public class DailyReportPdfService {
                 
                 // Activity Type Header (in bold) - only show once per type
                 Paragraph activityName = new Paragraph(activityType)
-                    .setBold()
-                    .setFontSize(13)
-                    .setMarginTop(groupIndex > 0 ? 16 : 12)
-                    .setMarginBottom(8)
-                    .setMarginLeft(0)
-                    .setFontColor(new DeviceRgb(211, 78, 78)) // #D34E4E
-                    .setPaddingLeft(10)
-                    .setPaddingTop(8)
-                    .setPaddingBottom(8)
-                    .setBackgroundColor(new DeviceRgb(255, 255, 255))
-                    .setBorder(new SolidBorder(new DeviceRgb(211, 78, 78), 1.5f));
+                    .addStyle(ACTIVITY_GROUP_TITLE)
+                    .setMarginTop(groupIndex > 0 ? 16 : 12);
                 document.add(activityName);
                 
                 // Display all descriptions for this activity type (numbered if multiple)
@@ -964,13 +1045,9 @@ public class DailyReportPdfService {
                     
                     String prefix = showNumbers ? descIndex + ". " : "";
                     Paragraph activityDesc = new Paragraph(prefix + descriptionText)
-                        .setFontSize(11)
-                        .setMarginTop(descIndex > 1 ? 6 : 4)
-                        .setMarginBottom(4)
-                        .setMarginLeft(15)
-                        .setFontColor(new DeviceRgb(55, 65, 81))
+                        .addStyle(ACTIVITY_DESCRIPTION)
                         .setMultipliedLeading(1.5f)
-                        .setTextAlignment(TextAlignment.LEFT);
+                        .setMarginTop(descIndex > 1 ? 6 : 4);
                     document.add(activityDesc);
                     
                     // Branch Name and Account Number displayed as styled badges
@@ -982,36 +1059,18 @@ public class DailyReportPdfService {
                         if (hasBranch) {
                             // Branch badge with styled background (badge-like appearance)
                             Paragraph branchBadge = new Paragraph("🏢 " + activity.branch)
-                                .setFontSize(10)
+                                .addStyle(BRANCH_BADGE)
                                 .setMarginTop(4)
-                                .setMarginBottom(hasAccount ? 3 : (descIndex < typeActivities.size() ? 4 : 8))
-                                .setMarginLeft(15)
-                                .setFontColor(new DeviceRgb(211, 78, 78)) // #D34E4E
-                                .setBackgroundColor(new DeviceRgb(254, 242, 242)) // Light red background
-                                .setPaddingLeft(8)
-                                .setPaddingRight(8)
-                                .setPaddingTop(4)
-                                .setPaddingBottom(4)
-                                .setBorder(new SolidBorder(new DeviceRgb(254, 202, 202), 1f))
-                                .setBorderRadius(new com.itextpdf.layout.properties.BorderRadius(6f));
+                                .setMarginBottom(hasAccount ? 3 : (descIndex < typeActivities.size() ? 4 : 8));
                             document.add(branchBadge);
                         }
                         
                         if (hasAccount) {
                             // Account Number badge
                             Paragraph accountBadge = new Paragraph("💳 " + activity.accountNumber)
-                                .setFontSize(10)
+                                .addStyle(ACCOUNT_BADGE)
                                 .setMarginTop(hasBranch ? 0 : 4)
-                                .setMarginBottom(descIndex < typeActivities.size() ? 4 : 8)
-                                .setMarginLeft(15)
-                                .setFontColor(new DeviceRgb(3, 105, 161)) // Blue color
-                                .setBackgroundColor(new DeviceRgb(240, 249, 255)) // Light blue background
-                                .setPaddingLeft(8)
-                                .setPaddingRight(8)
-                                .setPaddingTop(4)
-                                .setPaddingBottom(4)
-                                .setBorder(new SolidBorder(new DeviceRgb(186, 230, 253), 1f))
-                                .setBorderRadius(new com.itextpdf.layout.properties.BorderRadius(6f));
+                                .setMarginBottom(descIndex < typeActivities.size() ? 4 : 8);
                             document.add(accountBadge);
                         }
                     } else {
@@ -1026,10 +1085,7 @@ public class DailyReportPdfService {
                 
                 // Add separator line between activity type groups
                 if (groupIndex < activitiesByType.size() - 1) {
-                    document.add(new Paragraph("")
-                        .setMarginBottom(8)
-                        .setBorderBottom(new SolidBorder(new DeviceRgb(229, 231, 235), 0.5f))
-                        .setPaddingBottom(8));
+                    document.add(new Paragraph("").addStyle(GROUP_SEPARATOR));
                 }
                 
                 groupIndex++;
@@ -1038,7 +1094,7 @@ public class DailyReportPdfService {
             // No activities message
             Paragraph noActivities = new Paragraph("No activities recorded for this report.")
                 .setFontSize(11)
-                .setFontColor(new DeviceRgb(156, 163, 175))
+                .setFontColor(MUTED_TEXT)
                 .setItalic()
                 .setTextAlignment(TextAlignment.CENTER)
                 .setMarginTop(20);
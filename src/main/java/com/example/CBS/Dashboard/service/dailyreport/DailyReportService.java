@@ -1,5 +1,6 @@
 package com.example.CBS.Dashboard.service.dailyreport;
 
+import com.example.CBS.Dashboard.dto.common.CursorPage;
 import com.example.CBS.Dashboard.dto.dailyreport.*;
 import com.example.CBS.Dashboard.entity.DailyReport;
 import com.example.CBS.Dashboard.entity.User;
@@ -15,31 +16,59 @@ import com.example.CBS.Dashboard.entity.AfpayCardRequest;
 import com.example.CBS.Dashboard.entity.QrmisIssue;
 import com.example.CBS.Dashboard.mapper.DailyReportMapper;
 import com.example.CBS.Dashboard.repository.DailyReportRepository;
+import com.example.CBS.Dashboard.repository.DailyReportStatRepository;
 import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.security.CurrentUser;
+import com.example.CBS.Dashboard.security.CurrentUserProvider;
+import com.example.CBS.Dashboard.service.pdf.PdfCache;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class DailyReportService {
     
+    private static final List<DailyReport.ReportStatus> COMBINED_REPORT_STATUSES =
+        List.of(DailyReport.ReportStatus.SUBMITTED, DailyReport.ReportStatus.APPROVED);
+    
+    // Open ends of a keyset listing, bound instead of "IS NULL OR" so the seek is visible to the planner
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private DailyReportRepository dailyReportRepository;
     
+    @Autowired
+    private DailyReportStatRepository dailyReportStatRepository;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -49,6 +78,15 @@ public class DailyReportService {
     @Autowired
     private DailyReportPdfService pdfService;
     
+    @Autowired
+    private DailyReportStatsService statsService;
+    
+    @Autowired
+    private PdfCache pdfCache;
+    
+    @Autowired
+    private CurrentUserProvider currentUserProvider;
+    
     @Transactional
     public DailyReportDto createReport(Long employeeId, CreateDailyReportRequest request) {
         User employee = userRepository.findById(employeeId)
@@ -62,6 +100,18 @@ public class DailyReportService {
             throw new IllegalArgumentException("Report already exists for this business date");
         }
         
+        DailyReport report = buildReport(employee, businessDate, request);
+        report = dailyReportRepository.save(report);
+        statsService.recordCreated(report);
+        evictCachedPdfs(report.getId(), report.getBusinessDate());
+        return dailyReportMapper.toDto(report);
+    }
+    
+    /**
+     * Builds an unsaved DRAFT report with all of its sections from a create request.
+     * Shared by {@link #createReport} and the bulk import.
+     */
+    public DailyReport buildReport(User employee, LocalDate businessDate, CreateDailyReportRequest request) {
         DailyReport report = new DailyReport();
         report.setBusinessDate(businessDate);
         report.setEmployee(employee);
@@ -81,9 +131,7 @@ public class DailyReportService {
         addMeetings(report, request.getMeetings());
         addAfpayCardRequests(report, request.getAfpayCardRequests());
         addQrmisIssues(report, request.getQrmisIssues());
-        
-        report = dailyReportRepository.save(report);
-        return dailyReportMapper.toDto(report);
+        return report;
     }
     
     @Transactional
@@ -96,6 +144,9 @@ public class DailyReportService {
             throw new SecurityException("You don't have permission to edit this report");
         }
         
+        DailyReportStatsService.Snapshot before = statsService.snapshot(report);
+        LocalDate previousDate = report.getBusinessDate();
+        
         // If approved, require supervisor re-approval
         if (report.getStatus() == DailyReport.ReportStatus.APPROVED) {
             report.setStatus(DailyReport.ReportStatus.SUBMITTED);
@@ -103,6 +154,8 @@ public class DailyReportService {
         
         dailyReportMapper.updateEntityFromDto(report, request);
         report = dailyReportRepository.save(report);
+        statsService.recordChanged(before, report);
+        evictCachedPdfs(reportId, previousDate, report.getBusinessDate());
         return dailyReportMapper.toDto(report);
     }
     
@@ -115,12 +168,15 @@ public class DailyReportService {
         User reviewer = userRepository.findById(reviewerId)
             .orElseThrow(() -> new EntityNotFoundException("Reviewer not found"));
         
+        DailyReportStatsService.Snapshot before = statsService.snapshot(report);
         report.setStatus(request.getStatus());
         report.setReviewedBy(reviewer);
         report.setReviewedAt(LocalDateTime.now());
         report.setReviewComments(request.getReviewComments());
         
         report = dailyReportRepository.save(report);
+        statsService.recordChanged(before, report);
+        evictCachedPdfs(reportId, report.getBusinessDate());
         return dailyReportMapper.toDto(report);
     }
     
@@ -137,8 +193,11 @@ public class DailyReportService {
         // CBS times will be set by Quality Control users during review
         validateReport(report);
         
+        DailyReportStatsService.Snapshot before = statsService.snapshot(report);
         report.setStatus(DailyReport.ReportStatus.SUBMITTED);
         report = dailyReportRepository.save(report);
+        statsService.recordChanged(before, report);
+        evictCachedPdfs(reportId, report.getBusinessDate());
         return dailyReportMapper.toDto(report);
     }
     
@@ -169,33 +228,10 @@ public class DailyReportService {
     
     @Transactional(readOnly = true)
     public Page<DailyReportDto> getMyReports(Long employeeId, Pageable pageable) {
-        // Get paginated reports
         Page<DailyReport> reportsPage = dailyReportRepository.findByEmployeeIdOrderByBusinessDateDesc(employeeId, pageable);
         
-        // For each report, initialize collections to avoid lazy loading issues
-        reportsPage.getContent().forEach(report -> {
-            // Initialize all collections by accessing them
-            if (report.getChatCommunications() != null) report.getChatCommunications().size();
-            if (report.getEmailCommunications() != null) report.getEmailCommunications().size();
-            if (report.getProblemEscalations() != null) report.getProblemEscalations().size();
-            if (report.getTrainingCapacityBuildings() != null) report.getTrainingCapacityBuildings().size();
-            if (report.getProjectProgressUpdates() != null) report.getProjectProgressUpdates().size();
-            if (report.getCbsTeamActivities() != null) report.getCbsTeamActivities().size();
-            if (report.getPendingActivities() != null) report.getPendingActivities().size();
-            if (report.getMeetings() != null) report.getMeetings().size();
-            if (report.getAfpayCardRequests() != null) report.getAfpayCardRequests().size();
-            if (report.getQrmisIssues() != null) report.getQrmisIssues().size();
-            // Also initialize employee and reviewedBy
-            if (report.getEmployee() != null) {
-                report.getEmployee().getUsername();
-                report.getEmployee().getFullName();
-            }
-            if (report.getReviewedBy() != null) {
-                report.getReviewedBy().getUsername();
-                report.getReviewedBy().getFullName();
-            }
-        });
-        
+        // Employee and reviewer come with the page query; the mapper's first touch of each section
+        // batch-loads it for the whole page (see DailyReport.FETCH_BATCH_SIZE)
         return reportsPage.map(dailyReportMapper::toDto);
     }
     
@@ -232,30 +268,78 @@ public class DailyReportService {
             .map(dailyReportMapper::toDto);
     }
     
+    /** Cursor-paginated variant of {@link #getMyReports}, newest first by (businessDate, id). */
+    @Transactional(readOnly = true)
+    public CursorPage<DailyReportDto> getMyReportsPage(Long employeeId, String cursor, int size) {
+        int pageSize = CursorPage.pageSize(size);
+        ReportCursor before = ReportCursor.parse(cursor);
+        List<DailyReport> rows = dailyReportRepository.findKeysetPageByEmployeeId(
+            employeeId, before.businessDate(), before.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, ReportCursor::encode, dailyReportMapper::toDto);
+    }
+    
+    /** Cursor-paginated variant of {@link #getAllReports}; same filters, fixed (businessDate, id) DESC order. */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL')")
+    public CursorPage<DailyReportDto> getAllReportsPage(String cursor, int size, LocalDate startDate, LocalDate endDate,
+                                                        Long employeeId, DailyReport.ReportStatus status) {
+        int pageSize = CursorPage.pageSize(size);
+        // As in getAllReports, the date filter applies only when both ends are given
+        boolean dateFilter = startDate != null && endDate != null;
+        ReportCursor before = ReportCursor.parse(cursor).capTo(dateFilter ? endDate : LATEST_DATE);
+        List<DailyReport> rows = dailyReportRepository.findKeysetPage(
+            dateFilter ? startDate : EARLIEST_DATE, employeeId, status,
+            before.businessDate(), before.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, ReportCursor::encode, dailyReportMapper::toDto);
+    }
+    
+    /** Exclusive upper key of the next page: the last report already returned, or past every report before the first page. */
+    private record ReportCursor(LocalDate businessDate, Long id) {
+        
+        static ReportCursor parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new ReportCursor(LATEST_DATE, Long.MAX_VALUE);
+            }
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            try {
+                return new ReportCursor(LocalDate.parse(keys[0]), Long.parseLong(keys[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        /** (endDate, MAX_VALUE) is "businessDate <= endDate", so a key past the end date is cut back to it. */
+        ReportCursor capTo(LocalDate endDate) {
+            return businessDate.isAfter(endDate) ? new ReportCursor(endDate, Long.MAX_VALUE) : this;
+        }
+        
+        static String encode(DailyReport report) {
+            return CursorPage.encodeCursor(report.getBusinessDate(), report.getId());
+        }
+    }
+    
     @Transactional(readOnly = true)
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_QUALITY_CONTROL')")
     public DailyReportDashboardDto getDashboard() {
         DailyReportDashboardDto dashboard = new DailyReportDashboardDto();
         
-        long totalReports = dailyReportRepository.count();
-        dashboard.setTotalReports(totalReports);
-        dashboard.setPendingReports(dailyReportRepository.countByStatus(DailyReport.ReportStatus.SUBMITTED));
-        dashboard.setApprovedReports(dailyReportRepository.countByStatus(DailyReport.ReportStatus.APPROVED));
-        dashboard.setRejectedReports(dailyReportRepository.countByStatus(DailyReport.ReportStatus.REJECTED));
-        dashboard.setDraftReports(dailyReportRepository.countByStatus(DailyReport.ReportStatus.DRAFT));
-        
-        // Count escalations and pending activities
-        List<DailyReport> allReports = dailyReportRepository.findAll();
-        long totalEscalations = allReports.stream()
-            .mapToLong(r -> r.getProblemEscalations().size())
-            .sum();
-        long totalPendingActivities = allReports.stream()
-            .mapToLong(r -> r.getPendingActivities().size())
-            .sum();
-        long totalQrmisIssues = allReports.stream()
-            .mapToLong(r -> r.getQrmisIssues().size())
-            .sum();
-        
+        // Read the per-day rollup instead of scanning reports and their sections
+        Map<DailyReport.ReportStatus, Long> countsByStatus = new EnumMap<>(DailyReport.ReportStatus.class);
+        long totalEscalations = 0;
+        long totalPendingActivities = 0;
+        long totalQrmisIssues = 0;
+        for (DailyReportStatRepository.StatusTotals row : dailyReportStatRepository.sumByStatus()) {
+            countsByStatus.put(row.getStatus(), row.getReports());
+            totalEscalations += row.getEscalations();
+            totalPendingActivities += row.getPendingActivities();
+            totalQrmisIssues += row.getQrmisIssues();
+        }
+        
+        dashboard.setTotalReports(countsByStatus.values().stream().mapToLong(Long::longValue).sum());
+        dashboard.setPendingReports(countsByStatus.getOrDefault(DailyReport.ReportStatus.SUBMITTED, 0L));
+        dashboard.setApprovedReports(countsByStatus.getOrDefault(DailyReport.ReportStatus.APPROVED, 0L));
+        dashboard.setRejectedReports(countsByStatus.getOrDefault(DailyReport.ReportStatus.REJECTED, 0L));
+        dashboard.setDraftReports(countsByStatus.getOrDefault(DailyReport.ReportStatus.DRAFT, 0L));
         dashboard.setTotalEscalations(totalEscalations);
         dashboard.setTotalPendingActivities(totalPendingActivities);
         dashboard.setTotalQrmisIssues(totalQrmisIssues);
@@ -271,6 +355,12 @@ public class DailyReportService {
         return dashboard;
     }
     
+    @Transactional
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public int rebuildStats() {
+        return statsService.rebuild();
+    }
+    
     @Transactional
     public void deleteReport(Long reportId, Long userId) {
         DailyReport report = dailyReportRepository.findById(reportId)
@@ -281,7 +371,48 @@ public class DailyReportService {
             throw new SecurityException("You don't have permission to delete this report");
         }
         
+        DailyReportStatsService.Snapshot before = statsService.snapshot(report);
         dailyReportRepository.delete(report);
+        statsService.recordDeleted(before);
+        evictCachedPdfs(reportId, report.getBusinessDate());
+    }
+    
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Map<String, Object> getPdfCacheStats() {
+        return pdfCache.stats();
+    }
+    
+    /**
+     * Drops cached PDFs for a report and the combined reports of its dates once the transaction commits,
+     * so a render that starts before the commit cannot re-cache the old content under the evicted group.
+     */
+    private void evictCachedPdfs(Long reportId, LocalDate... businessDates) {
+        Runnable evict = () -> {
+            pdfCache.invalidate(reportCacheGroup(reportId));
+            for (LocalDate date : businessDates) {
+                if (date != null) {
+                    pdfCache.invalidate(combinedCacheGroup(date));
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+    
+    private static String reportCacheGroup(Long reportId) {
+        return "report-" + reportId;
+    }
+    
+    static String combinedCacheGroup(LocalDate date) {
+        return "combined-" + date;
     }
     
     // Helper methods to add section entities
@@ -473,48 +604,41 @@ public class DailyReportService {
             .collect(Collectors.toList());
     }
     
+    /** Fails fast, before any response bytes are written, when there is nothing to export. */
     @Transactional(readOnly = true)
-    public byte[] generateEmployeeReportPdf(Long employeeId, LocalDate startDate, LocalDate endDate) throws IOException {
-        List<DailyReport> reports;
-        
-        if (startDate != null && endDate != null) {
-            Specification<DailyReport> spec = (root, query, cb) -> 
-                cb.equal(root.get("employee").get("id"), employeeId);
-            spec = spec.and((root, query, cb) -> 
-                cb.between(root.get("businessDate"), startDate, endDate)
-            );
-            reports = dailyReportRepository.findAll(spec);
-        } else {
-            reports = dailyReportRepository.findByEmployeeIdOrderByBusinessDateDesc(employeeId);
-        }
-        
-        if (reports.isEmpty()) {
+    public void requireEmployeeReports(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        boolean exists = startDate != null && endDate != null
+            ? dailyReportRepository.existsByEmployeeIdAndBusinessDateBetween(employeeId, startDate, endDate)
+            : dailyReportRepository.existsByEmployeeId(employeeId);
+        if (!exists) {
             throw new IllegalArgumentException("No reports found for this employee.");
         }
-        
-        // Initialize collections to avoid lazy loading issues
-        reports.forEach(report -> {
-            if (report.getChatCommunications() != null) report.getChatCommunications().size();
-            if (report.getEmailCommunications() != null) report.getEmailCommunications().size();
-            if (report.getProblemEscalations() != null) report.getProblemEscalations().size();
-            if (report.getTrainingCapacityBuildings() != null) report.getTrainingCapacityBuildings().size();
-            if (report.getProjectProgressUpdates() != null) report.getProjectProgressUpdates().size();
-            if (report.getCbsTeamActivities() != null) report.getCbsTeamActivities().size();
-            if (report.getPendingActivities() != null) report.getPendingActivities().size();
-            if (report.getMeetings() != null) report.getMeetings().size();
-            if (report.getAfpayCardRequests() != null) report.getAfpayCardRequests().size();
-            if (report.getQrmisIssues() != null) report.getQrmisIssues().size();
-            if (report.getEmployee() != null) {
-                report.getEmployee().getUsername();
-                report.getEmployee().getFullName();
-            }
-            if (report.getReviewedBy() != null) {
-                report.getReviewedBy().getUsername();
-                report.getReviewedBy().getFullName();
-            }
-        });
-        
-        return pdfService.generateEmployeeReportPdf(reports);
+    }
+    
+    /**
+     * Streams the employee report PDF to {@code out}. Reports are loaded in chunks and detached
+     * once rendered, so heap use does not grow with the date range.
+     */
+    @Transactional(readOnly = true)
+    public void writeEmployeeReportPdf(Long employeeId, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        writeEmployeeReportPdf(employeeId, startDate, endDate, out, null);
+    }
+    
+    /** As above, invoking {@code onReport} after each report is handed to the renderer (used for export progress). */
+    @Transactional(readOnly = true)
+    public void writeEmployeeReportPdf(Long employeeId, LocalDate startDate, LocalDate endDate, OutputStream out,
+                                       Runnable onReport) throws IOException {
+        List<Long> reportIds = startDate != null && endDate != null
+            ? dailyReportRepository.findIdsByEmployeeIdAndBusinessDateBetween(employeeId, startDate, endDate)
+            : dailyReportRepository.findIdsByEmployeeId(employeeId);
+        pdfService.writeEmployeeReportPdf(chunkedIterator(reportIds, onReport), out);
+    }
+    
+    @Transactional(readOnly = true)
+    public long countEmployeeReports(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return startDate != null && endDate != null
+            ? dailyReportRepository.countByEmployeeIdAndBusinessDateBetween(employeeId, startDate, endDate)
+            : dailyReportRepository.countByEmployeeId(employeeId);
     }
     
     @Transactional(readOnly = true)
@@ -552,6 +676,21 @@ public class DailyReportService {
             throw new RuntimeException("You can only download your own reports");
         }
         
+        // Child sections are only loaded on a cache miss; child edits evict the report's group
+        String cacheKey = PdfCache.key("employee-report", DailyReportPdfService.RENDERER_VERSION, report.getId(),
+            report.getUpdatedAt(), report.getStatus(), report.getReviewedAt(), report.getReviewComments(),
+            report.getReviewedBy() != null ? report.getReviewedBy().getId() : null,
+            report.getEmployee().getUsername(), report.getEmployee().getFullName());
+        return pdfCache.getOrRender(reportCacheGroup(reportId), cacheKey, out -> {
+            try {
+                pdfService.writeEmployeeReportPdf(List.of(initializeForPdf(report)).iterator(), out);
+            } catch (Exception e) {
+                throw new IOException("Failed to generate PDF: " + e.getMessage(), e);
+            }
+        });
+    }
+    
+    private DailyReport initializeForPdf(DailyReport report) {
         // Initialize collections to avoid lazy loading issues
         if (report.getChatCommunications() != null) {
             report.getChatCommunications().size();
@@ -608,56 +747,98 @@ public class DailyReportService {
         if (report.getReviewedBy() != null) {
             report.getReviewedBy().getUsername();
         }
-        
-        try {
-            return pdfService.generateEmployeeReportPdf(List.of(report));
-        } catch (Exception e) {
-            throw new IOException("Failed to generate PDF: " + e.getMessage(), e);
-        }
+        return report;
     }
     
     @Transactional(readOnly = true)
-    public byte[] generateCombinedReportPdf(LocalDate specificDate, LocalTime cbsEndTime, LocalTime cbsStartTimeNextDay) throws IOException {
+    public void requireCombinedReports(LocalDate specificDate) {
         if (specificDate == null) {
             throw new IllegalArgumentException("Date is required for combined report. Each day must be downloaded separately.");
         }
-        
-        // Include both SUBMITTED and APPROVED reports (confirmed reports should remain visible)
-        List<DailyReport> reports = dailyReportRepository.findByBusinessDate(specificDate).stream()
-            .filter(report -> report.getStatus() == DailyReport.ReportStatus.SUBMITTED 
-                || report.getStatus() == DailyReport.ReportStatus.APPROVED)
-            .collect(java.util.stream.Collectors.toList());
-        
-        if (reports.isEmpty()) {
+        if (!dailyReportRepository.existsByBusinessDateAndStatusIn(specificDate, COMBINED_REPORT_STATUSES)) {
             throw new IllegalArgumentException("No reports found for the specified date: " + specificDate);
         }
-        
-        // Initialize collections to avoid lazy loading issues
-        reports.forEach(report -> {
-            if (report.getChatCommunications() != null) report.getChatCommunications().size();
-            if (report.getEmailCommunications() != null) report.getEmailCommunications().size();
-            if (report.getProblemEscalations() != null) report.getProblemEscalations().size();
-            if (report.getTrainingCapacityBuildings() != null) report.getTrainingCapacityBuildings().size();
-            if (report.getProjectProgressUpdates() != null) report.getProjectProgressUpdates().size();
-            if (report.getCbsTeamActivities() != null) report.getCbsTeamActivities().size();
-            if (report.getPendingActivities() != null) report.getPendingActivities().size();
-            if (report.getMeetings() != null) report.getMeetings().size();
-            if (report.getAfpayCardRequests() != null) report.getAfpayCardRequests().size();
-            if (report.getQrmisIssues() != null) report.getQrmisIssues().size();
-            if (report.getEmployee() != null) {
-                report.getEmployee().getUsername();
-                report.getEmployee().getFullName();
+    }
+    
+    @Transactional(readOnly = true)
+    public void writeCombinedReportPdf(LocalDate specificDate, LocalTime cbsEndTime, LocalTime cbsStartTimeNextDay,
+                                       OutputStream out) throws IOException {
+        writeCombinedReportPdf(specificDate, cbsEndTime, cbsStartTimeNextDay, out, null);
+    }
+    
+    @Transactional(readOnly = true)
+    public void writeCombinedReportPdf(LocalDate specificDate, LocalTime cbsEndTime, LocalTime cbsStartTimeNextDay,
+                                       OutputStream out, Runnable onReport) throws IOException {
+        // Include both SUBMITTED and APPROVED reports (confirmed reports should remain visible)
+        String versions = dailyReportRepository.findVersionsByBusinessDateAndStatusIn(specificDate, COMBINED_REPORT_STATUSES).stream()
+            .map(v -> v.getId() + "@" + v.getUpdatedAt() + "@" + v.getUsername() + "@" + v.getFullName())
+            .collect(Collectors.joining(","));
+        String cacheKey = PdfCache.key("combined-report", DailyReportPdfService.RENDERER_VERSION, specificDate,
+            cbsEndTime, cbsStartTimeNextDay, versions);
+        pdfCache.writeOrRender(combinedCacheGroup(specificDate), cacheKey, out, target -> {
+            List<Long> reportIds = dailyReportRepository.findIdsByBusinessDateAndStatusIn(specificDate, COMBINED_REPORT_STATUSES);
+            pdfService.writeCombinedReportPdf(chunkedIterator(reportIds, onReport), cbsEndTime, cbsStartTimeNextDay, target);
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public long countCombinedReports(LocalDate specificDate) {
+        return dailyReportRepository.countByBusinessDateAndStatusIn(specificDate, COMBINED_REPORT_STATUSES);
+    }
+    
+    /**
+     * Iterates reports in {@code reportIds} order, loading {@link DailyReport#FETCH_BATCH_SIZE} at a time so each
+     * chunk's child sections are batch-fetched in one query per section. A chunk (and its cascaded sections)
+     * is detached once the iterator moves past it.
+     */
+    private Iterator<DailyReport> chunkedIterator(List<Long> reportIds, Runnable onReport) {
+        return new Iterator<>() {
+            private int position;
+            private List<DailyReport> chunk = List.of();
+            private int index;
+            
+            @Override
+            public boolean hasNext() {
+                while (index >= chunk.size()) {
+                    chunk.forEach(entityManager::detach);
+                    if (position >= reportIds.size()) {
+                        chunk = List.of();
+                        return false;
+                    }
+                    List<Long> ids = reportIds.subList(position, Math.min(position + DailyReport.FETCH_BATCH_SIZE, reportIds.size()));
+                    position += ids.size();
+                    Map<Long, DailyReport> loaded = dailyReportRepository.findByIdIn(ids).stream()
+                        .collect(Collectors.toMap(DailyReport::getId, Function.identity()));
+                    // Reports deleted since the ids were read are skipped
+                    chunk = ids.stream().map(loaded::get).filter(Objects::nonNull).collect(Collectors.toList());
+                    index = 0;
+                }
+                return true;
             }
-            if (report.getReviewedBy() != null) {
-                report.getReviewedBy().getUsername();
-                report.getReviewedBy().getFullName();
+            
+            @Override
+            public DailyReport next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                DailyReport report = chunk.get(index++);
+                if (onReport != null) {
+                    onReport.run();
+                }
+                return report;
             }
-        });
-        
-        return pdfService.generateCombinedReportPdf(reports, cbsEndTime, cbsStartTimeNextDay);
+        };
     }
     
     private boolean hasSupervisorAccess(Long userId) {
+        // The caller is almost always the user being checked; only fall back to the database otherwise
+        CurrentUser current = currentUserProvider.find()
+            .filter(u -> u.id().equals(userId))
+            .orElse(null);
+        if (current != null) {
+            return current.hasAnyRole("ROLE_ADMIN", "ROLE_QUALITY_CONTROL");
+        }
+        
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) return false;
         
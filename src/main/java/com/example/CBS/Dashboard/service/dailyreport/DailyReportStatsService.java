@@ -0,0 +1,114 @@
+package com.example.CBS.Dashboard.service.dailyreport;
+
+import com.example.CBS.Dashboard.entity.DailyReport;
+import com.example.CBS.Dashboard.repository.DailyReportRepository;
+import com.example.CBS.Dashboard.repository.DailyReportStatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Keeps the daily_report_stats rollup in step with daily_reports.
+ * Every write in {@link DailyReportService} takes a {@link Snapshot} before and after the change
+ * and the difference is applied in the caller's transaction.
+ */
+@Service
+public class DailyReportStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DailyReportStatsService.class);
+    
+    @Autowired
+    private DailyReportStatRepository statRepository;
+    
+    @Autowired
+    private DailyReportRepository dailyReportRepository;
+    
+    /** Counter values of one report as they stood at a point in the transaction. */
+    public static class Snapshot {
+        private final LocalDate businessDate;
+        private final Long employeeId;
+        private final DailyReport.ReportStatus status;
+        private final long escalations;
+        private final long pendingActivities;
+        private final long qrmisIssues;
+        
+        private Snapshot(DailyReport report) {
+            this.businessDate = report.getBusinessDate();
+            this.employeeId = report.getEmployee().getId();
+            this.status = report.getStatus();
+            this.escalations = report.getProblemEscalations() != null ? report.getProblemEscalations().size() : 0;
+            this.pendingActivities = report.getPendingActivities() != null ? report.getPendingActivities().size() : 0;
+            this.qrmisIssues = report.getQrmisIssues() != null ? report.getQrmisIssues().size() : 0;
+        }
+        
+        private boolean sameBucket(Snapshot other) {
+            return Objects.equals(businessDate, other.businessDate)
+                && Objects.equals(employeeId, other.employeeId)
+                && status == other.status;
+        }
+    }
+    
+    public Snapshot snapshot(DailyReport report) {
+        return new Snapshot(report);
+    }
+    
+    @Transactional
+    public void recordCreated(DailyReport report) {
+        apply(snapshot(report), 1);
+    }
+    
+    @Transactional
+    public void recordChanged(Snapshot before, DailyReport report) {
+        Snapshot after = snapshot(report);
+        if (before.sameBucket(after)) {
+            statRepository.applyDelta(after.businessDate, after.employeeId, after.status.name(), 0,
+                after.escalations - before.escalations,
+                after.pendingActivities - before.pendingActivities,
+                after.qrmisIssues - before.qrmisIssues);
+            return;
+        }
+        apply(before, -1);
+        apply(after, 1);
+    }
+    
+    @Transactional
+    public void recordDeleted(Snapshot before) {
+        apply(before, -1);
+    }
+    
+    /**
+     * Rebuilds the rollup from the source tables, e.g. after a database restore.
+     * @return number of buckets written
+     */
+    @Transactional
+    public int rebuild() {
+        statRepository.deleteAllStats();
+        int buckets = statRepository.insertFromSourceTables();
+        logger.info("Rebuilt daily_report_stats: {} buckets", buckets);
+        return buckets;
+    }
+    
+    /** Seeds the rollup on first start after the table was introduced. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (statRepository.count() == 0 && dailyReportRepository.count() > 0) {
+            rebuild();
+        }
+    }
+    
+    private void apply(Snapshot snapshot, int sign) {
+        statRepository.applyDelta(snapshot.businessDate, snapshot.employeeId, snapshot.status.name(), sign,
+            sign * snapshot.escalations, sign * snapshot.pendingActivities, sign * snapshot.qrmisIssues);
+        if (sign < 0) {
+            statRepository.deleteEmptyBucket(snapshot.businessDate, snapshot.employeeId, snapshot.status);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.CBS.Dashboard.service.export;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+
+/**
+ * In-memory state of one queued PDF export. Fields written by the worker thread are volatile so
+ * status polls from request threads see them without locking.
+ */
+public class ExportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String id;
+    private final String owner;
+    private final String type;
+    private final String filename;
+    private final Path file;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int progress;
+    private volatile long sizeBytes;
+    private volatile String errorMessage;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Future<?> future;
+
+    ExportJob(String id, String owner, String type, String filename, Path file) {
+        this.id = id;
+        this.owner = owner;
+        this.type = type;
+        this.filename = filename;
+        this.file = file;
+    }
+
+    public String getId() { return id; }
+    public String getOwner() { return owner; }
+    public String getType() { return type; }
+    public String getFilename() { return filename; }
+    public Path getFile() { return file; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Status getStatus() { return status; }
+    public int getProgress() { return progress; }
+    public long getSizeBytes() { return sizeBytes; }
+    public String getErrorMessage() { return errorMessage; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+
+    /** Records progress as {@code done} of {@code total} units, capped below 100 until the job completes. */
+    public void reportProgress(long done, long total) {
+        if (total <= 0) {
+            return;
+        }
+        progress = (int) Math.min(99, done * 100 / total);
+    }
+
+    void setFuture(Future<?> future) { this.future = future; }
+    Future<?> getFuture() { return future; }
+
+    void markRunning() {
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    void markCompleted(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+        progress = 100;
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void markCancelled() {
+        finishedAt = LocalDateTime.now();
+        status = Status.CANCELLED;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.CBS.Dashboard.service.export;
+
+import com.example.CBS.Dashboard.dto.export.ExportJobDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs long PDF exports off the request threads. Jobs are queued on a bounded pool, rendered into
+ * a local spool directory and kept for a fixed time after they finish so the client can download them.
+ * Job state lives in memory only; files left over from a previous run are removed on startup.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    @Value("${app.export.spool-dir:${java.io.tmpdir}/cbs-exports}")
+    private String spoolDir;
+
+    @Value("${app.export.workers:2}")
+    private int workers;
+
+    @Value("${app.export.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.export.max-active-per-user:2}")
+    private int maxActivePerUser;
+
+    @Value("${app.export.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private Path spool;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        spool = Paths.get(spoolDir).toAbsolutePath();
+        Files.createDirectories(spool);
+        try (Stream<Path> leftovers = Files.list(spool)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "pdf-export-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        logger.info("PDF export spool at {} ({} workers, queue {})", spool, workers, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues an export for {@code owner}. The caller's security context is carried to the worker,
+     * so method-level authorization in the services the task calls still applies.
+     */
+    public ExportJobDto submit(String owner, String type, String filename, ExportTask task) {
+        ExportJob job;
+        synchronized (jobs) {
+            long active = jobs.values().stream()
+                    .filter(j -> j.getOwner().equals(owner) && j.isActive())
+                    .count();
+            if (active >= maxActivePerUser) {
+                throw new IllegalStateException("You already have " + active
+                        + " export(s) in progress. Wait for one to finish before starting another.");
+            }
+            String id = UUID.randomUUID().toString();
+            job = new ExportJob(id, owner, type, filename, spool.resolve(id + ".pdf"));
+            jobs.put(id, job);
+        }
+        try {
+            ExportJob queued = job;
+            job.setFuture(executor.submit(new DelegatingSecurityContextRunnable(() -> run(queued, task))));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new IllegalStateException("The export queue is full. Please try again in a few minutes.");
+        }
+        return toDto(job);
+    }
+
+    public ExportJobDto getJob(String jobId, String owner) {
+        return toDto(findOwnedJob(jobId, owner));
+    }
+
+    public List<ExportJobDto> getJobs(String owner) {
+        return jobs.values().stream()
+                .filter(j -> j.getOwner().equals(owner))
+                .sorted(Comparator.comparing(ExportJob::getCreatedAt).reversed())
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /** Returns the finished job so its spool file can be served; fails if it is not complete yet. */
+    public ExportJob getCompletedJob(String jobId, String owner) {
+        ExportJob job = findOwnedJob(jobId, owner);
+        if (job.getStatus() != ExportJob.Status.COMPLETED || !Files.exists(job.getFile())) {
+            throw new IllegalStateException("Export is not ready for download (status: " + job.getStatus() + ")");
+        }
+        return job;
+    }
+
+    /** Cancels a queued or running job, or discards a finished one and its file. */
+    public void deleteJob(String jobId, String owner) {
+        ExportJob job = findOwnedJob(jobId, owner);
+        if (job.isActive()) {
+            job.markCancelled();
+            Future<?> future = job.getFuture();
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+        jobs.remove(jobId);
+        deleteQuietly(job.getFile());
+    }
+
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval-ms:300000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        jobs.values().removeIf(job -> {
+            if (job.isActive() || job.getFinishedAt() == null || job.getFinishedAt().isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    private void run(ExportJob job, ExportTask task) {
+        if (job.getStatus() != ExportJob.Status.QUEUED) {
+            return; // cancelled while waiting in the queue
+        }
+        job.markRunning();
+        Path partial = spool.resolve(job.getId() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                task.write(out, job);
+            }
+            if (job.getStatus() == ExportJob.Status.CANCELLED) {
+                deleteQuietly(partial);
+                return;
+            }
+            Files.move(partial, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(Files.size(job.getFile()));
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            if (job.getStatus() != ExportJob.Status.CANCELLED) {
+                logger.warn("Export job {} ({}) failed", job.getId(), job.getType(), e);
+                job.markFailed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private ExportJob findOwnedJob(String jobId, String owner) {
+        ExportJob job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || !job.getOwner().equals(owner)) {
+            throw new EntityNotFoundException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private ExportJobDto toDto(ExportJob job) {
+        ExportJobDto dto = new ExportJobDto();
+        dto.setId(job.getId());
+        dto.setType(job.getType());
+        dto.setFilename(job.getFilename());
+        dto.setStatus(job.getStatus().name());
+        dto.setProgress(job.getProgress());
+        dto.setSizeBytes(job.getSizeBytes());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        if (job.getFinishedAt() != null) {
+            dto.setExpiresAt(job.getFinishedAt().plusMinutes(ttlMinutes));
+        }
+        if (job.getStatus() == ExportJob.Status.COMPLETED) {
+            dto.setDownloadUrl("/api/exports/" + job.getId() + "/download");
+        }
+        return dto;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+}
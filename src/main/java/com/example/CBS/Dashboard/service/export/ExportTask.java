@@ -0,0 +1,11 @@
+package com.example.CBS.Dashboard.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Renders one export into the spool file; runs on an export worker thread. */
+@FunctionalInterface
+public interface ExportTask {
+
+    void write(OutputStream out, ExportJob job) throws IOException;
+}
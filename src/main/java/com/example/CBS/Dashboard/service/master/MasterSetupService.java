@@ -3,6 +3,10 @@ package com.example.CBS.Dashboard.service.master;
 import com.example.CBS.Dashboard.dto.master.*;
 import com.example.CBS.Dashboard.entity.*;
 import com.example.CBS.Dashboard.repository.*;
+import com.example.CBS.Dashboard.security.UserPrincipalCache;
+import com.example.CBS.Dashboard.service.training.ProgramAccessIndex;
+import com.example.CBS.Dashboard.service.training.TrainingFactService;
+import com.example.CBS.Dashboard.service.training.TrainingReportCache;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -29,6 +33,10 @@ public class MasterSetupService {
     private final AssessmentResultRepository assessmentResultRepository;
     private final TrainingProgramRepository trainingProgramRepository;
     private final TrainingSessionRepository trainingSessionRepository;
+    private final UserPrincipalCache principalCache;
+    private final ProgramAccessIndex programAccessIndex;
+    private final TrainingFactService trainingFactService;
+    private final TrainingReportCache reportCache;
     
     // Training Topic methods
     @Transactional
@@ -486,7 +494,11 @@ public class MasterSetupService {
 
         if (type == StudentTeacher.Type.STUDENT) {
             // 2a. Remove attendance records for this student
-            attendanceRepository.findByParticipantId(userId).forEach(attendanceRepository::delete);
+            attendanceRepository.findByParticipantId(userId).forEach(attendance -> {
+                TrainingSession session = attendance.getSession();
+                trainingFactService.markDirty(session.getProgram().getId(), session.getStartDateTime());
+                attendanceRepository.delete(attendance);
+            });
             // 2b. Remove assessment results for this student
             assessmentResultRepository.findByParticipantId(userId).forEach(assessmentResultRepository::delete);
         } else {
@@ -494,10 +506,12 @@ public class MasterSetupService {
             trainingProgramRepository.findByInstructorId(userId).forEach(program -> {
                 program.setInstructor(null);
                 trainingProgramRepository.save(program);
+                trainingFactService.markProgramDirty(program.getId());
             });
             trainingSessionRepository.findByInstructorId(userId).forEach(session -> {
                 session.setInstructor(null);
                 trainingSessionRepository.save(session);
+                trainingFactService.markDirty(session.getProgram().getId(), session.getStartDateTime());
             });
         }
 
@@ -511,6 +525,9 @@ public class MasterSetupService {
         // 5. Disable the user so they cannot log in
         user.setEnabled(false);
         userRepository.save(user);
+        principalCache.invalidateAfterCommit(user.getUsername());
+        programAccessIndex.invalidateAfterCommit(userId);
+        reportCache.invalidateAllAfterCommit();
     }
     
     // DTO conversion methods
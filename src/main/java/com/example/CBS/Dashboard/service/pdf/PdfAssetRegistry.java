@@ -0,0 +1,70 @@
+package com.example.CBS.Dashboard.service.pdf;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.layout.element.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Static images shared by the PDF renderers, decoded once at startup.
+ * {@link ImageData} is immutable once parsed and safe to share between documents and threads;
+ * each document still gets its own {@link Image} element wrapping it.
+ */
+@Component
+public class PdfAssetRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfAssetRegistry.class);
+
+    private static final String[] LOGO_PATHS = {
+            "static/assets/DAB.png",
+            "static/DAB.png",
+            "DAB.png"
+    };
+
+    private static final String[] CFO_SIGNATURE_PATHS = {
+            "static/CFO_SIGNATURE.png",
+            "static/assets/CFO_SIGNATURE.png",
+            "CFO_SIGNATURE.png"
+    };
+
+    private final ImageData logo;
+    private final ImageData cfoSignature;
+
+    public PdfAssetRegistry() {
+        this.logo = loadFirst(LOGO_PATHS);
+        this.cfoSignature = loadFirst(CFO_SIGNATURE_PATHS);
+        if (logo == null) {
+            logger.warn("DAB logo not found on classpath, PDFs will be rendered without it");
+        }
+    }
+
+    /** New logo element for one document, or null when no logo is bundled. */
+    public Image newLogo() {
+        return logo != null ? new Image(logo) : null;
+    }
+
+    /** New CFO signature element for one document, or null when no signature image is bundled. */
+    public Image newCfoSignature() {
+        return cfoSignature != null ? new Image(cfoSignature) : null;
+    }
+
+    private static ImageData loadFirst(String[] paths) {
+        for (String path : paths) {
+            ClassPathResource resource = new ClassPathResource(path);
+            if (!resource.exists() || !resource.isReadable()) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                return ImageDataFactory.create(in.readAllBytes());
+            } catch (Exception e) {
+                logger.warn("Could not load PDF image {}: {}", path, e.getMessage());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,403 @@
+package com.example.CBS.Dashboard.service.pdf;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier cache for rendered PDFs. Keys are content hashes of everything that affects the output
+ * (see {@link #key(Object...)}), so a new report version simply misses; entries also belong to a
+ * group (e.g. one report or one business date) that writers invalidate explicitly, which covers
+ * changes the key cannot see. Small PDFs are kept in memory, everything is kept on disk, and both
+ * tiers evict least-recently-used entries once over their byte budget.
+ * <p>
+ * Disk files are named {@code <group>__<key>.pdf}, so the group index survives a restart.
+ */
+@Component
+public class PdfCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfCache.class);
+    private static final String GROUP_SEPARATOR = "__";
+
+    /** Produces the PDF for a cache miss. */
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    private static class DiskEntry {
+        final String group;
+        final Path file;
+        final long size;
+
+        DiskEntry(String group, Path file, long size) {
+            this.group = group;
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Renders in flight for one group. Invalidating the group bumps the generation, so renders that
+     * started before it are not stored. Only groups with a render in flight are tracked.
+     */
+    private static class Renders {
+        long generation;
+        int inFlight;
+    }
+
+    @Value("${app.pdf-cache.dir:${java.io.tmpdir}/cbs-pdf-cache}")
+    private String cacheDir;
+
+    @Value("${app.pdf-cache.disk-max-mb:256}")
+    private long diskMaxMb;
+
+    @Value("${app.pdf-cache.memory-max-mb:16}")
+    private long memoryMaxMb;
+
+    @Value("${app.pdf-cache.memory-entry-max-kb:1024}")
+    private long memoryEntryMaxKb;
+
+    private Path directory;
+
+    // Access-ordered maps give LRU iteration order; all three maps are guarded by "this"
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, DiskEntry> disk = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Renders> rendering = new HashMap<>();
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = Paths.get(cacheDir).toAbsolutePath();
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.collect(Collectors.toList());
+        }
+        files.sort(Comparator.comparingLong(this::lastModified));
+        synchronized (this) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int separator = name.lastIndexOf(GROUP_SEPARATOR);
+                if (!name.endsWith(".pdf") || separator <= 0) {
+                    deleteQuietly(file); // interrupted writes and foreign files
+                    continue;
+                }
+                String key = name.substring(separator + GROUP_SEPARATOR.length(), name.length() - ".pdf".length());
+                DiskEntry entry = new DiskEntry(name.substring(0, separator), file, file.toFile().length());
+                disk.put(key, entry);
+                diskBytes += entry.size;
+            }
+            evictDisk().forEach(this::deleteQuietly);
+        }
+        logger.info("PDF cache at {} ({} entries, {} KB)", directory, disk.size(), diskBytes / 1024);
+    }
+
+    /** SHA-256 over the string forms of {@code parts}; nulls are kept distinct from empty values. */
+    public static String key(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part == null ? "\u0000" : part.toString()).append('|');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Returns the cached PDF, rendering and storing it on a miss. */
+    public byte[] getOrRender(String group, String key, Renderer renderer) throws IOException {
+        byte[] cached = readCached(key);
+        if (cached != null) {
+            return cached;
+        }
+        misses.incrementAndGet();
+        long generation = startRender(group);
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            renderer.render(baos);
+            byte[] pdf = baos.toByteArray();
+            Path partial = newPartialFile();
+            try {
+                Files.write(partial, pdf);
+                commit(group, key, partial, generation, pdf);
+            } catch (IOException e) {
+                deleteQuietly(partial);
+                logger.warn("Could not cache PDF {}: {}", group, e.getMessage());
+            }
+            return pdf;
+        } finally {
+            endRender(group);
+        }
+    }
+
+    /**
+     * Writes the cached PDF to {@code out}. On a miss the renderer output goes to {@code out} and to the
+     * disk tier at the same time, so large PDFs are never held in memory.
+     */
+    public void writeOrRender(String group, String key, OutputStream out, Renderer renderer) throws IOException {
+        byte[] cached = memoryGet(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            out.write(cached);
+            return;
+        }
+        Path file = diskGet(key);
+        if (file != null) {
+            try {
+                Files.copy(file, out);
+                diskHits.incrementAndGet();
+                return;
+            } catch (NoSuchFileException e) {
+                // evicted between lookup and read; render below
+            }
+        }
+        misses.incrementAndGet();
+        long generation = startRender(group);
+        try {
+            renderAndCommit(group, key, out, renderer, generation);
+        } finally {
+            endRender(group);
+        }
+    }
+
+    private void renderAndCommit(String group, String key, OutputStream out, Renderer renderer, long generation)
+            throws IOException {
+        Path partial = newPartialFile();
+        boolean rendered = false;
+        try {
+            try (OutputStream spool = Files.newOutputStream(partial)) {
+                renderer.render(new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        spool.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        spool.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        out.flush();
+                    }
+                });
+            }
+            rendered = true;
+        } finally {
+            if (!rendered) {
+                deleteQuietly(partial);
+            }
+        }
+        try {
+            commit(group, key, partial, generation, null);
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            logger.warn("Could not cache PDF {}: {}", group, e.getMessage());
+        }
+    }
+
+    /** Drops every entry of {@code group}; renders already in flight for it will not be stored. */
+    public void invalidate(String group) {
+        List<Path> doomed = new ArrayList<>();
+        synchronized (this) {
+            Renders renders = rendering.get(group);
+            if (renders != null) {
+                renders.generation++;
+            }
+            Iterator<Map.Entry<String, DiskEntry>> it = disk.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, DiskEntry> entry = it.next();
+                if (entry.getValue().group.equals(group)) {
+                    it.remove();
+                    diskBytes -= entry.getValue().size;
+                    byte[] inMemory = memory.remove(entry.getKey());
+                    if (inMemory != null) {
+                        memoryBytes -= inMemory.length;
+                    }
+                    doomed.add(entry.getValue().file);
+                }
+            }
+        }
+        invalidations.incrementAndGet();
+        doomed.forEach(this::deleteQuietly);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hits = memoryHits.get() + diskHits.get();
+        long lookups = hits + misses.get();
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("memoryEntries", memory.size());
+        stats.put("memoryBytes", memoryBytes);
+        stats.put("diskEntries", disk.size());
+        stats.put("diskBytes", diskBytes);
+        return stats;
+    }
+
+    private byte[] readCached(String key) throws IOException {
+        byte[] cached = memoryGet(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+        Path file = diskGet(key);
+        if (file == null) {
+            return null;
+        }
+        try {
+            byte[] pdf = Files.readAllBytes(file);
+            diskHits.incrementAndGet();
+            synchronized (this) {
+                if (disk.containsKey(key)) {
+                    memoryPut(key, pdf);
+                }
+            }
+            return pdf;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void commit(String group, String key, Path partial, long generation, byte[] pdf) throws IOException {
+        Path target = directory.resolve(group + GROUP_SEPARATOR + key + ".pdf");
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        List<Path> doomed = new ArrayList<>();
+        synchronized (this) {
+            Renders renders = rendering.get(group);
+            if (renders == null || renders.generation != generation) {
+                doomed.add(target); // invalidated while rendering
+            } else {
+                long size = Files.size(target);
+                DiskEntry previous = disk.put(key, new DiskEntry(group, target, size));
+                if (previous != null) {
+                    diskBytes -= previous.size;
+                }
+                diskBytes += size;
+                if (pdf != null) {
+                    memoryPut(key, pdf);
+                }
+                doomed.addAll(evictDisk());
+            }
+        }
+        doomed.forEach(this::deleteQuietly);
+    }
+
+    private synchronized byte[] memoryGet(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized Path diskGet(String key) {
+        DiskEntry entry = disk.get(key);
+        return entry != null ? entry.file : null;
+    }
+
+    /** Registers a render of {@code group}; returns the generation to pass to {@link #commit}. */
+    private synchronized long startRender(String group) {
+        Renders renders = rendering.computeIfAbsent(group, g -> new Renders());
+        renders.inFlight++;
+        return renders.generation;
+    }
+
+    /** Forgets the group once its last render has finished, so the map only holds groups being rendered. */
+    private synchronized void endRender(String group) {
+        Renders renders = rendering.get(group);
+        if (renders != null && --renders.inFlight == 0) {
+            rendering.remove(group);
+        }
+    }
+
+    /** Caller must hold the lock. */
+    private void memoryPut(String key, byte[] pdf) {
+        if (pdf.length > memoryEntryMaxKb * 1024) {
+            return;
+        }
+        byte[] previous = memory.put(key, pdf);
+        if (previous != null) {
+            memoryBytes -= previous.length;
+        }
+        memoryBytes += pdf.length;
+        Iterator<byte[]> it = memory.values().iterator();
+        while (memoryBytes > memoryMaxMb * 1024 * 1024 && it.hasNext()) {
+            memoryBytes -= it.next().length;
+            it.remove();
+        }
+    }
+
+    /** Caller must hold the lock; returns the files to delete once it is released. */
+    private List<Path> evictDisk() {
+        List<Path> doomed = new ArrayList<>();
+        Iterator<Map.Entry<String, DiskEntry>> it = disk.entrySet().iterator();
+        while (diskBytes > diskMaxMb * 1024 * 1024 && it.hasNext()) {
+            Map.Entry<String, DiskEntry> entry = it.next();
+            it.remove();
+            diskBytes -= entry.getValue().size;
+            byte[] inMemory = memory.remove(entry.getKey());
+            if (inMemory != null) {
+                memoryBytes -= inMemory.length;
+            }
+            doomed.add(entry.getValue().file);
+            evictions.incrementAndGet();
+        }
+        return doomed;
+    }
+
+    private Path newPartialFile() {
+        return directory.resolve(UUID.randomUUID() + ".part");
+    }
+
+    private long lastModified(Path file) {
+        return file.toFile().lastModified();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached PDF {}: {}", file, e.getMessage());
+        }
+    }
+}
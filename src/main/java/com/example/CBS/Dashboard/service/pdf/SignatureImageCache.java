@@ -0,0 +1,71 @@
+package com.example.CBS.Dashboard.service.pdf;
+
+import com.example.CBS.Dashboard.service.user.SignatureStore;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.layout.element.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU of parsed e-signature images keyed by content hash, so a signature that appears on many
+ * report pages is decoded and parsed once. Like the images in {@link PdfAssetRegistry}, the cached
+ * {@link ImageData} is shared and each document gets its own {@link Image} element.
+ */
+@Component
+public class SignatureImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureImageCache.class);
+
+    @Value("${app.pdf.signature-image-cache.max-entries:500}")
+    private int maxEntries;
+
+    private final Map<String, ImageData> images = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImageData> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * New image element for a signature, or null if it cannot be decoded.
+     * @param hash content hash when known; otherwise it is computed from {@code signatureData}
+     * @param signatureData data URL or raw base64 of the image
+     */
+    public Image newImage(String hash, String signatureData) {
+        ImageData data = hash != null ? cached(hash) : null;
+        if (data == null) {
+            byte[] bytes = SignatureStore.decode(signatureData);
+            if (bytes == null) {
+                return null;
+            }
+            if (hash == null) {
+                hash = SignatureStore.sha256Hex(bytes);
+                data = cached(hash);
+            }
+            if (data == null) {
+                try {
+                    data = ImageDataFactory.create(bytes);
+                } catch (Exception e) {
+                    logger.debug("Unreadable signature image {}: {}", hash, e.getMessage());
+                    return null;
+                }
+                remember(hash, data);
+            }
+        }
+        return new Image(data);
+    }
+
+    private synchronized ImageData cached(String hash) {
+        return images.get(hash);
+    }
+
+    private synchronized void remember(String hash, ImageData data) {
+        images.put(hash, data);
+    }
+}
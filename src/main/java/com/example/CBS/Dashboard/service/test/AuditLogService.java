@@ -1,29 +1,168 @@
 package com.example.CBS.Dashboard.service.test;
 
-import com.example.CBS.Dashboard.entity.AuditLog;
+import com.example.CBS.Dashboard.dto.common.CursorPage;
+import com.example.CBS.Dashboard.dto.test.AuditLogDto;
 import com.example.CBS.Dashboard.entity.User;
 import com.example.CBS.Dashboard.repository.AuditLogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Records test management actions in audit_logs. Events are captured when the action happens and
+ * handed to {@link AuditLogWriter} once the caller's transaction commits, so a rolled-back change
+ * leaves no audit row and the business transaction never waits on the audit insert.
+ * History is read back newest first with keyset pagination.
+ */
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
     
+    // Open ends of a history window; always binding real bounds keeps the queries prunable by partition
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final ObjectMapper objectMapper;
     
-    @Transactional
     public void logAction(String entityType, Long entityId, String action, User user, 
                          String oldValue, String description) {
-        AuditLog log = new AuditLog();
-        log.setEntityType(entityType);
-        log.setEntityId(entityId);
-        log.setAction(action);
-        log.setUser(user);
-        log.setOldValue(oldValue);
-        log.setDescription(description);
-        auditLogRepository.save(log);
+        record(entityType, entityId, action, user, oldValue, null, description);
+    }
+    
+    /**
+     * Records a change as JSON of the fields that differ between two snapshots (field name to value,
+     * associations as ids): oldValue holds their previous values, newValue their current ones.
+     * A null {@code before} (create) or {@code after} (delete) stores the other snapshot in full.
+     */
+    public void logChange(String entityType, Long entityId, String action, User user,
+                          Map<String, Object> before, Map<String, Object> after, String description) {
+        Map<String, Object> oldFields = new LinkedHashMap<>();
+        Map<String, Object> newFields = new LinkedHashMap<>();
+        if (before == null || after == null) {
+            if (before != null) oldFields.putAll(before);
+            if (after != null) newFields.putAll(after);
+        } else {
+            Set<String> fields = new LinkedHashSet<>(before.keySet());
+            fields.addAll(after.keySet());
+            for (String field : fields) {
+                if (!Objects.equals(before.get(field), after.get(field))) {
+                    oldFields.put(field, before.get(field));
+                    newFields.put(field, after.get(field));
+                }
+            }
+        }
+        record(entityType, entityId, action, user, toJson(oldFields), toJson(newFields), description);
+    }
+    
+    /** One entity's history, newest first; {@code from}/{@code to} are optional inclusive days. */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogDto> getEntityHistory(String entityType, Long entityId, LocalDate from, LocalDate to,
+                                                    String cursor, int size) {
+        int pageSize = CursorPage.pageSize(size);
+        AuditCursor before = AuditCursor.parse(cursor).capTo(endOf(to));
+        List<AuditLogRepository.AuditLogRow> rows = auditLogRepository.findEntityHistory(
+            entityType.trim().toUpperCase(Locale.ROOT), entityId, startOf(from),
+            before.createdAt(), before.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, AuditCursor::encode, AuditLogService::toDto);
+    }
+    
+    /** Everything one user did, newest first; {@code from}/{@code to} are optional inclusive days. */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogDto> getUserActions(Long userId, LocalDate from, LocalDate to, String cursor, int size) {
+        int pageSize = CursorPage.pageSize(size);
+        AuditCursor before = AuditCursor.parse(cursor).capTo(endOf(to));
+        List<AuditLogRepository.AuditLogRow> rows = auditLogRepository.findUserActions(
+            userId, startOf(from), before.createdAt(), before.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, AuditCursor::encode, AuditLogService::toDto);
+    }
+    
+    public Map<String, Object> getWriterStats() {
+        return auditLogWriter.stats();
+    }
+    
+    private void record(String entityType, Long entityId, String action, User user,
+                        String oldValue, String newValue, String description) {
+        AuditLogWriter.Event event = new AuditLogWriter.Event(entityType, entityId, action, user.getId(),
+            oldValue, newValue, description, LocalDateTime.now());
+        if (!auditLogWriter.isAsync() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.submit(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditLogWriter.submit(event);
+            }
+        });
+    }
+    
+    private String toJson(Map<String, Object> fields) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize audit values", e);
+        }
+    }
+    
+    private static AuditLogDto toDto(AuditLogRepository.AuditLogRow row) {
+        return new AuditLogDto(row.getId(), row.getEntityType(), row.getEntityId(), row.getAction(),
+            row.getUserId(), row.getUsername(), row.getUserFullName(), row.getOldValue(), row.getNewValue(),
+            row.getDescription(), row.getCreatedAt());
+    }
+    
+    private static LocalDateTime startOf(LocalDate day) {
+        return day != null ? day.atStartOfDay() : EARLIEST;
+    }
+    
+    private static LocalDateTime endOf(LocalDate day) {
+        return day != null ? day.plusDays(1).atStartOfDay() : LATEST;
+    }
+    
+    /**
+     * Exclusive upper key of the next page: the last row already returned, or (end of window, MIN_VALUE) before
+     * the first page.
+     */
+    private record AuditCursor(LocalDateTime createdAt, Long id) {
+        
+        static AuditCursor parse(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new AuditCursor(LATEST, Long.MIN_VALUE);
+            }
+            String[] keys = CursorPage.decodeCursor(cursor, 2);
+            try {
+                return new AuditCursor(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        /** (to, MIN_VALUE) is "created_at < to", so a cursor past the window end is cut back to it. */
+        AuditCursor capTo(LocalDateTime to) {
+            return createdAt.isBefore(to) ? this : new AuditCursor(to, Long.MIN_VALUE);
+        }
+        
+        static String encode(AuditLogRepository.AuditLogRow row) {
+            return CursorPage.encodeCursor(row.getCreatedAt(), row.getId());
+        }
     }
 }
-
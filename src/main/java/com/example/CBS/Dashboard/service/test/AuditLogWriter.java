@@ -0,0 +1,239 @@
+package com.example.CBS.Dashboard.service.test;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit_logs rows in JDBC batches from a single background thread.
+ * Events are queued on a bounded lock-free queue; the writer drains up to {@code batch-size} rows
+ * per insert, waking when a batch fills or at least every {@code flush-interval-ms}.
+ * When the queue is full the overflow policy applies: SYNC writes the event on the caller's
+ * thread in a transaction of its own (no event is lost, the caller pays the insert), DROP discards
+ * it and counts the drop.
+ * With {@code app.audit.async=false} nothing is queued and every event is written immediately.
+ * Events still queued at shutdown are flushed before the context closes.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(entity_type, entity_id, action, user_id, old_value, new_value, description, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy { SYNC, DROP }
+
+    /** One audit row, captured when the action happened. */
+    public record Event(String entityType, Long entityId, String action, Long userId,
+                        String oldValue, String newValue, String description, LocalDateTime createdAt) {
+    }
+
+    @Value("${app.audit.async:true}")
+    private boolean async;
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.overflow:SYNC}")
+    private OverflowPolicy overflow;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Overflow writes run from afterCommit, where the caller's connection is still bound to a transaction
+     * that has already committed; a new transaction gets the insert its own connection and commit.
+     */
+    private TransactionTemplate overflowTransaction;
+
+    private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    /** Queue length, kept separately because ConcurrentLinkedQueue.size() walks the whole queue. */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong writtenSync = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    void start() {
+        overflowTransaction = new TransactionTemplate(transactionManager);
+        overflowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (!async) {
+            logger.info("Audit log writer is synchronous");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Audit log writer started (queue {}, batch {}, overflow {})", queueCapacity, batchSize, overflow);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        // Whatever the worker did not get to (e.g. it timed out mid-batch) is written here
+        drainAll();
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Queues the event, or writes it right away when the writer is synchronous or the queue is full.
+     * A synchronous write joins the caller's transaction and its failure propagates, as before.
+     */
+    public void submit(Event event) {
+        if (!async) {
+            insert(List.of(event));
+            writtenSync.incrementAndGet();
+            return;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            overflow(event);
+            return;
+        }
+        queue.offer(event);
+        if (queued.get() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("async", async);
+        stats.put("queued", queued.get());
+        stats.put("written", written.get());
+        stats.put("writtenSync", writtenSync.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void overflow(Event event) {
+        if (overflow == OverflowPolicy.SYNC) {
+            try {
+                overflowTransaction.executeWithoutResult(status -> insert(List.of(event)));
+                writtenSync.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                logger.error("Could not write audit event {}", event, e);
+            }
+            return;
+        }
+        long count = dropped.incrementAndGet();
+        if (count == 1 || count % 1000 == 0) {
+            logger.warn("Audit queue full ({} events); {} audit event(s) dropped so far", queueCapacity, count);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drainBatch() < batchSize) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Audit log writer failed; retrying after {} ms", flushIntervalMs, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+    }
+
+    private void drainAll() {
+        while (drainBatch() > 0) {
+            // keep draining
+        }
+    }
+
+    private synchronized int drainBatch() {
+        List<Event> batch = new ArrayList<>(Math.min(batchSize, Math.max(queued.get(), 1)));
+        Event event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        queued.addAndGet(-batch.size());
+        written.addAndGet(write(batch));
+        return batch.size();
+    }
+
+    /** @return number of rows written */
+    private int write(List<Event> events) {
+        try {
+            insert(events);
+            return events.size();
+        } catch (RuntimeException e) {
+            if (events.size() == 1) {
+                failed.incrementAndGet();
+                logger.error("Could not write audit event {}", events.get(0), e);
+                return 0;
+            }
+            // One bad row fails the whole batch; retry row by row so only that row is lost
+            logger.warn("Audit batch of {} failed, retrying row by row: {}", events.size(), e.getMessage());
+            int count = 0;
+            for (Event single : events) {
+                count += write(List.of(single));
+            }
+            return count;
+        }
+    }
+
+    private void insert(List<Event> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, e) -> {
+            ps.setString(1, e.entityType());
+            ps.setLong(2, e.entityId());
+            ps.setString(3, e.action());
+            ps.setLong(4, e.userId());
+            ps.setString(5, e.oldValue());
+            ps.setString(6, e.newValue());
+            ps.setString(7, e.description());
+            ps.setTimestamp(8, Timestamp.valueOf(e.createdAt()));
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.CBS.Dashboard.service.test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of audit_logs (database/partition_audit_logs.sql): creates the
+ * partitions for the coming months ahead of time and retires months older than the retention
+ * period by detaching (kept as a standalone table for archiving) or dropping the whole partition.
+ * Does nothing until audit_logs has been partitioned.
+ */
+@Service
+public class AuditPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionService.class);
+
+    private static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    public enum RetentionMode { DETACH, DROP }
+
+    @Value("${app.audit.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    /** Whole months kept before the current one; 0 keeps everything. */
+    @Value("${app.audit.retention.months:24}")
+    private int retentionMonths;
+
+    @Value("${app.audit.retention.mode:DETACH}")
+    private RetentionMode retentionMode;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.audit.partitions.maintain-cron:0 15 2 * * *}")
+    public synchronized void maintain() {
+        if (!isPartitioned()) {
+            logger.debug("audit_logs is not partitioned; skipping partition maintenance");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (String partition : partitions()) {
+                YearMonth month = monthOf(partition);
+                if (month != null && month.isBefore(oldestKept)) {
+                    retire(partition);
+                }
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = 'audit_logs' AND pg_table_is_visible(c.oid)", Integer.class);
+            return count != null && count > 0;
+        } catch (DataAccessException e) {
+            // Not PostgreSQL (e.g. the H2 test database)
+            return false;
+        }
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'audit_logs' AND pg_table_is_visible(p.oid) ORDER BY c.relname", String.class);
+    }
+
+    private void createPartition(YearMonth month) {
+        // Identifiers and bounds come from YearMonth, never from user input
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+            " PARTITION OF audit_logs FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+            month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void retire(String partition) {
+        if (retentionMode == RetentionMode.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            logger.info("Dropped audit partition {}", partition);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+            logger.info("Detached audit partition {}; archive or drop the table when no longer needed", partition);
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (!partition.matches(PARTITION_PREFIX + "\\d{6}")) {
+            return null;
+        }
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.CBS.Dashboard.service.test;
 
+import com.example.CBS.Dashboard.dto.common.CursorPage;
 import com.example.CBS.Dashboard.dto.test.CreateDefectRequest;
 import com.example.CBS.Dashboard.dto.test.DefectDto;
 import com.example.CBS.Dashboard.dto.test.UpdateDefectRequest;
@@ -7,11 +8,16 @@ import com.example.CBS.Dashboard.entity.*;
 import com.example.CBS.Dashboard.mapper.DefectMapper;
 import com.example.CBS.Dashboard.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -57,7 +63,7 @@ public class DefectService {
         }
         
         Defect saved = defectRepository.save(defect);
-        auditLogService.logAction("DEFECT", saved.getId(), "CREATE", user, null, 
+        auditLogService.logChange("DEFECT", saved.getId(), "CREATE", user, null, auditSnapshot(saved),
             "Created defect: " + saved.getTitle());
         
         return mapper.toDto(saved);
@@ -65,9 +71,17 @@ public class DefectService {
     
     @Transactional(readOnly = true)
     public List<DefectDto> getAllDefects() {
-        return defectRepository.findAll().stream()
-            .map(mapper::toDto)
-            .collect(Collectors.toList());
+        return toListDtos(defectRepository.findListRows());
+    }
+    
+    /** Cursor-paginated defect list, newest first; filters as in {@link #getDefectsByFilters}, all optional. */
+    @Transactional(readOnly = true)
+    public CursorPage<DefectDto> getDefectsPage(String cursor, int size, Defect.DefectStatus status,
+                                                Defect.DefectSeverity severity, Long assignedToId) {
+        int pageSize = CursorPage.pageSize(size);
+        List<DefectRepository.DefectListRow> rows = defectRepository.findListRowsBefore(
+            status, severity, assignedToId, CursorPage.decodeIdCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return CursorPage.ofRows(rows, pageSize, row -> CursorPage.encodeCursor(row.getId()), this::toListDtos);
     }
     
     @Transactional(readOnly = true)
@@ -80,9 +94,7 @@ public class DefectService {
     @Transactional(readOnly = true)
     public List<DefectDto> getDefectsByFilters(Defect.DefectStatus status, 
                                                Defect.DefectSeverity severity, Long assignedToId) {
-        return defectRepository.findByFilters(status, severity, assignedToId).stream()
-            .map(mapper::toDto)
-            .collect(Collectors.toList());
+        return toListDtos(defectRepository.findListRowsByFilters(status, severity, assignedToId));
     }
     
     @Transactional
@@ -93,7 +105,7 @@ public class DefectService {
         Defect defect = defectRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Defect not found with id: " + id));
         
-        String oldValue = defect.toString();
+        Map<String, Object> before = auditSnapshot(defect);
         
         if (request.getTitle() != null) defect.setTitle(request.getTitle());
         if (request.getDescription() != null) defect.setDescription(request.getDescription());
@@ -107,7 +119,7 @@ public class DefectService {
         }
         
         Defect updated = defectRepository.save(defect);
-        auditLogService.logAction("DEFECT", updated.getId(), "UPDATE", user, oldValue, 
+        auditLogService.logChange("DEFECT", updated.getId(), "UPDATE", user, before, auditSnapshot(updated),
             "Updated defect: " + updated.getTitle());
         
         return mapper.toDto(updated);
@@ -121,10 +133,36 @@ public class DefectService {
         Defect defect = defectRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Defect not found with id: " + id));
         
-        auditLogService.logAction("DEFECT", id, "DELETE", user, defect.toString(), 
+        auditLogService.logChange("DEFECT", id, "DELETE", user, auditSnapshot(defect), null,
             "Deleted defect: " + defect.getTitle());
         
         defectRepository.deleteById(id);
     }
+    
+    private List<DefectDto> toListDtos(List<DefectRepository.DefectListRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<String>> attachments = new HashMap<>();
+        List<Long> ids = rows.stream().map(DefectRepository.DefectListRow::getId).collect(Collectors.toList());
+        for (DefectRepository.DefectAttachment attachment : defectRepository.findAttachmentsByDefectIdIn(ids)) {
+            attachments.computeIfAbsent(attachment.getDefectId(), id -> new ArrayList<>()).add(attachment.getFilePath());
+        }
+        return rows.stream()
+            .map(row -> mapper.toDto(row, attachments.getOrDefault(row.getId(), new ArrayList<>())))
+            .collect(Collectors.toList());
+    }
+    
+    /** Audited fields, associations by id only (reading a proxy's id does not load it). */
+    private static Map<String, Object> auditSnapshot(Defect defect) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", defect.getTitle());
+        fields.put("description", defect.getDescription());
+        fields.put("severity", defect.getSeverity());
+        fields.put("status", defect.getStatus());
+        fields.put("testCaseId", defect.getTestCase() != null ? defect.getTestCase().getId() : null);
+        fields.put("testExecutionId", defect.getTestExecution() != null ? defect.getTestExecution().getId() : null);
+        fields.put("assignedToId", defect.getAssignedTo() != null ? defect.getAssignedTo().getId() : null);
+        return fields;
+    }
 }
-
@@ -11,7 +11,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +34,7 @@ public class TestCaseService {
         
         TestCase testCase = new TestCase();
         testCase.setTitle(request.getTitle());
+        testCase.setExternalKey(checkExternalKey(request.getExternalKey(), null));
         testCase.setPreconditions(request.getPreconditions());
         testCase.setSteps(request.getSteps());
         testCase.setExpectedResult(request.getExpectedResult());
@@ -51,7 +55,7 @@ public class TestCaseService {
         }
         
         TestCase saved = testCaseRepository.save(testCase);
-        auditLogService.logAction("TEST_CASE", saved.getId(), "CREATE", user, null, 
+        auditLogService.logChange("TEST_CASE", saved.getId(), "CREATE", user, null, auditSnapshot(saved),
             "Created test case: " + saved.getTitle());
         
         return mapper.toDto(saved);
@@ -94,9 +98,10 @@ public class TestCaseService {
         TestCase testCase = testCaseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Test case not found with id: " + id));
         
-        String oldValue = testCase.toString();
+        Map<String, Object> before = auditSnapshot(testCase);
         
         if (request.getTitle() != null) testCase.setTitle(request.getTitle());
+        if (request.getExternalKey() != null) testCase.setExternalKey(checkExternalKey(request.getExternalKey(), id));
         if (request.getPreconditions() != null) testCase.setPreconditions(request.getPreconditions());
         if (request.getSteps() != null) testCase.setSteps(request.getSteps());
         if (request.getExpectedResult() != null) testCase.setExpectedResult(request.getExpectedResult());
@@ -116,7 +121,7 @@ public class TestCaseService {
         }
         
         TestCase updated = testCaseRepository.save(testCase);
-        auditLogService.logAction("TEST_CASE", updated.getId(), "UPDATE", user, oldValue, 
+        auditLogService.logChange("TEST_CASE", updated.getId(), "UPDATE", user, before, auditSnapshot(updated),
             "Updated test case: " + updated.getTitle());
         
         return mapper.toDto(updated);
@@ -130,10 +135,42 @@ public class TestCaseService {
         TestCase testCase = testCaseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Test case not found with id: " + id));
         
-        auditLogService.logAction("TEST_CASE", id, "DELETE", user, testCase.toString(), 
+        auditLogService.logChange("TEST_CASE", id, "DELETE", user, auditSnapshot(testCase), null,
             "Deleted test case: " + testCase.getTitle());
         
         testCaseRepository.deleteById(id);
     }
+    
+    /**
+     * Normalizes an external key (blank clears it) and rejects one already used by another test case.
+     * @param testCaseId the case being updated, or null on create
+     */
+    private String checkExternalKey(String externalKey, Long testCaseId) {
+        if (externalKey == null || externalKey.isBlank()) {
+            return null;
+        }
+        String key = externalKey.trim();
+        testCaseRepository.findIdByExternalKey(key)
+            .filter(existingId -> !existingId.equals(testCaseId))
+            .ifPresent(existingId -> {
+                throw new IllegalArgumentException("External key already used by test case " + existingId);
+            });
+        return key;
+    }
+    
+    /** Audited fields, associations by id only (reading a proxy's id does not load it). */
+    private static Map<String, Object> auditSnapshot(TestCase testCase) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", testCase.getTitle());
+        fields.put("externalKey", testCase.getExternalKey());
+        fields.put("preconditions", testCase.getPreconditions());
+        fields.put("steps", testCase.getSteps() != null ? new ArrayList<>(testCase.getSteps()) : null);
+        fields.put("expectedResult", testCase.getExpectedResult());
+        fields.put("priority", testCase.getPriority());
+        fields.put("status", testCase.getStatus());
+        fields.put("moduleId", testCase.getModule() != null ? testCase.getModule().getId() : null);
+        fields.put("assignedToId", testCase.getAssignedTo() != null ? testCase.getAssignedTo().getId() : null);
+        return fields;
+    }
 }
 
@@ -10,7 +10,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,84 +19,53 @@ public class TestReportService {
     private final TestExecutionRepository testExecutionRepository;
     private final DefectRepository defectRepository;
     
+    /**
+     * Builds the report from GROUP BY counts; no test case, execution or defect rows are loaded.
+     * With a moduleId, every figure (defects included, through their test case) is scoped to that module.
+     */
     @Transactional(readOnly = true)
     public TestReportDto generateReport(Long moduleId) {
         TestReportDto report = new TestReportDto();
         
-        List<TestCase> testCases;
-        if (moduleId != null) {
-            testCases = testCaseRepository.findByModuleId(moduleId);
-        } else {
-            testCases = testCaseRepository.findAll();
-        }
-        
-        report.setTotalTestCases((long) testCases.size());
-        
-        List<TestExecution> executions;
-        if (moduleId != null) {
-            executions = testExecutionRepository.findByModuleId(moduleId);
-        } else {
-            executions = testExecutionRepository.findAll();
-        }
-        
-        report.setTotalExecutions((long) executions.size());
-        
-        report.setPassedCount(executions.stream()
-            .filter(e -> e.getStatus() == TestExecution.ExecutionStatus.PASSED)
-            .count());
-        
-        report.setFailedCount(executions.stream()
-            .filter(e -> e.getStatus() == TestExecution.ExecutionStatus.FAILED)
-            .count());
-        
-        report.setBlockedCount(executions.stream()
-            .filter(e -> e.getStatus() == TestExecution.ExecutionStatus.BLOCKED)
-            .count());
-        
-        report.setRetestCount(executions.stream()
-            .filter(e -> e.getStatus() == TestExecution.ExecutionStatus.RETEST)
-            .count());
-        
-        List<Defect> defects = defectRepository.findAll();
-        report.setTotalDefects((long) defects.size());
-        
         // Status distribution
-        Map<String, Long> statusDist = new HashMap<>();
-        testCases.stream()
-            .collect(Collectors.groupingBy(tc -> tc.getStatus().name(), Collectors.counting()))
-            .forEach(statusDist::put);
+        Map<String, Long> statusDist = toDistribution(testCaseRepository.countByStatus(moduleId));
         report.setStatusDistribution(statusDist);
+        report.setTotalTestCases(total(statusDist));
         
         // Priority distribution
-        Map<String, Long> priorityDist = new HashMap<>();
-        testCases.stream()
-            .collect(Collectors.groupingBy(tc -> tc.getPriority().name(), Collectors.counting()))
-            .forEach(priorityDist::put);
-        report.setPriorityDistribution(priorityDist);
+        report.setPriorityDistribution(toDistribution(testCaseRepository.countByPriority(moduleId)));
         
         // Module distribution
-        Map<String, Long> moduleDist = new HashMap<>();
-        testCases.stream()
-            .filter(tc -> tc.getModule() != null)
-            .collect(Collectors.groupingBy(tc -> tc.getModule().getName(), Collectors.counting()))
-            .forEach(moduleDist::put);
-        report.setModuleDistribution(moduleDist);
+        report.setModuleDistribution(toDistribution(testCaseRepository.countByModuleName(moduleId)));
+        
+        Map<String, Long> executionDist = toDistribution(testExecutionRepository.countByStatus(moduleId));
+        report.setTotalExecutions(total(executionDist));
+        report.setPassedCount(executionDist.getOrDefault(TestExecution.ExecutionStatus.PASSED.name(), 0L));
+        report.setFailedCount(executionDist.getOrDefault(TestExecution.ExecutionStatus.FAILED.name(), 0L));
+        report.setBlockedCount(executionDist.getOrDefault(TestExecution.ExecutionStatus.BLOCKED.name(), 0L));
+        report.setRetestCount(executionDist.getOrDefault(TestExecution.ExecutionStatus.RETEST.name(), 0L));
         
         // Defect status distribution
-        Map<String, Long> defectStatusDist = new HashMap<>();
-        defects.stream()
-            .collect(Collectors.groupingBy(d -> d.getStatus().name(), Collectors.counting()))
-            .forEach(defectStatusDist::put);
+        Map<String, Long> defectStatusDist = toDistribution(defectRepository.countByStatus(moduleId));
         report.setDefectStatusDistribution(defectStatusDist);
+        report.setTotalDefects(total(defectStatusDist));
         
         // Defect severity distribution
-        Map<String, Long> defectSeverityDist = new HashMap<>();
-        defects.stream()
-            .collect(Collectors.groupingBy(d -> d.getSeverity().name(), Collectors.counting()))
-            .forEach(defectSeverityDist::put);
-        report.setDefectSeverityDistribution(defectSeverityDist);
+        report.setDefectSeverityDistribution(toDistribution(defectRepository.countBySeverity(moduleId)));
         
         return report;
     }
+    
+    private static Map<String, Long> toDistribution(List<CountBucket> buckets) {
+        Map<String, Long> distribution = new HashMap<>();
+        for (CountBucket bucket : buckets) {
+            String key = bucket.getBucket() instanceof Enum<?> e ? e.name() : String.valueOf(bucket.getBucket());
+            distribution.merge(key, bucket.getTotal(), Long::sum);
+        }
+        return distribution;
+    }
+    
+    private static long total(Map<String, Long> distribution) {
+        return distribution.values().stream().mapToLong(Long::longValue).sum();
+    }
 }
-
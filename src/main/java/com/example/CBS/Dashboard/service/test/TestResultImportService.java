@@ -0,0 +1,485 @@
+package com.example.CBS.Dashboard.service.test;
+
+import com.example.CBS.Dashboard.dto.test.TestResultImportResult;
+import com.example.CBS.Dashboard.entity.Defect;
+import com.example.CBS.Dashboard.entity.TestExecution;
+import com.example.CBS.Dashboard.entity.User;
+import com.example.CBS.Dashboard.repository.DefectRepository;
+import com.example.CBS.Dashboard.repository.TestCaseRepository;
+import com.example.CBS.Dashboard.repository.TestExecutionRepository;
+import com.example.CBS.Dashboard.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of automated test results from JUnit XML or CSV as test executions.
+ * <p>
+ * The body is parsed as a stream (StAX for XML) and handled in chunks: each chunk matches its
+ * results to test cases with one query (by external key, falling back to title), inserts its
+ * executions as JDBC batches in its own transaction and, when asked, opens a defect for every
+ * failing test case that has no open defect yet. If a chunk fails to save, its rows are retried one
+ * by one so a single bad row is reported instead of failing its neighbours. Only the per-row
+ * outcome and the test case keys already resolved are kept for the whole import.
+ */
+@Service
+public class TestResultImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestResultImportService.class);
+
+    /** CSV columns: external_key, title, status (PASSED, FAILED, BLOCKED, RETEST), comments. */
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    /** Failure text kept per result; stack traces beyond this are cut. */
+    private static final int MAX_DETAIL_CHARS = 4000;
+    private static final int MAX_DEFECT_TITLE = 500;
+
+    private static final List<Defect.DefectStatus> OPEN_DEFECT_STATUSES =
+            List.of(Defect.DefectStatus.NEW, Defect.DefectStatus.IN_PROGRESS);
+
+    @Value("${app.test-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestCaseRepository testCaseRepository;
+
+    @Autowired
+    private TestExecutionRepository testExecutionRepository;
+
+    @Autowired
+    private DefectRepository defectRepository;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Reads every &lt;testcase&gt; of a JUnit XML report (single &lt;testsuite&gt; or &lt;testsuites&gt;).
+     * A case with &lt;failure&gt; or &lt;error&gt; is FAILED, one with &lt;skipped&gt; is BLOCKED,
+     * any other is PASSED. Its external key is "classname.name" and its title is the name.
+     */
+    public TestResultImportResult importJunitXml(InputStream in, boolean createDefects, String username) {
+        ImportRun run = new ImportRun(executorId(username), createDefects);
+        XMLStreamReader reader = null;
+        int rowNumber = 0;
+        try {
+            reader = xmlInputFactory().createXMLStreamReader(in);
+            String suiteName = null;
+            JunitCase current = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "testsuite" -> suiteName = reader.getAttributeValue(null, "name");
+                        case "testcase" -> {
+                            rowNumber++;
+                            String classname = reader.getAttributeValue(null, "classname");
+                            current = new JunitCase(rowNumber, blankToNull(reader.getAttributeValue(null, "name")),
+                                blankToNull(classname != null ? classname : suiteName));
+                        }
+                        case "failure", "error" -> {
+                            if (current != null) {
+                                current.fail(reader.getAttributeValue(null, "message"));
+                            }
+                        }
+                        case "skipped" -> {
+                            if (current != null) {
+                                current.skip(reader.getAttributeValue(null, "message"));
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                } else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+                        && current != null) {
+                    current.text(reader.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (current != null && (name.equals("failure") || name.equals("error"))) {
+                        current.capturing = false;
+                    } else if (current != null && name.equals("testcase")) {
+                        current.submit(run);
+                        current = null;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            // Results read before the error are imported; the rest of the file is reported as one error
+            run.reject(rowNumber + 1, null, null, null, "Malformed JUnit XML"
+                + (e.getLocation() != null ? " at line " + e.getLocation().getLineNumber() : "")
+                + ", rest of file skipped: " + e.getMessage());
+        } finally {
+            closeQuietly(reader);
+        }
+        return run.finish();
+    }
+
+    public TestResultImportResult importCsv(InputStream in, boolean createDefects, String username) throws IOException {
+        ImportRun run = new ImportRun(executorId(username), createDefects);
+        try (MappingIterator<Map<String, String>> lines =
+                 CSV_MAPPER.readerForMapOf(String.class).with(CSV_SCHEMA).readValues(in)) {
+            int lineNumber = 0;
+            while (lines.hasNextValue()) {
+                Map<String, String> line = lines.nextValue();
+                lineNumber++;
+                String externalKey = blankToNull(line.get("external_key"));
+                String title = blankToNull(line.get("title"));
+                String status = blankToNull(line.get("status"));
+                if (status == null) {
+                    run.reject(lineNumber, externalKey, title, null, "Status is required");
+                    continue;
+                }
+                TestExecution.ExecutionStatus executionStatus;
+                try {
+                    executionStatus = TestExecution.ExecutionStatus.valueOf(status.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    run.reject(lineNumber, externalKey, title, null, "Unknown status: " + status);
+                    continue;
+                }
+                run.add(lineNumber, externalKey, title, executionStatus, truncate(blankToNull(line.get("comments"))));
+            }
+        }
+        return run.finish();
+    }
+
+    private Long executorId(String username) {
+        return userRepository.findByUsername(username)
+            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username))
+            .getId();
+    }
+
+    /** DTDs and external entities are disabled, so a report cannot read local files or call out. */
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // Nothing left to read
+            }
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_DETAIL_CHARS ? value.substring(0, MAX_DETAIL_CHARS) : value;
+    }
+
+    /** One &lt;testcase&gt; being read; the failure text is collected up to {@link #MAX_DETAIL_CHARS}. */
+    private static class JunitCase {
+        private final int row;
+        private final String name;
+        private final String classname;
+        private TestExecution.ExecutionStatus status = TestExecution.ExecutionStatus.PASSED;
+        private final StringBuilder detail = new StringBuilder();
+        private boolean capturing;
+
+        JunitCase(int row, String name, String classname) {
+            this.row = row;
+            this.name = name;
+            this.classname = classname;
+        }
+
+        void fail(String message) {
+            // A case can report several failures/errors; the first one describes it
+            if (status != TestExecution.ExecutionStatus.FAILED) {
+                status = TestExecution.ExecutionStatus.FAILED;
+                detail.setLength(0);
+                if (message != null) {
+                    detail.append(message).append('\n');
+                }
+                capturing = true;
+            }
+        }
+
+        void skip(String message) {
+            if (status == TestExecution.ExecutionStatus.PASSED) {
+                status = TestExecution.ExecutionStatus.BLOCKED;
+                if (message != null) {
+                    detail.append(message);
+                }
+            }
+        }
+
+        void text(String text) {
+            if (capturing && detail.length() < MAX_DETAIL_CHARS) {
+                detail.append(text, 0, Math.min(text.length(), MAX_DETAIL_CHARS - detail.length()));
+            }
+        }
+
+        void submit(ImportRun run) {
+            if (name == null) {
+                run.reject(row, null, null, status, "Test case has no name");
+                return;
+            }
+            String externalKey = classname != null ? classname + "." + name : name;
+            String comments = status == TestExecution.ExecutionStatus.PASSED ? null : truncate(blankToNull(detail.toString()));
+            run.add(row, externalKey, name, status, comments);
+        }
+    }
+
+    private record PendingResult(int row, String externalKey, String title,
+                                 TestExecution.ExecutionStatus status, String comments) {
+    }
+
+    private record Matched(PendingResult result, Long testCaseId) {
+    }
+
+    private record Saved(Long executionId, Long defectId) {
+    }
+
+    /** State of one import: the current chunk, the outcome of every row and the test cases resolved so far. */
+    private class ImportRun {
+        private final TestResultImportResult result = new TestResultImportResult();
+        private final Long executorId;
+        private final boolean createDefects;
+        private final List<PendingResult> chunk = new ArrayList<>();
+
+        /** Test case ids by external key and by title; a looked-up key without a match maps to an empty list. */
+        private final Map<String, List<Long>> idsByKey = new HashMap<>();
+        private final Map<String, List<Long>> idsByTitle = new HashMap<>();
+        private final Map<Long, String> titles = new HashMap<>();
+        /** Failing test cases already checked for an open defect, and those that have one. */
+        private final Set<Long> defectChecked = new HashSet<>();
+        private final Set<Long> withOpenDefect = new HashSet<>();
+
+        ImportRun(Long executorId, boolean createDefects) {
+            this.executorId = executorId;
+            this.createDefects = createDefects;
+        }
+
+        void add(int row, String externalKey, String title, TestExecution.ExecutionStatus status, String comments) {
+            if (externalKey == null && title == null) {
+                reject(row, null, null, status, "External key or title is required");
+                return;
+            }
+            chunk.add(new PendingResult(row, externalKey, title, status, comments));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String externalKey, String title, TestExecution.ExecutionStatus status, String message) {
+            record(row, externalKey, title, status, TestResultImportResult.Outcome.ERROR, null, null, null, message);
+        }
+
+        TestResultImportResult finish() {
+            flush();
+            result.getRows().sort(Comparator.comparingInt(TestResultImportResult.Row::getRow));
+            result.setTotal(result.getRows().size());
+            logger.info("Test result import finished: {} results, {} created, {} unmatched, {} errors, {} defects",
+                result.getTotal(), result.getCreated(), result.getUnmatched(), result.getErrors(), result.getDefectsCreated());
+            return result;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            resolveTestCases();
+
+            List<Matched> toSave = new ArrayList<>();
+            for (PendingResult pending : chunk) {
+                List<Long> ids = pending.externalKey() != null ? idsByKey.get(pending.externalKey()) : List.of();
+                if (ids.isEmpty() && pending.title() != null) {
+                    ids = idsByTitle.get(pending.title());
+                }
+                if (ids.isEmpty()) {
+                    record(pending.row(), pending.externalKey(), pending.title(), pending.status(),
+                        TestResultImportResult.Outcome.UNMATCHED, null, null, null, "No test case with this external key or title");
+                } else if (ids.size() > 1) {
+                    reject(pending.row(), pending.externalKey(), pending.title(), pending.status(),
+                        ids.size() + " test cases have this title; set an external key to disambiguate");
+                } else {
+                    toSave.add(new Matched(pending, ids.get(0)));
+                }
+            }
+            chunk.clear();
+            if (toSave.isEmpty()) {
+                return;
+            }
+            if (createDefects) {
+                checkOpenDefects(toSave);
+            }
+
+            try {
+                save(toSave);
+            } catch (RuntimeException e) {
+                logger.warn("Import chunk of {} results failed, retrying row by row: {}", toSave.size(), e.getMessage());
+                for (Matched matched : toSave) {
+                    try {
+                        save(List.of(matched));
+                    } catch (RuntimeException rowFailure) {
+                        PendingResult pending = matched.result();
+                        reject(pending.row(), pending.externalKey(), pending.title(), pending.status(),
+                            rowFailure.getMessage());
+                    }
+                }
+            }
+        }
+
+        /** Looks up, in one query, only the keys and titles this chunk needs that earlier chunks did not resolve. */
+        private void resolveTestCases() {
+            Set<String> keys = new HashSet<>();
+            Set<String> titlesToFind = new HashSet<>();
+            for (PendingResult pending : chunk) {
+                if (pending.externalKey() != null && !idsByKey.containsKey(pending.externalKey())) {
+                    keys.add(pending.externalKey());
+                }
+                if (pending.title() != null && !idsByTitle.containsKey(pending.title())) {
+                    titlesToFind.add(pending.title());
+                }
+            }
+            if (keys.isEmpty() && titlesToFind.isEmpty()) {
+                return;
+            }
+            keys.forEach(key -> idsByKey.put(key, new ArrayList<>()));
+            titlesToFind.forEach(title -> idsByTitle.put(title, new ArrayList<>()));
+            // Blank keys and titles are never stored, so "" stands in for an empty set and matches nothing
+            for (TestCaseRepository.MatchKey match : testCaseRepository.findMatchKeys(
+                    keys.isEmpty() ? Set.of("") : keys, titlesToFind.isEmpty() ? Set.of("") : titlesToFind)) {
+                titles.put(match.getId(), match.getTitle());
+                if (keys.contains(match.getExternalKey())) {
+                    idsByKey.get(match.getExternalKey()).add(match.getId());
+                }
+                if (titlesToFind.contains(match.getTitle())) {
+                    idsByTitle.get(match.getTitle()).add(match.getId());
+                }
+            }
+        }
+
+        /** Finds which failing test cases of the chunk, not seen before, already have an open defect. */
+        private void checkOpenDefects(List<Matched> matched) {
+            Set<Long> unchecked = new HashSet<>();
+            for (Matched m : matched) {
+                if (m.result().status() == TestExecution.ExecutionStatus.FAILED && !defectChecked.contains(m.testCaseId())) {
+                    unchecked.add(m.testCaseId());
+                }
+            }
+            if (!unchecked.isEmpty()) {
+                withOpenDefect.addAll(defectRepository.findTestCaseIdsWithDefectIn(unchecked, OPEN_DEFECT_STATUSES));
+                defectChecked.addAll(unchecked);
+            }
+        }
+
+        /**
+         * Saves the executions (and defects for new failures) in one transaction. Executions take
+         * pooled sequence ids, so Hibernate sends them as JDBC batches.
+         */
+        private void save(List<Matched> rows) {
+            Set<Long> defected = new HashSet<>(withOpenDefect);
+            List<Saved> saved = new TransactionTemplate(transactionManager).execute(status -> {
+                User executor = userRepository.getReferenceById(executorId);
+                List<TestExecution> executions = new ArrayList<>(rows.size());
+                for (Matched m : rows) {
+                    TestExecution execution = new TestExecution();
+                    execution.setTestCase(testCaseRepository.getReferenceById(m.testCaseId()));
+                    execution.setExecutedBy(executor);
+                    execution.setStatus(m.result().status());
+                    execution.setComments(m.result().comments());
+                    executions.add(execution);
+                }
+                testExecutionRepository.saveAll(executions);
+                // Send the execution batches before any defect insert refers to them
+                testExecutionRepository.flush();
+
+                List<Saved> outcomes = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    Matched m = rows.get(i);
+                    TestExecution execution = executions.get(i);
+                    Defect defect = null;
+                    if (createDefects && m.result().status() == TestExecution.ExecutionStatus.FAILED
+                            && defected.add(m.testCaseId())) {
+                        defect = new Defect();
+                        String title = "Automated test failed: " + titles.get(m.testCaseId());
+                        defect.setTitle(title.length() > MAX_DEFECT_TITLE ? title.substring(0, MAX_DEFECT_TITLE) : title);
+                        defect.setDescription(m.result().comments());
+                        defect.setSeverity(Defect.DefectSeverity.MEDIUM);
+                        defect.setStatus(Defect.DefectStatus.NEW);
+                        defect.setReportedBy(executor);
+                        defect.setTestCase(execution.getTestCase());
+                        defect.setTestExecution(execution);
+                        defectRepository.save(defect);
+                        auditLogService.logAction("DEFECT", defect.getId(), "CREATE", executor, null,
+                            "Created defect for imported failure: " + titles.get(m.testCaseId()));
+                    }
+                    auditLogService.logAction("TEST_EXECUTION", execution.getId(), "EXECUTE", executor, null,
+                        "Imported result for test case: " + titles.get(m.testCaseId()) + " with status: " + m.result().status());
+                    outcomes.add(new Saved(execution.getId(), defect != null ? defect.getId() : null));
+                }
+                entityManager.flush();
+                // The chunk's entities are no longer needed; keep the persistence context from growing
+                // across chunks when it is shared with the request (open-in-view)
+                entityManager.clear();
+                return outcomes;
+            });
+
+            withOpenDefect.addAll(defected);
+            for (int i = 0; i < rows.size(); i++) {
+                PendingResult pending = rows.get(i).result();
+                Long defectId = saved.get(i).defectId();
+                record(pending.row(), pending.externalKey(), pending.title(), pending.status(),
+                    TestResultImportResult.Outcome.CREATED, rows.get(i).testCaseId(), saved.get(i).executionId(), defectId, null);
+                if (defectId != null) {
+                    result.setDefectsCreated(result.getDefectsCreated() + 1);
+                }
+            }
+        }
+
+        private void record(int row, String externalKey, String title, TestExecution.ExecutionStatus status,
+                            TestResultImportResult.Outcome outcome, Long testCaseId, Long executionId, Long defectId,
+                            String message) {
+            result.getRows().add(new TestResultImportResult.Row(row, externalKey, title, status, outcome,
+                testCaseId, executionId, defectId, message));
+            switch (outcome) {
+                case CREATED -> result.setCreated(result.getCreated() + 1);
+                case UNMATCHED -> result.setUnmatched(result.getUnmatched() + 1);
+                case ERROR -> result.setErrors(result.getErrors() + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.CBS.Dashboard.service.test;
+
+import com.example.CBS.Dashboard.dto.common.CursorPage;
+import com.example.CBS.Dashboard.dto.test.TestSearchHitDto;
+import com.example.CBS.Dashboard.dto.test.TestSearchResultDto;
+import com.example.CBS.Dashboard.repository.TestSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked full-text search across test cases, defects and comments.
+ * Every word of the query must match (as a prefix of an indexed word, so "login fail" finds
+ * "logins failed"); hits are ordered by ts_rank and come with a highlighted snippet.
+ */
+@Service
+@RequiredArgsConstructor
+public class TestSearchService {
+
+    public static final Set<String> TYPES = Set.of("TEST_CASE", "DEFECT", "COMMENT");
+
+    private static final int MAX_TERMS = 10;
+    private static final int MAX_PAGE = 50;
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    // ts_headline wraps matches in these private-use characters; they survive HTML escaping and
+    // are then turned into <mark> tags, so stored text can never inject markup into the snippet
+    private static final String START_SEL = "\uE000";
+    private static final String STOP_SEL = "\uE001";
+    private static final String HEADLINE_OPTIONS = "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL +
+            ", MaxWords=35, MinWords=15, MaxFragments=2, FragmentDelimiter=\" ... \"";
+
+    private final TestSearchRepository testSearchRepository;
+
+    private volatile boolean schemaReady;
+
+    /**
+     * @param types TEST_CASE, DEFECT and/or COMMENT; null or empty searches all three
+     * @param page  zero-based; deep pages are rejected since ranked results cannot be seeked
+     */
+    @Transactional(readOnly = true)
+    public TestSearchResultDto search(String query, Set<String> types, int page, int size) {
+        String tsQuery = toTsQuery(query);
+        Set<String> include = types == null || types.isEmpty() ? TYPES : normalizeTypes(types);
+        if (page < 0 || page > MAX_PAGE) {
+            throw new IllegalArgumentException("Page must be between 0 and " + MAX_PAGE);
+        }
+        int pageSize = CursorPage.pageSize(size);
+        assertSchemaReady();
+
+        List<TestSearchRepository.SearchHit> rows = testSearchRepository.search(tsQuery,
+                include.contains("TEST_CASE"), include.contains("DEFECT"), include.contains("COMMENT"),
+                HEADLINE_OPTIONS, pageSize + 1, page * pageSize);
+        boolean hasNext = rows.size() > pageSize;
+
+        List<TestSearchHitDto> hits = new ArrayList<>();
+        for (TestSearchRepository.SearchHit row : hasNext ? rows.subList(0, pageSize) : rows) {
+            hits.add(new TestSearchHitDto(row.getType(), row.getId(), row.getTitle(),
+                    row.getTestCaseId(), row.getDefectId(), row.getRank(), highlight(row.getSnippet())));
+        }
+        return new TestSearchResultDto(query, page, pageSize, hasNext, hits);
+    }
+
+    /**
+     * Builds a to_tsquery expression from free text: letters and digits only, each word a prefix
+     * match, all words required. Operators typed by the user are never passed through.
+     */
+    static String toTsQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query != null) {
+            Matcher matcher = TERM.matcher(query.toLowerCase(Locale.ROOT));
+            while (matcher.find() && terms.size() < MAX_TERMS) {
+                terms.add(matcher.group() + ":*");
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        return String.join(" & ", terms);
+    }
+
+    private static Set<String> normalizeTypes(Set<String> types) {
+        Set<String> normalized = new HashSet<>();
+        for (String type : types) {
+            String value = type.trim().toUpperCase(Locale.ROOT);
+            if (!TYPES.contains(value)) {
+                throw new IllegalArgumentException("Invalid search type: " + type);
+            }
+            normalized.add(value);
+        }
+        return normalized;
+    }
+
+    private static String highlight(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet)
+                .replace(START_SEL, "<mark>")
+                .replace(STOP_SEL, "</mark>");
+    }
+
+    private void assertSchemaReady() {
+        if (!schemaReady) {
+            if (testSearchRepository.countSearchVectorColumns() < 3) {
+                throw new IllegalStateException(
+                        "Full-text search is not set up; run database/create_test_search_vectors.sql");
+            }
+            schemaReady = true;
+        }
+    }
+}
@@ -8,7 +8,7 @@ import com.example.CBS.Dashboard.entity.User;
 import com.example.CBS.Dashboard.repository.AttendanceRepository;
 import com.example.CBS.Dashboard.repository.TrainingSessionRepository;
 import com.example.CBS.Dashboard.repository.UserRepository;
-import com.example.CBS.Dashboard.service.user.UserService;
+import com.example.CBS.Dashboard.service.user.SignatureStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -25,7 +25,9 @@ public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final TrainingSessionRepository sessionRepository;
     private final UserRepository userRepository;
-    private final UserService userService;
+    private final SignatureStore signatureStore;
+    private final TrainingFactService trainingFactService;
+    private final TrainingReportCache reportCache;
 
     @Transactional
     public void markAttendance(MarkAttendanceRequest request, String username) {
@@ -43,21 +45,22 @@ public class AttendanceService {
             LocalDateTime now = studentAttendance.getAttendanceDate() != null
                 ? studentAttendance.getAttendanceDate() : LocalDateTime.now();
 
-            final String signatureData;
+            final String signatureHash;
             final Attendance.SignatureType signatureType;
             final LocalDateTime signedAt;
             if (status == Attendance.AttendanceStatus.PRESENT) {
-                String participantSignature = userService.getSignatureData(participant.getUsername());
-                if (participantSignature == null || participantSignature.isBlank()) {
+                // The attendance row references the participant's stored signature image instead of copying it
+                String participantSignature = signatureStore.hashFor(participant);
+                if (participantSignature == null) {
                     throw new IllegalStateException(
                         "Cannot mark Present: student '" + (participant.getFullName() != null ? participant.getFullName() : participant.getUsername())
                             + "' has no saved e-signature. Please ask the student to create and save their signature in My E-Signature first.");
                 }
-                signatureData = participantSignature;
+                signatureHash = participantSignature;
                 signatureType = Attendance.SignatureType.PRESENT;
                 signedAt = LocalDateTime.now();
             } else {
-                signatureData = null;
+                signatureHash = null;
                 signatureType = null;
                 signedAt = null;
             }
@@ -71,8 +74,9 @@ public class AttendanceService {
                     existing.setNotes(studentAttendance.getNotes());
                     existing.setAttendanceDate(now);
                     existing.setMarkedBy(markedBy);
-                    if (signatureData != null) {
-                        existing.setSignatureData(signatureData);
+                    if (signatureHash != null) {
+                        existing.setSignatureHash(signatureHash);
+                        existing.setSignatureData(null);
                         existing.setSignatureType(signatureType);
                         existing.setSignedAt(signedAt);
                     }
@@ -86,8 +90,8 @@ public class AttendanceService {
                     attendance.setNotes(studentAttendance.getNotes());
                     attendance.setAttendanceDate(now);
                     attendance.setMarkedBy(markedBy);
-                    if (signatureData != null) {
-                        attendance.setSignatureData(signatureData);
+                    if (signatureHash != null) {
+                        attendance.setSignatureHash(signatureHash);
                         attendance.setSignatureType(signatureType);
                         attendance.setSignedAt(signedAt);
                     }
@@ -95,6 +99,8 @@ public class AttendanceService {
                 }
             );
         }
+        trainingFactService.markDirty(session.getProgram().getId(), session.getStartDateTime());
+        reportCache.invalidateSessionAfterCommit(session.getStartDateTime());
     }
 
     /** Student acknowledges session materials for an ABSENT/EXCUSED record by applying their e-signature. */
@@ -113,11 +119,12 @@ public class AttendanceService {
         if (signatureData == null || signatureData.isBlank()) {
             throw new IllegalArgumentException("Signature is required to acknowledge.");
         }
-        String cleanData = signatureData.contains(",") ? signatureData.substring(signatureData.indexOf(",") + 1).trim() : signatureData;
-        attendance.setSignatureData(cleanData);
+        attendance.setSignatureHash(signatureStore.store(signatureData));
+        attendance.setSignatureData(null);
         attendance.setSignatureType(Attendance.SignatureType.ACKNOWLEDGMENT);
         attendance.setSignedAt(LocalDateTime.now());
         attendanceRepository.save(attendance);
+        reportCache.invalidateSessionAfterCommit(attendance.getSession().getStartDateTime());
     }
     
     @Transactional(readOnly = true)
@@ -151,7 +158,7 @@ public class AttendanceService {
         dto.setMarkedByUsername(attendance.getMarkedBy().getUsername());
         dto.setCreatedAt(attendance.getCreatedAt());
         dto.setUpdatedAt(attendance.getUpdatedAt());
-        dto.setSignatureData(attendance.getSignatureData());
+        dto.setSignatureData(signatureStore.resolve(attendance.getSignatureHash(), attendance.getSignatureData()));
         dto.setSignatureType(attendance.getSignatureType() != null ? attendance.getSignatureType().name() : null);
         dto.setSignedAt(attendance.getSignedAt());
         return dto;
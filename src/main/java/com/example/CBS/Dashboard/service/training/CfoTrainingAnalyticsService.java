@@ -1,13 +1,12 @@
 package com.example.CBS.Dashboard.service.training;
 
 import com.example.CBS.Dashboard.dto.training.CfoTrainingDashboardDto;
-import com.example.CBS.Dashboard.entity.Attendance;
 import com.example.CBS.Dashboard.entity.Enrollment;
+import com.example.CBS.Dashboard.entity.TrainingMonthlyFact;
 import com.example.CBS.Dashboard.entity.TrainingProgram;
 import com.example.CBS.Dashboard.entity.TrainingSession;
-import com.example.CBS.Dashboard.repository.AttendanceRepository;
+import com.example.CBS.Dashboard.entity.User;
 import com.example.CBS.Dashboard.repository.EnrollmentRepository;
-import com.example.CBS.Dashboard.repository.TrainingProgramRepository;
 import com.example.CBS.Dashboard.repository.TrainingSessionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -29,10 +28,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CfoTrainingAnalyticsService {
 
-    private final TrainingProgramRepository programRepository;
+    private static final List<Enrollment.EnrollmentStatus> INACTIVE_ENROLLMENT_STATUSES =
+            List.of(Enrollment.EnrollmentStatus.CANCELLED, Enrollment.EnrollmentStatus.WITHDRAWN);
+
     private final TrainingSessionRepository sessionRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final AttendanceRepository attendanceRepository;
+    private final TrainingFactService trainingFactService;
+
+    /** Inclusive dashboard window after defaults and swapping are applied. */
+    public record Window(LocalDate from, LocalDate to) {
+
+        /** If dates are null, the last 3 months (90 days) are used by default. */
+        public static Window of(LocalDate from, LocalDate to) {
+            LocalDate today = LocalDate.now();
+            if (from == null || to == null) {
+                return new Window(today.minusDays(90), today);
+            }
+            // Swap if caller sends inverted dates
+            return to.isBefore(from) ? new Window(to, from) : new Window(from, to);
+        }
+    }
 
     /**
      * Build the CFO dashboard for the given date range.
@@ -40,104 +55,66 @@ public class CfoTrainingAnalyticsService {
      */
     @Transactional(readOnly = true)
     public CfoTrainingDashboardDto getDashboard(LocalDate from, LocalDate to) {
-        LocalDate today = LocalDate.now();
-        if (from == null || to == null) {
-            to = today;
-            from = today.minusDays(90);
-        }
-        if (to.isBefore(from)) {
-            // Swap if caller sends inverted dates
-            LocalDate tmp = from;
-            from = to;
-            to = tmp;
-        }
+        Window window = Window.of(from, to);
+        from = window.from();
+        to = window.to();
 
         LocalDateTime fromDateTime = from.atStartOfDay();
         LocalDateTime toDateTime = to.plusDays(1).atStartOfDay();
 
-        List<TrainingProgram> allPrograms = programRepository.findAllByOrderByCreatedAtDesc();
-        List<TrainingSession> allSessions = sessionRepository.findAll();
-        List<Enrollment> allEnrollments = enrollmentRepository.findAll();
-        List<Attendance> allAttendance = attendanceRepository.findAll();
-
-        // Filter sessions to the requested date window
-        List<TrainingSession> sessionsInRange = allSessions.stream()
-                .filter(s -> s.getStartDateTime() != null
-                        && !s.getStartDateTime().isBefore(fromDateTime)
-                        && s.getStartDateTime().isBefore(toDateTime))
-                .collect(Collectors.toList());
-
-        // Programs that have at least one session in the window
-        Set<Long> programIdsInRange = sessionsInRange.stream()
-                .map(TrainingSession::getProgram)
-                .filter(Objects::nonNull)
-                .map(TrainingProgram::getId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        List<TrainingProgram> programsInRange = allPrograms.stream()
-                .filter(p -> p.getId() != null && programIdsInRange.contains(p.getId()))
-                .collect(Collectors.toList());
-
-        // Group sessions per program
+        // Everything below is bounded by the window: sessions starting in it, their programs,
+        // and enrollment/attendance totals aggregated in SQL for just those programs and sessions.
+        List<TrainingSession> sessionsInRange =
+                sessionRepository.findForAnalyticsByStartDateTimeBetween(fromDateTime, toDateTime);
+
+        // Programs that have at least one session in the window, most recently created first
+        Map<Long, TrainingProgram> programsById = new HashMap<>();
         Map<Long, List<TrainingSession>> sessionsByProgram = new HashMap<>();
         for (TrainingSession session : sessionsInRange) {
             TrainingProgram program = session.getProgram();
             if (program == null || program.getId() == null) continue;
+            programsById.putIfAbsent(program.getId(), program);
             sessionsByProgram
                     .computeIfAbsent(program.getId(), id -> new ArrayList<>())
                     .add(session);
         }
+        List<TrainingProgram> programsInRange = new ArrayList<>(programsById.values());
+        programsInRange.sort(Comparator.comparing(TrainingProgram::getCreatedAt,
+                Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder())));
 
-        // Enrollments per program (only for programs that appear in the window)
-        Map<Long, List<Enrollment>> enrollmentsByProgram = new HashMap<>();
-        for (Enrollment enrollment : allEnrollments) {
-            TrainingProgram program = enrollment.getProgram();
-            if (program == null || program.getId() == null) continue;
-            if (!programIdsInRange.contains(program.getId())) continue;
-            enrollmentsByProgram
-                    .computeIfAbsent(program.getId(), id -> new ArrayList<>())
-                    .add(enrollment);
-        }
+        // Enrollment totals per program (only for programs that appear in the window)
+        Map<Long, EnrollmentRepository.ProgramEnrollment> enrollmentsByProgram = programsById.isEmpty()
+                ? Collections.emptyMap()
+                : enrollmentRepository.countByProgramIdIn(programsById.keySet(), INACTIVE_ENROLLMENT_STATUSES).stream()
+                        .collect(Collectors.toMap(EnrollmentRepository.ProgramEnrollment::getProgramId, e -> e));
 
-        // Attendance grouped by session for sessions in range
-        Map<Long, List<Attendance>> attendanceBySession = new HashMap<>();
-        for (Attendance attendance : allAttendance) {
-            TrainingSession session = attendance.getSession();
-            if (session == null || session.getId() == null || session.getStartDateTime() == null) {
-                continue;
-            }
-            if (session.getStartDateTime().isBefore(fromDateTime) || !session.getStartDateTime().isBefore(toDateTime)) {
-                continue;
-            }
-            attendanceBySession
-                    .computeIfAbsent(session.getId(), id -> new ArrayList<>())
-                    .add(attendance);
-        }
+        // Session and attendance totals per month, program and instructor: whole months from
+        // training_monthly_facts, partial edge months computed live
+        List<TrainingMonthlyFact> facts = trainingFactService.findFacts(fromDateTime, toDateTime);
 
         // ---- Summary KPIs ----
         CfoTrainingDashboardDto.SummaryKpis summary = buildSummaryKpis(
                 programsInRange,
                 sessionsInRange,
                 enrollmentsByProgram,
-                attendanceBySession
+                facts
         );
 
         // ---- Program performance rows ----
         List<CfoTrainingDashboardDto.ProgramPerformanceRow> programPerformance =
-                buildProgramPerformance(programsInRange, sessionsByProgram, enrollmentsByProgram, attendanceBySession);
+                buildProgramPerformance(programsInRange, sessionsByProgram, enrollmentsByProgram, facts);
 
         // ---- Monthly / quarterly trend ----
         List<CfoTrainingDashboardDto.TimeSeriesPoint> performanceTrend =
-                buildPerformanceTrend(sessionsInRange, attendanceBySession);
+                buildPerformanceTrend(facts);
 
         // ---- Department-level attendance ----
         List<CfoTrainingDashboardDto.CategoryValue> departmentAttendance =
-                buildDepartmentAttendance(attendanceBySession);
+                buildDepartmentAttendance(programsById, facts);
 
         // ---- Instructor productivity ----
         List<CfoTrainingDashboardDto.InstructorMetric> instructorMetrics =
-                buildInstructorMetrics(sessionsInRange, attendanceBySession);
+                buildInstructorMetrics(sessionsInRange, facts);
 
         // ---- Material usage (synthetic index based on program flags) ----
         List<CfoTrainingDashboardDto.CategoryValue> materialUsage =
@@ -176,8 +153,8 @@ public class CfoTrainingAnalyticsService {
     private CfoTrainingDashboardDto.SummaryKpis buildSummaryKpis(
             List<TrainingProgram> programs,
             List<TrainingSession> sessions,
-            Map<Long, List<Enrollment>> enrollmentsByProgram,
-            Map<Long, List<Attendance>> attendanceBySession
+            Map<Long, EnrollmentRepository.ProgramEnrollment> enrollmentsByProgram,
+            List<TrainingMonthlyFact> facts
     ) {
         long totalPrograms = programs.size();
         long activePrograms = programs.stream()
@@ -197,15 +174,11 @@ public class CfoTrainingAnalyticsService {
                 ? roundPercent(100.0 * completedSessions / totalSessions)
                 : 0.0;
 
-        int attendanceTotal = 0;
-        int attendancePresentLike = 0;
-        for (List<Attendance> list : attendanceBySession.values()) {
-            for (Attendance a : list) {
-                attendanceTotal++;
-                if (isPresentLike(a)) {
-                    attendancePresentLike++;
-                }
-            }
+        long attendanceTotal = 0;
+        long attendancePresentLike = 0;
+        for (TrainingMonthlyFact fact : facts) {
+            attendanceTotal += fact.getAttendanceCount();
+            attendancePresentLike += fact.getPresentLikeCount();
         }
         double studentAttendanceRate = attendanceTotal > 0
                 ? roundPercent(100.0 * attendancePresentLike / attendanceTotal)
@@ -235,10 +208,8 @@ public class CfoTrainingAnalyticsService {
                 .sum();
 
         long activeEnrollments = enrollmentsByProgram.values().stream()
-                .flatMap(Collection::stream)
-                .filter(e -> e.getStatus() != Enrollment.EnrollmentStatus.CANCELLED
-                        && e.getStatus() != Enrollment.EnrollmentStatus.WITHDRAWN)
-                .count();
+                .mapToLong(EnrollmentRepository.ProgramEnrollment::getActive)
+                .sum();
 
         double utilizationRate = totalCapacity > 0
                 ? roundPercent(100.0 * activeEnrollments / totalCapacity)
@@ -330,39 +301,40 @@ public class CfoTrainingAnalyticsService {
     private List<CfoTrainingDashboardDto.ProgramPerformanceRow> buildProgramPerformance(
             List<TrainingProgram> programs,
             Map<Long, List<TrainingSession>> sessionsByProgram,
-            Map<Long, List<Enrollment>> enrollmentsByProgram,
-            Map<Long, List<Attendance>> attendanceBySession
+            Map<Long, EnrollmentRepository.ProgramEnrollment> enrollmentsByProgram,
+            List<TrainingMonthlyFact> facts
     ) {
         List<CfoTrainingDashboardDto.ProgramPerformanceRow> rows = new ArrayList<>();
 
+        // 0: present-like, 1: total attendance
+        Map<Long, long[]> attendanceByProgram = new HashMap<>();
+        for (TrainingMonthlyFact fact : facts) {
+            long[] stats = attendanceByProgram.computeIfAbsent(fact.getProgramId(), id -> new long[]{0L, 0L});
+            stats[0] += fact.getPresentLikeCount();
+            stats[1] += fact.getAttendanceCount();
+        }
+
         for (TrainingProgram program : programs) {
             Long programId = program.getId();
             if (programId == null) continue;
 
             List<TrainingSession> programSessions = sessionsByProgram.getOrDefault(programId, Collections.emptyList());
-            List<Enrollment> programEnrollments = enrollmentsByProgram.getOrDefault(programId, Collections.emptyList());
+            EnrollmentRepository.ProgramEnrollment programEnrollments = enrollmentsByProgram.get(programId);
 
             long sessionsPlanned = programSessions.size();
             long sessionsCompleted = programSessions.stream()
                     .filter(s -> s.getStatus() == TrainingSession.SessionStatus.COMPLETED)
                     .count();
 
-            long enrollmentsCount = programEnrollments.size();
+            long enrollmentsCount = programEnrollments != null ? programEnrollments.getTotal() : 0;
 
-            int programAttendanceTotal = 0;
-            int programAttendancePresentLike = 0;
+            long[] programAttendance = attendanceByProgram.getOrDefault(programId, new long[]{0L, 0L});
+            long programAttendancePresentLike = programAttendance[0];
+            long programAttendanceTotal = programAttendance[1];
             long totalDurationMinutes = 0;
             int durationSessionsCount = 0;
 
             for (TrainingSession session : programSessions) {
-                List<Attendance> sessionAttendance = attendanceBySession.getOrDefault(session.getId(), Collections.emptyList());
-                for (Attendance a : sessionAttendance) {
-                    programAttendanceTotal++;
-                    if (isPresentLike(a)) {
-                        programAttendancePresentLike++;
-                    }
-                }
-
                 if (session.getStartDateTime() != null && session.getEndDateTime() != null) {
                     long minutes = Duration.between(session.getStartDateTime(), session.getEndDateTime()).toMinutes();
                     if (minutes > 0) {
@@ -417,34 +389,23 @@ public class CfoTrainingAnalyticsService {
     // Helpers – Time series trend
     // -------------------------------------------------------------------------
 
-    private List<CfoTrainingDashboardDto.TimeSeriesPoint> buildPerformanceTrend(
-            List<TrainingSession> sessions,
-            Map<Long, List<Attendance>> attendanceBySession
-    ) {
-        if (sessions.isEmpty()) {
+    private List<CfoTrainingDashboardDto.TimeSeriesPoint> buildPerformanceTrend(List<TrainingMonthlyFact> facts) {
+        if (facts.isEmpty()) {
             return Collections.emptyList();
         }
 
         Map<YearMonth, long[]> monthStats = new HashMap<>();
-        for (TrainingSession session : sessions) {
-            if (session.getStartDateTime() == null) continue;
-            YearMonth ym = YearMonth.from(session.getStartDateTime());
+        for (TrainingMonthlyFact fact : facts) {
+            YearMonth ym = YearMonth.from(fact.getMonthStart());
             long[] stats = monthStats.computeIfAbsent(ym, k -> new long[]{0L, 0L, 0L, 0L});
             // index 0: present-like attendance
             // index 1: total attendance
             // index 2: completed sessions
             // index 3: total sessions
-            stats[3]++;
-            if (session.getStatus() == TrainingSession.SessionStatus.COMPLETED) {
-                stats[2]++;
-            }
-            List<Attendance> attendanceForSession = attendanceBySession.getOrDefault(session.getId(), Collections.emptyList());
-            for (Attendance a : attendanceForSession) {
-                stats[1]++;
-                if (isPresentLike(a)) {
-                    stats[0]++;
-                }
-            }
+            stats[0] += fact.getPresentLikeCount();
+            stats[1] += fact.getAttendanceCount();
+            stats[2] += fact.getCompletedSessionCount();
+            stats[3] += fact.getSessionCount();
         }
 
         List<YearMonth> months = new ArrayList<>(monthStats.keySet());
@@ -481,30 +442,22 @@ public class CfoTrainingAnalyticsService {
     // -------------------------------------------------------------------------
 
     private List<CfoTrainingDashboardDto.CategoryValue> buildDepartmentAttendance(
-            Map<Long, List<Attendance>> attendanceBySession
+            Map<Long, TrainingProgram> programsById,
+            List<TrainingMonthlyFact> facts
     ) {
-        if (attendanceBySession.isEmpty()) {
-            return Collections.emptyList();
-        }
-
         Map<String, long[]> deptStats = new HashMap<>();
 
-        for (Map.Entry<Long, List<Attendance>> entry : attendanceBySession.entrySet()) {
-            for (Attendance a : entry.getValue()) {
-                TrainingSession session = a.getSession();
-                if (session == null || session.getProgram() == null) continue;
-                TrainingProgram program = session.getProgram();
-                String deptName = (program.getDepartment() != null && program.getDepartment().getName() != null)
-                        ? program.getDepartment().getName()
-                        : "Unassigned";
-
-                long[] stats = deptStats.computeIfAbsent(deptName, k -> new long[]{0L, 0L});
-                // 0: present-like, 1: total
-                stats[1]++;
-                if (isPresentLike(a)) {
-                    stats[0]++;
-                }
-            }
+        for (TrainingMonthlyFact fact : facts) {
+            TrainingProgram program = programsById.get(fact.getProgramId());
+            if (fact.getAttendanceCount() == 0 || program == null) continue;
+            String deptName = (program.getDepartment() != null && program.getDepartment().getName() != null)
+                    ? program.getDepartment().getName()
+                    : "Unassigned";
+
+            long[] stats = deptStats.computeIfAbsent(deptName, k -> new long[]{0L, 0L});
+            // 0: present-like, 1: total
+            stats[1] += fact.getAttendanceCount();
+            stats[0] += fact.getPresentLikeCount();
         }
 
         List<CfoTrainingDashboardDto.CategoryValue> result = new ArrayList<>();
@@ -533,12 +486,22 @@ public class CfoTrainingAnalyticsService {
 
     private List<CfoTrainingDashboardDto.InstructorMetric> buildInstructorMetrics(
             List<TrainingSession> sessions,
-            Map<Long, List<Attendance>> attendanceBySession
+            List<TrainingMonthlyFact> facts
     ) {
-        if (sessions.isEmpty()) {
+        if (facts.isEmpty()) {
             return Collections.emptyList();
         }
 
+        // Names of the effective instructors (session instructor, else program instructor)
+        Map<Long, String> instructorNames = new HashMap<>();
+        for (TrainingSession session : sessions) {
+            User instructor = session.getInstructor() != null ? session.getInstructor()
+                    : session.getProgram() != null ? session.getProgram().getInstructor() : null;
+            if (instructor != null && instructor.getId() != null && instructor.getFullName() != null) {
+                instructorNames.putIfAbsent(instructor.getId(), instructor.getFullName());
+            }
+        }
+
         class Agg {
             String name;
             long sessionsTotal;
@@ -549,36 +512,18 @@ public class CfoTrainingAnalyticsService {
 
         Map<Long, Agg> byInstructor = new HashMap<>();
 
-        for (TrainingSession session : sessions) {
-            Long instructorId = null;
-            String instructorName = null;
-            if (session.getInstructor() != null && session.getInstructor().getId() != null) {
-                instructorId = session.getInstructor().getId();
-                instructorName = session.getInstructor().getFullName();
-            } else if (session.getProgram() != null
-                    && session.getProgram().getInstructor() != null
-                    && session.getProgram().getInstructor().getId() != null) {
-                instructorId = session.getProgram().getInstructor().getId();
-                instructorName = session.getProgram().getInstructor().getFullName();
-            }
+        for (TrainingMonthlyFact fact : facts) {
+            Long instructorId = fact.getInstructorId();
             if (instructorId == null) continue;
 
             Agg agg = byInstructor.computeIfAbsent(instructorId, id -> new Agg());
-            if (agg.name == null && instructorName != null) {
-                agg.name = instructorName;
-            }
-            agg.sessionsTotal++;
-            if (session.getStatus() == TrainingSession.SessionStatus.COMPLETED) {
-                agg.sessionsCompleted++;
-            }
-
-            List<Attendance> attendance = attendanceBySession.getOrDefault(session.getId(), Collections.emptyList());
-            for (Attendance a : attendance) {
-                agg.attendanceTotal++;
-                if (isPresentLike(a)) {
-                    agg.presentLike++;
-                }
+            if (agg.name == null) {
+                agg.name = instructorNames.get(instructorId);
             }
+            agg.sessionsTotal += fact.getSessionCount();
+            agg.sessionsCompleted += fact.getCompletedSessionCount();
+            agg.attendanceTotal += fact.getAttendanceCount();
+            agg.presentLike += fact.getPresentLikeCount();
         }
 
         List<CfoTrainingDashboardDto.InstructorMetric> result = new ArrayList<>();
@@ -802,13 +747,6 @@ public class CfoTrainingAnalyticsService {
     // Utility helpers
     // -------------------------------------------------------------------------
 
-    private boolean isPresentLike(Attendance a) {
-        if (a == null || a.getStatus() == null) return false;
-        return a.getStatus() == Attendance.AttendanceStatus.PRESENT
-                || a.getStatus() == Attendance.AttendanceStatus.LATE
-                || a.getStatus() == Attendance.AttendanceStatus.EXCUSED;
-    }
-
     private boolean hasInstructorAssigned(TrainingSession session) {
         if (session.getInstructor() != null && session.getInstructor().getId() != null) {
             return true;
@@ -0,0 +1,140 @@
+package com.example.CBS.Dashboard.service.training;
+
+import com.example.CBS.Dashboard.entity.Enrollment;
+import com.example.CBS.Dashboard.repository.EnrollmentRepository;
+import com.example.CBS.Dashboard.repository.TrainingProgramRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user set of program ids the user teaches or is actively enrolled in, so program access
+ * checks are a hash lookup. Each set is built with one query and kept in a bounded LRU with a TTL.
+ * Writes that change instructors or enrollments invalidate the affected users through
+ * {@link #invalidateAfterCommit}; the TTL covers anything changed outside this application.
+ */
+@Component
+public class ProgramAccessIndex {
+
+    private static final List<Enrollment.EnrollmentStatus> INACTIVE_STATUSES =
+            List.of(Enrollment.EnrollmentStatus.WITHDRAWN, Enrollment.EnrollmentStatus.CANCELLED);
+
+    @Value("${app.training.access-index.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${app.training.access-index.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private TrainingProgramRepository trainingProgramRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private record Entry(Set<Long> programIds, long expiresAt) {
+    }
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /** Bumped on every invalidation so a set loaded concurrently with it is not cached. */
+    private long generation;
+
+    public boolean canAccess(Long userId, Long programId) {
+        Set<Long> programIds = cached(userId);
+        if (programIds != null) {
+            return programIds.contains(programId);
+        }
+        Loaded loaded = load(userId);
+        if (loaded.cached) {
+            return loaded.programIds.contains(programId);
+        }
+        // The set raced with a write; answer this check directly instead of trusting it
+        return trainingProgramRepository.existsByIdAndInstructorId(programId, userId)
+                || enrollmentRepository.existsByProgramIdAndParticipantIdAndStatusNotIn(programId, userId, INACTIVE_STATUSES);
+    }
+
+    public Set<Long> accessibleProgramIds(Long userId) {
+        Set<Long> programIds = cached(userId);
+        return programIds != null ? programIds : load(userId).programIds;
+    }
+
+    public synchronized void invalidate(Long userId) {
+        generation++;
+        entries.remove(userId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /** Drops the users now and again after commit, so a read in between cannot cache the old enrollments. */
+    public void invalidateAfterCommit(Long... userIds) {
+        Runnable evict = () -> {
+            for (Long userId : userIds) {
+                if (userId != null) {
+                    invalidate(userId);
+                }
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    public void invalidateAllAfterCommit() {
+        invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAll();
+                }
+            });
+        }
+    }
+
+    private synchronized Set<Long> cached(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            return entry.programIds;
+        }
+        return null;
+    }
+
+    private record Loaded(Set<Long> programIds, boolean cached) {
+    }
+
+    private Loaded load(Long userId) {
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+        Set<Long> programIds = Set.copyOf(trainingProgramRepository.findAccessibleProgramIds(userId));
+        synchronized (this) {
+            if (generation != startedAt) {
+                return new Loaded(programIds, false);
+            }
+            entries.put(userId, new Entry(programIds, System.currentTimeMillis() + ttlSeconds * 1000));
+        }
+        return new Loaded(programIds, true);
+    }
+}
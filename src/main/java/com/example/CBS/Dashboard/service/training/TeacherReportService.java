@@ -9,6 +9,7 @@ import com.example.CBS.Dashboard.repository.AttendanceRepository;
 import com.example.CBS.Dashboard.repository.EnrollmentRepository;
 import com.example.CBS.Dashboard.repository.TrainingSessionRepository;
 import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.service.user.SignatureStore;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,6 +29,7 @@ public class TeacherReportService {
     private final AttendanceRepository attendanceRepository;
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final SignatureStore signatureStore;
 
     /**
      * Derives a human-readable topic/description for a session.
@@ -88,10 +90,23 @@ public class TeacherReportService {
 
     private List<SessionAttendanceReportDto> buildSessionAttendanceReportRows(List<TrainingSession> sessions) {
         List<SessionAttendanceReportDto> reportRows = new ArrayList<>();
+        if (sessions.isEmpty()) {
+            return reportRows;
+        }
+
+        // Use all attendance records for these sessions so report shows correct present/absent
+        // (findBySessionIdAndAttendanceDateBetween can miss records when attendanceDate is null or mismatched).
+        // One query for every session; participants (and their profile signatures) come with it.
+        Map<Long, List<Attendance>> attendanceBySession = attendanceRepository
+                .findBySessionIdIn(sessions.stream().map(TrainingSession::getId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.groupingBy(a -> a.getSession().getId()));
+        // Each distinct signature image is loaded once, however many rows reference it
+        Map<String, String> signatureImages = signatureStore.base64(attendanceHashes(attendanceBySession.values().stream()
+                .flatMap(List::stream).collect(Collectors.toList())));
+
         for (TrainingSession session : sessions) {
-            // Use all attendance records for this session so report shows correct present/absent
-            // (findBySessionIdAndAttendanceDateBetween can miss records when attendanceDate is null or mismatched)
-            List<Attendance> attendanceList = attendanceRepository.findBySessionId(session.getId());
+            List<Attendance> attendanceList = attendanceBySession.getOrDefault(session.getId(), Collections.emptyList());
 
         List<Attendance> attendedList = attendanceList.stream()
                 .filter(a ->
@@ -117,21 +132,20 @@ public class TeacherReportService {
                     Long pid = a.getParticipant().getId();
                     if (seenParticipants.contains(pid)) continue;
                     seenParticipants.add(pid);
-                    Hibernate.initialize(a.getParticipant());
 
                     // Prefer the recorded attendance signature for this session; fall back to profile signature.
-                    String sigData = a.getSignatureData();
+                    String sigHash = a.getSignatureHash();
+                    String sigData = sigHash != null ? signatureImages.get(sigHash) : a.getSignatureData();
                     if (sigData == null || sigData.isBlank()) {
-                        User u = userRepository.findById(pid).orElse(null);
-                        if (u != null && u.getSignatureData() != null && !u.getSignatureData().isBlank()) {
-                            sigData = u.getSignatureData();
-                        }
+                        sigHash = a.getParticipant().getSignatureHash();
+                        sigData = profileSignature(a.getParticipant());
                     }
 
                     signatures.add(new AttendeeSignatureDto(
                             pid,
                             a.getParticipant().getFullName(),
-                            sigData));
+                            sigData,
+                            sigHash));
                 }
             } catch (Exception ex) {
                 // Fallback: return report without signatures if signature fetch fails
@@ -146,6 +160,7 @@ public class TeacherReportService {
 
             // Resolve instructor e-signature for this session (if available)
             String instructorSignatureData = null;
+            String instructorSignatureHash = null;
             try {
                 User instructorUser = null;
                 if (session.getInstructor() != null) {
@@ -157,6 +172,7 @@ public class TeacherReportService {
                     Hibernate.initialize(instructorUser);
                     if (instructorUser.getSignatureData() != null && !instructorUser.getSignatureData().isBlank()) {
                         instructorSignatureData = instructorUser.getSignatureData();
+                        instructorSignatureHash = instructorUser.getSignatureHash();
                     }
                 }
             } catch (Exception ignored) {
@@ -176,12 +192,28 @@ public class TeacherReportService {
                     signatures,
                     instructorName,
                     instructorSignatureData,
+                    instructorSignatureHash,
                     sessionType,
                     notes));
         }
         return reportRows;
     }
 
+    private static Set<String> attendanceHashes(Collection<Attendance> attendance) {
+        return attendance.stream()
+                .map(Attendance::getSignatureHash)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /** Profile e-signature of a user already loaded with the attendance/enrollment rows; null when unset. */
+    private static String profileSignature(User user) {
+        if (user == null || user.getSignatureData() == null || user.getSignatureData().isBlank()) {
+            return null;
+        }
+        return user.getSignatureData();
+    }
+
     /** Single-session report for CFO (no instructor check). */
     @Transactional(readOnly = true)
     public SingleSessionReportDto getSingleSessionReportForCfo(Long sessionId) {
@@ -221,6 +253,7 @@ public class TeacherReportService {
         List<Attendance> sessionAttendance = attendanceRepository.findBySessionId(sessionId);
         Map<Long, Attendance> attendanceByParticipant = sessionAttendance.stream()
                 .collect(Collectors.toMap(a -> a.getParticipant().getId(), a -> a, (a1, a2) -> a2));
+        Map<String, String> signatureImages = signatureStore.base64(attendanceHashes(sessionAttendance));
 
         Map<Long, long[]> statsByParticipant = new HashMap<>();
         for (Attendance a : sessionAttendance) {
@@ -255,25 +288,25 @@ public class TeacherReportService {
             double pct = total > 0 ? (100.0 * stats[0] / total) : 100.0;
 
             String sigData = null;
+            String sigHash = null;
             String sigType = null;
-            if (att != null && att.getSignatureData() != null && !att.getSignatureData().isBlank()) {
-                sigData = att.getSignatureData();
+            String recorded = att == null ? null
+                    : att.getSignatureHash() != null ? signatureImages.get(att.getSignatureHash()) : att.getSignatureData();
+            if (recorded != null && !recorded.isBlank()) {
+                sigData = recorded;
+                sigHash = att.getSignatureHash();
                 sigType = att.getSignatureType() != null ? att.getSignatureType().name() : null;
             } else {
                 // Fallback to profile signature for legacy records
-                try {
-                    User u = userRepository.findById(pid).orElse(null);
-                    if (u != null && u.getSignatureData() != null && !u.getSignatureData().isBlank()) {
-                        sigData = u.getSignatureData();
-                    }
-                } catch (Exception ignored) { }
+                sigData = profileSignature(e.getParticipant());
+                sigHash = e.getParticipant().getSignatureHash();
             }
 
             boolean isSignedParticipant =
                     "PRESENT".equals(status) || "LATE".equals(status) || "EXCUSED".equals(status)
                             || ("ABSENT".equals(status) && "ACKNOWLEDGMENT".equals(sigType));
             if (isSignedParticipant && sigData != null) {
-                attendedSignatures.add(new AttendeeSignatureDto(pid, e.getParticipant().getFullName(), sigData));
+                attendedSignatures.add(new AttendeeSignatureDto(pid, e.getParticipant().getFullName(), sigData, sigHash));
             }
 
             engagement.add(new StudentEngagementDto(
@@ -307,6 +340,7 @@ public class TeacherReportService {
 
         // Resolve instructor e-signature for this session (if available)
         String instructorSignatureData = null;
+        String instructorSignatureHash = null;
         try {
             User instructorUser = null;
             if (session.getInstructor() != null) {
@@ -318,6 +352,7 @@ public class TeacherReportService {
                 Hibernate.initialize(instructorUser);
                 if (instructorUser.getSignatureData() != null && !instructorUser.getSignatureData().isBlank()) {
                     instructorSignatureData = instructorUser.getSignatureData();
+                    instructorSignatureHash = instructorUser.getSignatureHash();
                 }
             }
         } catch (Exception ignored) {
@@ -333,6 +368,7 @@ public class TeacherReportService {
                 session.getStartDateTime(),
                 instructorName,
                 instructorSignatureData,
+                instructorSignatureHash,
                 sessionType,
                 notesVal,
                 contentCoverage,
@@ -367,16 +403,25 @@ public class TeacherReportService {
         Map<Long, String> studentEmails = new HashMap<>();
         Map<Long, Set<Long>> studentToRelevantSessions = new HashMap<>();
 
+        // Enrollments of every program in the report, loaded once rather than per session
+        Set<Long> programIds = sessions.stream()
+                .map(SessionAttendanceReportDto::getProgramId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, List<Enrollment>> enrollmentsByProgram = programIds.isEmpty()
+                ? Collections.emptyMap()
+                : enrollmentRepository.findByProgramIdIn(programIds).stream()
+                        .collect(Collectors.groupingBy(e -> e.getProgram().getId()));
+
         for (SessionAttendanceReportDto s : sessions) {
             Long programId = s.getProgramId();
             if (programId == null) continue;
-            List<Enrollment> enrollments = enrollmentRepository.findByProgramId(programId);
+            List<Enrollment> enrollments = enrollmentsByProgram.getOrDefault(programId, Collections.emptyList());
             Set<String> attendedNames = s.getAttendedStudentNames() != null
                     ? new HashSet<>(s.getAttendedStudentNames()) : new HashSet<>();
 
             for (Enrollment e : enrollments) {
                 if (e.getParticipant() == null) continue;
-                Hibernate.initialize(e.getParticipant());
                 Long pid = e.getParticipant().getId();
                 allStudentIds.add(pid);
                 studentNames.putIfAbsent(pid, e.getParticipant().getFullName());
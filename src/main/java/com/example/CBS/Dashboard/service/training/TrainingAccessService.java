@@ -1,11 +1,9 @@
 package com.example.CBS.Dashboard.service.training;
 
-import com.example.CBS.Dashboard.entity.TrainingProgram;
-import com.example.CBS.Dashboard.entity.User;
 import com.example.CBS.Dashboard.repository.TrainingProgramRepository;
-import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.security.CurrentUser;
+import com.example.CBS.Dashboard.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
@@ -21,8 +19,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class TrainingAccessService {
 
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
     private final TrainingProgramRepository trainingProgramRepository;
+    private final ProgramAccessIndex programAccessIndex;
 
     /**
      * Throws if the given user is NOT allowed to see content for the given program.
@@ -41,37 +40,20 @@ public class TrainingAccessService {
             return false;
         }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CurrentUser user = currentUserProvider.forUsername(username);
 
         // Global override: admins and training admins see everything.
-        if (hasAnyRole(user, "ROLE_ADMIN", "ROLE_TRAINING_ADMIN")) {
+        if (user.hasAnyRole("ROLE_ADMIN", "ROLE_TRAINING_ADMIN")) {
             return true;
         }
 
-        TrainingProgram program = trainingProgramRepository.findById(programId)
-                .orElseThrow(() -> new RuntimeException("Training program not found"));
-
-        // Program instructor (teacher) has access.
-        if (program.getInstructor() != null && program.getInstructor().getId().equals(user.getId())) {
+        // Program instructor (teacher) or active student enrollment provides access.
+        if (programAccessIndex.canAccess(user.id(), programId)) {
             return true;
         }
-
-        // Active student enrollment provides access. Repository already ignores WITHDRAWN/CANCELLED.
-        return trainingProgramRepository.findByStudentId(user.getId())
-                .stream()
-                .anyMatch(p -> programId.equals(p.getId()));
-    }
-
-    private boolean hasAnyRole(User user, String... roleNames) {
-        if (user.getRoles() == null || user.getRoles().isEmpty()) {
-            return false;
+        if (!trainingProgramRepository.existsById(programId)) {
+            throw new RuntimeException("Training program not found");
         }
-        return user.getRoles().stream()
-                .map(role -> role.getName() != null ? role.getName().trim() : "")
-                .anyMatch(userRole ->
-                        java.util.Arrays.stream(roleNames)
-                                .anyMatch(required -> required.equalsIgnoreCase(userRole)));
+        return false;
     }
 }
-
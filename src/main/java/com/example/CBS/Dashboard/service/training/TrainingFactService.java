@@ -0,0 +1,194 @@
+package com.example.CBS.Dashboard.service.training;
+
+import com.example.CBS.Dashboard.entity.TrainingMonthlyFact;
+import com.example.CBS.Dashboard.repository.TrainingMonthlyFactRepository;
+import com.example.CBS.Dashboard.repository.TrainingSessionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Keeps training_monthly_facts in step with sessions and attendance.
+ * Writers mark the program months they touched; the marked months are recomputed from the source
+ * tables once, just before the transaction commits. A nightly rebuild catches anything changed
+ * outside this application.
+ */
+@Service
+public class TrainingFactService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingFactService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TrainingMonthlyFactRepository factRepository;
+
+    @Autowired
+    private TrainingSessionRepository sessionRepository;
+
+    /** A program month to recompute; a null month means every month of the program. */
+    private record Key(Long programId, YearMonth month) {
+    }
+
+    /** Months marked in the current transaction, refreshed in {@link #beforeCommit}. */
+    private class DirtyMonths implements TransactionSynchronization {
+        private final Set<Key> keys = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            refresh(keys);
+        }
+    }
+
+    /** Marks the month a session starts in (e.g. its attendance changed). */
+    @Transactional
+    public void markDirty(Long programId, LocalDateTime sessionStart) {
+        if (programId != null && sessionStart != null) {
+            dirtyMonths().keys.add(new Key(programId, YearMonth.from(sessionStart)));
+        }
+    }
+
+    /** Marks every month of a program, e.g. after its instructor changed or it was deleted. */
+    @Transactional
+    public void markProgramDirty(Long programId) {
+        if (programId != null) {
+            dirtyMonths().keys.add(new Key(programId, null));
+        }
+    }
+
+    /**
+     * Totals per month, program and instructor for sessions starting in [from, to). Whole months
+     * come from the fact table; partial months at either edge are computed live.
+     */
+    @Transactional(readOnly = true)
+    public List<TrainingMonthlyFact> findFacts(LocalDateTime from, LocalDateTime to) {
+        LocalDate firstWholeMonth = from.toLocalDate().withDayOfMonth(1);
+        if (!firstWholeMonth.atStartOfDay().equals(from)) {
+            firstWholeMonth = firstWholeMonth.plusMonths(1);
+        }
+        LocalDate endWholeMonth = to.toLocalDate().withDayOfMonth(1);
+
+        if (!firstWholeMonth.isBefore(endWholeMonth)) {
+            // No whole month in the window: at most two partial months
+            List<TrainingMonthlyFact> facts = new ArrayList<>();
+            LocalDateTime cursor = from;
+            while (cursor.isBefore(to)) {
+                LocalDateTime monthEnd = cursor.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+                LocalDateTime end = monthEnd.isBefore(to) ? monthEnd : to;
+                facts.addAll(computeLive(cursor, end));
+                cursor = end;
+            }
+            return facts;
+        }
+
+        List<TrainingMonthlyFact> facts = new ArrayList<>(
+                factRepository.findByMonthStartGreaterThanEqualAndMonthStartLessThan(firstWholeMonth, endWholeMonth));
+        if (from.isBefore(firstWholeMonth.atStartOfDay())) {
+            facts.addAll(computeLive(from, firstWholeMonth.atStartOfDay()));
+        }
+        if (endWholeMonth.atStartOfDay().isBefore(to)) {
+            facts.addAll(computeLive(endWholeMonth.atStartOfDay(), to));
+        }
+        return facts;
+    }
+
+    /**
+     * Rebuilds the fact table from the source tables. Runs under a table lock so a refresh committing
+     * meanwhile, or a rebuild on another instance, cannot leave duplicate rows behind.
+     * @return number of fact rows written
+     */
+    @Transactional
+    public int rebuild() {
+        factRepository.lockAllFacts();
+        factRepository.deleteAllFacts();
+        int rows = factRepository.insertFromSourceTables();
+        logger.info("Rebuilt training_monthly_facts: {} rows", rows);
+        return rows;
+    }
+
+    /** Nightly reconciliation against the source tables. */
+    @Scheduled(cron = "${app.training.facts.reconcile-cron:0 30 2 * * *}")
+    @Transactional
+    public void reconcile() {
+        rebuild();
+    }
+
+    /** Seeds the fact table on first start after it was introduced. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (factRepository.count() == 0 && sessionRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    private DirtyMonths dirtyMonths() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof DirtyMonths dirty) {
+                return dirty;
+            }
+        }
+        DirtyMonths dirty = new DirtyMonths();
+        TransactionSynchronizationManager.registerSynchronization(dirty);
+        return dirty;
+    }
+
+    private void refresh(Set<Key> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        // The recompute reads the source tables, so pending session/attendance changes must be written first
+        entityManager.flush();
+
+        Map<Long, Set<YearMonth>> monthsByProgram = new LinkedHashMap<>();
+        Set<Long> wholePrograms = new HashSet<>();
+        for (Key key : keys) {
+            if (key.month == null) {
+                wholePrograms.add(key.programId);
+            }
+            monthsByProgram.computeIfAbsent(key.programId, id -> new TreeSet<>());
+            if (key.month != null) {
+                monthsByProgram.get(key.programId).add(key.month);
+            }
+        }
+
+        for (Map.Entry<Long, Set<YearMonth>> entry : monthsByProgram.entrySet()) {
+            Long programId = entry.getKey();
+            factRepository.lockProgram(programId);
+            if (wholePrograms.contains(programId)) {
+                factRepository.deleteForProgram(programId);
+                factRepository.insertForProgram(programId);
+                continue;
+            }
+            for (YearMonth month : entry.getValue()) {
+                factRepository.deleteForProgramMonths(programId, month.atDay(1), month.plusMonths(1).atDay(1));
+                factRepository.insertForProgramRange(programId,
+                        month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            }
+        }
+    }
+
+    private List<TrainingMonthlyFact> computeLive(LocalDateTime from, LocalDateTime to) {
+        LocalDate month = from.toLocalDate().withDayOfMonth(1);
+        return factRepository.computeForStartRange(from, to).stream()
+                .map(t -> new TrainingMonthlyFact(null, month, t.getProgramId(), t.getInstructorId(),
+                        t.getSessionCount(), t.getCompletedSessionCount(),
+                        t.getAttendanceCount(), t.getPresentLikeCount()))
+                .toList();
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +34,9 @@ public class TrainingProgramService {
     private final EnrollmentRepository enrollmentRepository;
     private final TrainingSessionRepository trainingSessionRepository;
     private final StudentTeacherRepository studentTeacherRepository;
+    private final ProgramAccessIndex programAccessIndex;
+    private final TrainingFactService trainingFactService;
+    private final TrainingReportCache reportCache;
     
     @Transactional
     public TrainingProgramDto createProgram(CreateTrainingProgramRequest request, String username) {
@@ -140,6 +144,7 @@ public class TrainingProgramService {
             User instructor = userRepository.findById(request.getInstructorId())
                 .orElseThrow(() -> new RuntimeException("Instructor not found"));
             program.setInstructor(instructor);
+            programAccessIndex.invalidateAfterCommit(instructor.getId());
         }
         
         TrainingProgram saved = trainingProgramRepository.save(program);
@@ -153,43 +158,10 @@ public class TrainingProgramService {
     @Transactional(readOnly = true)
     public List<TrainingProgramDto> getAllPrograms() {
         try {
-            System.out.println("TrainingProgramService.getAllPrograms() called");
-            // Newest programs first (descending by createdAt)
-            List<TrainingProgram> programs = trainingProgramRepository.findAllByOrderByCreatedAtDesc();
-            System.out.println("Found " + (programs != null ? programs.size() : 0) + " programs in database");
-            
-            if (programs == null || programs.isEmpty()) {
-                System.out.println("No programs found, returning empty list");
-                return new java.util.ArrayList<>();
-            }
-            
-            List<TrainingProgramDto> dtos = new java.util.ArrayList<>();
-            for (TrainingProgram program : programs) {
-                try {
-                    System.out.println("Processing program ID: " + program.getId() + ", Title: " + program.getTitle());
-                    // Initialize relationships for each program
-                    initializeRelationships(program);
-                    // Map to DTO
-                    TrainingProgramDto dto = mapper.toDto(program);
-                    // Only add non-null DTOs
-                    if (dto != null) {
-                        dtos.add(dto);
-                        System.out.println("Successfully mapped program ID: " + dto.getId());
-                    } else {
-                        System.out.println("Warning: Mapper returned null for program ID: " + program.getId());
-                    }
-                } catch (Exception e) {
-                    String errorMsg = e.getMessage();
-                    if (errorMsg == null || errorMsg.isEmpty()) {
-                        errorMsg = e.getClass().getSimpleName();
-                    }
-                    System.err.println("Error mapping program with ID " + program.getId() + ": " + errorMsg);
-                    e.printStackTrace();
-                    // Continue with other programs instead of failing completely
-                }
-            }
-            System.out.println("Returning " + dtos.size() + " program DTOs");
-            return dtos;
+            // Newest programs first (descending by createdAt); one query, list columns only
+            return trainingProgramRepository.findListRows().stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
         } catch (Exception e) {
             String errorMsg = e.getMessage();
             if (errorMsg == null || errorMsg.isEmpty()) {
@@ -332,6 +304,7 @@ public class TrainingProgramService {
         program.setPrerequisites(request.getPrerequisites());
         program.setLearningObjectives(request.getLearningObjectives());
         
+        Long previousInstructorId = program.getInstructor() != null ? program.getInstructor().getId() : null;
         if (request.getInstructorId() != null) {
             User instructor = userRepository.findById(request.getInstructorId())
                 .orElseThrow(() -> new RuntimeException("Instructor not found"));
@@ -339,8 +312,14 @@ public class TrainingProgramService {
         } else {
             program.setInstructor(null);
         }
+        programAccessIndex.invalidateAfterCommit(previousInstructorId, request.getInstructorId());
+        if (!Objects.equals(previousInstructorId, request.getInstructorId())) {
+            // Sessions without their own instructor are credited to the program instructor
+            trainingFactService.markProgramDirty(program.getId());
+        }
         
         TrainingProgram updated = trainingProgramRepository.save(program);
+        reportCache.invalidateProgramAfterCommit(updated.getId());
         
         // Initialize only basic relationships needed for DTO (skip sessions/enrollments to avoid issues)
         initializeBasicRelationships(updated);
@@ -353,6 +332,8 @@ public class TrainingProgramService {
         TrainingProgram program = trainingProgramRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Training program not found with id: " + id));
 
+        reportCache.invalidateProgramAfterCommit(id);
+
         // Manually remove child entities to avoid concurrent modification issues in Hibernate
         // Delete enrollments for this program
         enrollmentRepository.findByProgramId(id)
@@ -364,6 +345,8 @@ public class TrainingProgramService {
 
         // Now delete the program itself
         trainingProgramRepository.delete(program);
+        programAccessIndex.invalidateAllAfterCommit();
+        trainingFactService.markProgramDirty(id);
     }
     
     @Transactional(readOnly = true)
@@ -373,24 +356,9 @@ public class TrainingProgramService {
         }
         try {
             TrainingProgram.TrainingStatus statusEnum = TrainingProgram.TrainingStatus.valueOf(status.trim().toUpperCase());
-            List<TrainingProgram> programs = trainingProgramRepository.findByStatus(statusEnum);
-            if (programs == null || programs.isEmpty()) {
-                return new java.util.ArrayList<>();
-            }
-            
-            List<TrainingProgramDto> dtos = new java.util.ArrayList<>();
-            for (TrainingProgram program : programs) {
-                try {
-                    initializeRelationships(program);
-                    TrainingProgramDto dto = mapper.toDto(program);
-                    if (dto != null) {
-                        dtos.add(dto);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error mapping program with ID " + program.getId() + ": " + e.getMessage());
-                }
-            }
-            return dtos;
+            return trainingProgramRepository.findListRowsByStatus(statusEnum).stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid status: " + status + ". Valid values are: DRAFT, PUBLISHED, ONGOING, COMPLETED, CANCELLED, ARCHIVED");
         } catch (Exception e) {
@@ -408,24 +376,9 @@ public class TrainingProgramService {
             return getAllPrograms();
         }
         try {
-            List<TrainingProgram> programs = trainingProgramRepository.findByCategory(category.trim());
-            if (programs == null || programs.isEmpty()) {
-                return new java.util.ArrayList<>();
-            }
-            
-            List<TrainingProgramDto> dtos = new java.util.ArrayList<>();
-            for (TrainingProgram program : programs) {
-                try {
-                    initializeRelationships(program);
-                    TrainingProgramDto dto = mapper.toDto(program);
-                    if (dto != null) {
-                        dtos.add(dto);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error mapping program with ID " + program.getId() + ": " + e.getMessage());
-                }
-            }
-            return dtos;
+            return trainingProgramRepository.findListRowsByCategory(category.trim()).stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
         } catch (Exception e) {
             String errorMsg = e.getMessage();
             if (errorMsg == null || errorMsg.isEmpty()) {
@@ -457,8 +410,12 @@ public class TrainingProgramService {
         }
         
         // Assign teacher as instructor
+        programAccessIndex.invalidateAfterCommit(
+            program.getInstructor() != null ? program.getInstructor().getId() : null, teacher.getUser().getId());
         program.setInstructor(teacher.getUser());
         TrainingProgram updated = trainingProgramRepository.save(program);
+        trainingFactService.markProgramDirty(updated.getId());
+        reportCache.invalidateProgramAfterCommit(updated.getId());
         initializeRelationships(updated);
         return mapper.toDto(updated);
     }
@@ -509,6 +466,8 @@ public class TrainingProgramService {
                     }
                 );
         }
+        programAccessIndex.invalidateAfterCommit(request.getStudentIds().toArray(Long[]::new));
+        reportCache.invalidateProgramAfterCommit(program.getId());
     }
     
     @Transactional
@@ -518,6 +477,8 @@ public class TrainingProgramService {
         
         enrollment.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
         enrollmentRepository.save(enrollment);
+        programAccessIndex.invalidateAfterCommit(studentId);
+        reportCache.invalidateProgramAfterCommit(programId);
     }
     
     @Transactional(readOnly = true)
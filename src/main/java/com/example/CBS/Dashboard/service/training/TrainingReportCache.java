@@ -0,0 +1,168 @@
+package com.example.CBS.Dashboard.service.training;
+
+import com.example.CBS.Dashboard.repository.TrainingSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Result cache for the date-range training reports (CFO dashboard, teacher attendance reports).
+ * Entries are keyed by endpoint, inclusive date window and user scope, bounded by count and TTL.
+ * Writers evict by session date: only entries whose window covers the date are dropped.
+ * Set {@code app.training.report-cache.enabled=false} to bypass the cache entirely.
+ */
+@Component
+public class TrainingReportCache {
+
+    @Value("${app.training.report-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.training.report-cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${app.training.report-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private TrainingSessionRepository sessionRepository;
+
+    private record Key(String endpoint, LocalDate from, LocalDate to, String scope) {
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /** Bumped on every invalidation so a result computed concurrently with it is not cached. */
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /** Returns the cached result for the window, computing and storing it on a miss. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, LocalDate from, LocalDate to, String scope, Supplier<T> loader) {
+        if (!enabled || from == null || to == null || to.isBefore(from)) {
+            return loader.get();
+        }
+        Key key = new Key(endpoint, from, to, scope);
+        long startedAt;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    hits++;
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            startedAt = generation;
+        }
+        T value = loader.get();
+        synchronized (this) {
+            if (generation == startedAt) {
+                entries.put(key, new Entry(value, System.currentTimeMillis() + ttlSeconds * 1000));
+            }
+        }
+        return value;
+    }
+
+    /** Drops every entry whose window overlaps [from, to]. */
+    public synchronized void invalidate(LocalDate from, LocalDate to) {
+        generation++;
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            Key key = it.next();
+            if (!key.from.isAfter(to) && !key.to.isBefore(from)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    /** Evicts reports covering the session dates now and again after commit; null dates are skipped. */
+    public void invalidateSessionAfterCommit(LocalDateTime... sessionStarts) {
+        for (LocalDateTime start : sessionStarts) {
+            if (start != null) {
+                LocalDate date = start.toLocalDate();
+                afterCommit(() -> invalidate(date, date));
+            }
+        }
+    }
+
+    /**
+     * Evicts reports covering any session of the program, e.g. after its enrollments or details
+     * changed. Call before deleting the sessions.
+     */
+    public void invalidateProgramAfterCommit(Long programId) {
+        if (!enabled || programId == null) {
+            return;
+        }
+        TrainingSessionRepository.StartRange range = sessionRepository.findStartRangeByProgramId(programId);
+        if (range != null && range.getFirstStart() != null) {
+            LocalDate from = range.getFirstStart().toLocalDate();
+            LocalDate to = range.getLastStart().toLocalDate();
+            afterCommit(() -> invalidate(from, to));
+        }
+    }
+
+    public void invalidateAllAfterCommit() {
+        afterCommit(this::invalidateAll);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long lookups = hits + misses;
+        stats.put("enabled", enabled);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        stats.put("entries", entries.size());
+        return stats;
+    }
+
+    private void afterCommit(Runnable evict) {
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
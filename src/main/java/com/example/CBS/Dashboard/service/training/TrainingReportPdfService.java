@@ -6,7 +6,8 @@ import com.example.CBS.Dashboard.dto.training.SessionAttendanceReportDto;
 import com.example.CBS.Dashboard.dto.training.SingleSessionReportDto;
 import com.example.CBS.Dashboard.dto.training.StudentEngagementDto;
 import com.example.CBS.Dashboard.dto.training.StudentParticipationDto;
-import com.itextpdf.io.image.ImageDataFactory;
+import com.example.CBS.Dashboard.service.pdf.PdfAssetRegistry;
+import com.example.CBS.Dashboard.service.pdf.SignatureImageCache;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -19,24 +20,28 @@ import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class TrainingReportPdfService {
 
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
 
+    private final PdfAssetRegistry assets;
+    private final SignatureImageCache signatureImages;
+
     public byte[] generateAttendanceReportPdf(List<SessionAttendanceReportDto> reportRows,
                                               java.time.LocalDate from,
                                               java.time.LocalDate to) throws IOException {
@@ -104,22 +109,13 @@ public class TrainingReportPdfService {
         // Instructor e-signature for this session (if available)
         if (row.getInstructorSignatureData() != null && !row.getInstructorSignatureData().isBlank()) {
             document.add(new Paragraph("Instructor E-Signature:").setBold().setFontSize(11).setMarginTop(8).setMarginBottom(4));
-            try {
-                String base64 = row.getInstructorSignatureData().trim();
-                if (base64.contains(",")) {
-                    base64 = base64.substring(base64.indexOf(",") + 1).trim();
-                }
-                byte[] imgBytes = Base64.getDecoder().decode(base64);
-                if (imgBytes != null && imgBytes.length > 0) {
-                    Image img = new Image(ImageDataFactory.create(imgBytes));
-                    img.setWidth(200);
-                    img.setHeight(80);
-                    img.setHorizontalAlignment(HorizontalAlignment.LEFT);
-                    document.add(img);
-                } else {
-                    document.add(new Paragraph("Signature on file").setFontSize(9));
-                }
-            } catch (Exception ignored) {
+            Image img = signatureImages.newImage(row.getInstructorSignatureHash(), row.getInstructorSignatureData());
+            if (img != null) {
+                img.setWidth(200);
+                img.setHeight(80);
+                img.setHorizontalAlignment(HorizontalAlignment.LEFT);
+                document.add(img);
+            } else {
                 document.add(new Paragraph("Signature on file").setFontSize(9));
             }
         }
@@ -149,33 +145,11 @@ public class TrainingReportPdfService {
 
         // Left cell: DAB Logo (same logo as login/header: assets/DAB.png)
         Cell logoCell = new Cell().setBorder(Border.NO_BORDER);
-        try {
-            Resource logoResource = null;
-            String[] logoPaths = {
-                    "static/assets/DAB.png",
-                    "classpath:static/assets/DAB.png",
-                    "static/DAB.png",
-                    "classpath:static/DAB.png",
-                    "DAB.png",
-                    "classpath:DAB.png"
-            };
-            for (String path : logoPaths) {
-                try {
-                    logoResource = new ClassPathResource(path);
-                    if (logoResource.exists() && logoResource.isReadable()) {
-                        break;
-                    }
-                } catch (Exception e) {
-                    continue;
-                }
-            }
-            if (logoResource != null && logoResource.exists()) {
-                byte[] logoBytes = logoResource.getInputStream().readAllBytes();
-                Image logo = new Image(ImageDataFactory.create(logoBytes));
-                logo.setWidth(70);
-                logoCell.add(logo);
-            }
-        } catch (Exception e) {
+        Image logo = assets.newLogo();
+        if (logo != null) {
+            logo.setWidth(70);
+            logoCell.add(logo);
+        } else {
             logoCell.add(new Paragraph("Logo").setFontSize(10).setFontColor(new DeviceRgb(150, 150, 150)));
         }
         headerTable.addCell(logoCell);
@@ -238,17 +212,12 @@ public class TrainingReportPdfService {
                 sigTable.addCell(new Cell().add(new Paragraph(sig.getFullName() != null ? sig.getFullName() : "—")).setBorder(Border.NO_BORDER));
                 Cell sigCell = new Cell().add(new Paragraph("—")).setBorder(Border.NO_BORDER);
                 if (sig.getSignatureData() != null && !sig.getSignatureData().isBlank()) {
-                    try {
-                        String base64 = sig.getSignatureData();
-                        if (base64.contains(",")) base64 = base64.substring(base64.indexOf(",") + 1).trim();
-                        byte[] imgBytes = Base64.getDecoder().decode(base64);
-                        if (imgBytes != null && imgBytes.length > 0) {
-                            Image img = new Image(ImageDataFactory.create(imgBytes));
-                            img.setWidth(200);
-                            img.setHeight(80);
-                            sigCell = new Cell().add(img).setBorder(Border.NO_BORDER);
-                        }
-                    } catch (Exception ignored) { }
+                    Image img = signatureImages.newImage(sig.getSignatureHash(), sig.getSignatureData());
+                    if (img != null) {
+                        img.setWidth(200);
+                        img.setHeight(80);
+                        sigCell = new Cell().add(img).setBorder(Border.NO_BORDER);
+                    }
                 }
                 sigTable.addCell(sigCell);
             }
@@ -263,43 +232,19 @@ public class TrainingReportPdfService {
     }
 
     /**
-     * Adds the CFO signature image to the document if a configured image is available on the classpath.
+     * Adds the CFO signature image to the document if one was bundled on the classpath.
      * Returns true when an image was added, false when not found.
      */
     private boolean addCfoSignatureImage(Document document) {
-        try {
-            Resource sigResource = null;
-            String[] sigPaths = {
-                    "static/CFO_SIGNATURE.png",
-                    "classpath:static/CFO_SIGNATURE.png",
-                    "static/assets/CFO_SIGNATURE.png",
-                    "classpath:static/assets/CFO_SIGNATURE.png",
-                    "CFO_SIGNATURE.png",
-                    "classpath:CFO_SIGNATURE.png"
-            };
-
-            for (String path : sigPaths) {
-                try {
-                    sigResource = new ClassPathResource(path);
-                    if (sigResource.exists() && sigResource.isReadable()) {
-                        break;
-                    }
-                } catch (Exception ignored) { }
-            }
-
-            if (sigResource != null && sigResource.exists()) {
-                byte[] sigBytes = sigResource.getInputStream().readAllBytes();
-                Image sigImg = new Image(ImageDataFactory.create(sigBytes));
-                sigImg.setWidth(100);
-                sigImg.setHeight(40);
-                sigImg.setHorizontalAlignment(HorizontalAlignment.LEFT);
-                document.add(sigImg);
-                return true;
-            }
-        } catch (Exception ignored) {
-            // If anything fails we simply fall back to the placeholder line
+        Image sigImg = assets.newCfoSignature();
+        if (sigImg == null) {
+            return false;
         }
-        return false;
+        sigImg.setWidth(100);
+        sigImg.setHeight(40);
+        sigImg.setHorizontalAlignment(HorizontalAlignment.LEFT);
+        document.add(sigImg);
+        return true;
     }
 
     /** Comprehensive Single Session Report - student engagement, attendance, content coverage. */
@@ -323,22 +268,13 @@ public class TrainingReportPdfService {
         // Instructor e-signature for this session (if available)
         if (report.getInstructorSignatureData() != null && !report.getInstructorSignatureData().isBlank()) {
             document.add(new Paragraph("Instructor E-Signature:").setBold().setFontSize(11).setMarginBottom(4));
-            try {
-                String base64 = report.getInstructorSignatureData().trim();
-                if (base64.contains(",")) {
-                    base64 = base64.substring(base64.indexOf(",") + 1).trim();
-                }
-                byte[] imgBytes = Base64.getDecoder().decode(base64);
-                if (imgBytes != null && imgBytes.length > 0) {
-                    Image img = new Image(ImageDataFactory.create(imgBytes));
-                    img.setWidth(200);
-                    img.setHeight(80);
-                    img.setHorizontalAlignment(HorizontalAlignment.LEFT);
-                    document.add(img);
-                } else {
-                    document.add(new Paragraph("Signature on file").setFontSize(9));
-                }
-            } catch (Exception ignored) {
+            Image img = signatureImages.newImage(report.getInstructorSignatureHash(), report.getInstructorSignatureData());
+            if (img != null) {
+                img.setWidth(200);
+                img.setHeight(80);
+                img.setHorizontalAlignment(HorizontalAlignment.LEFT);
+                document.add(img);
+            } else {
                 document.add(new Paragraph("Signature on file").setFontSize(9));
             }
             document.add(new Paragraph(""));
@@ -390,7 +326,13 @@ public class TrainingReportPdfService {
     /** Date-Based Grouped Report - by students and sessions, participation trends. */
     public byte[] generateDateBasedGroupedReportPdf(DateBasedGroupedReportDto report) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
+        writeDateBasedGroupedReportPdf(report, baos);
+        return baos.toByteArray();
+    }
+
+    /** Writes the date-based grouped report to {@code out}; the stream is left open for the caller. */
+    public void writeDateBasedGroupedReportPdf(DateBasedGroupedReportDto report, OutputStream out) throws IOException {
+        PdfWriter writer = new PdfWriter(StreamUtils.nonClosing(out));
         PdfDocument pdf = new PdfDocument(writer);
         Document document = new Document(pdf);
         document.setMargins(40, 40, 40, 40);
@@ -407,32 +349,25 @@ public class TrainingReportPdfService {
 
         // Instructor e-signature for the consolidated period (first available session signature)
         String instructorSignatureData = null;
+        String instructorSignatureHash = null;
         if (report.getSessionsByDate() != null) {
             for (SessionAttendanceReportDto s : report.getSessionsByDate()) {
                 if (s.getInstructorSignatureData() != null && !s.getInstructorSignatureData().isBlank()) {
                     instructorSignatureData = s.getInstructorSignatureData();
+                    instructorSignatureHash = s.getInstructorSignatureHash();
                     break;
                 }
             }
         }
         if (instructorSignatureData != null && !instructorSignatureData.isBlank()) {
             document.add(new Paragraph("Instructor E-Signature").setBold().setFontSize(11).setMarginBottom(4));
-            try {
-                String base64 = instructorSignatureData.trim();
-                if (base64.contains(",")) {
-                    base64 = base64.substring(base64.indexOf(",") + 1).trim();
-                }
-                byte[] imgBytes = Base64.getDecoder().decode(base64);
-                if (imgBytes != null && imgBytes.length > 0) {
-                    Image img = new Image(ImageDataFactory.create(imgBytes));
-                    img.setWidth(200);
-                    img.setHeight(80);
-                    img.setHorizontalAlignment(HorizontalAlignment.LEFT);
-                    document.add(img);
-                } else {
-                    document.add(new Paragraph("Signature on file").setFontSize(9));
-                }
-            } catch (Exception ignored) {
+            Image img = signatureImages.newImage(instructorSignatureHash, instructorSignatureData);
+            if (img != null) {
+                img.setWidth(200);
+                img.setHeight(80);
+                img.setHorizontalAlignment(HorizontalAlignment.LEFT);
+                document.add(img);
+            } else {
                 document.add(new Paragraph("Signature on file").setFontSize(9));
             }
             document.add(new Paragraph(""));
@@ -481,6 +416,5 @@ public class TrainingReportPdfService {
         }
         addGuidelinesAndSignature(document, report.getToDate(), allSignatures);
         document.close();
-        return baos.toByteArray();
     }
 }
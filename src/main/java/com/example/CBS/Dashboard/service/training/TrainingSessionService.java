@@ -8,13 +8,15 @@ import com.example.CBS.Dashboard.entity.User;
 import com.example.CBS.Dashboard.repository.TrainingProgramRepository;
 import com.example.CBS.Dashboard.repository.TrainingSessionRepository;
 import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.security.CurrentUser;
+import com.example.CBS.Dashboard.security.CurrentUserProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,6 +29,10 @@ public class TrainingSessionService {
     private final TrainingProgramRepository programRepository;
     private final UserRepository userRepository;
     private final TrainingAccessService trainingAccessService;
+    private final CurrentUserProvider currentUserProvider;
+    private final ProgramAccessIndex programAccessIndex;
+    private final TrainingFactService trainingFactService;
+    private final TrainingReportCache reportCache;
     
     @Transactional
     public TrainingSessionDto createSession(CreateTrainingSessionRequest request, String username) {
@@ -60,12 +66,14 @@ public class TrainingSessionService {
         }
         
         TrainingSession saved = sessionRepository.save(session);
+        trainingFactService.markDirty(program.getId(), saved.getStartDateTime());
+        reportCache.invalidateSessionAfterCommit(saved.getStartDateTime());
         return mapToDto(saved);
     }
     
     @Transactional(readOnly = true)
     public List<TrainingSessionDto> getAllSessions() {
-        List<TrainingSessionDto> sessions = sessionRepository.findAll().stream()
+        List<TrainingSessionDto> sessions = sessionRepository.findListRows().stream()
             .map(this::mapToDto)
             .collect(Collectors.toList());
         // Auto-generate sequence order in descending order
@@ -75,7 +83,7 @@ public class TrainingSessionService {
     
     @Transactional(readOnly = true)
     public List<TrainingSessionDto> getSessionsByProgram(Long programId) {
-        List<TrainingSessionDto> sessions = sessionRepository.findByProgramId(programId).stream()
+        List<TrainingSessionDto> sessions = sessionRepository.findListRowsByProgramId(programId).stream()
             .map(this::mapToDto)
             .collect(Collectors.toList());
         // Auto-generate sequence order in descending order
@@ -92,12 +100,11 @@ public class TrainingSessionService {
     
     @Transactional(readOnly = true)
     public TrainingSessionDto getSessionById(Long id, String username) {
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CurrentUser user = currentUserProvider.forUsername(username);
         TrainingSession session = sessionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Training session not found"));
         // Admins and training admins can see any session.
-        if (!hasAnyRole(user, "ROLE_ADMIN", "ROLE_TRAINING_ADMIN")) {
+        if (!user.hasAnyRole("ROLE_ADMIN", "ROLE_TRAINING_ADMIN")) {
             if (session.getProgram() == null || session.getProgram().getId() == null) {
                 throw new RuntimeException("Training session is not linked to a training program");
             }
@@ -118,16 +125,15 @@ public class TrainingSessionService {
      */
     @Transactional(readOnly = true)
     public List<TrainingSessionDto> getSessionsForUser(String username, Long programId) {
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CurrentUser user = currentUserProvider.forUsername(username);
 
-        boolean isAdminLike = hasAnyRole(user, "ROLE_ADMIN", "ROLE_TRAINING_ADMIN");
+        boolean isAdminLike = user.hasAnyRole("ROLE_ADMIN", "ROLE_TRAINING_ADMIN");
 
         if (programId != null) {
             if (!isAdminLike) {
                 trainingAccessService.assertCanAccessProgramContent(username, programId);
             }
-            List<TrainingSessionDto> sessions = sessionRepository.findByProgramId(programId).stream()
+            List<TrainingSessionDto> sessions = sessionRepository.findListRowsByProgramId(programId).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
             assignSequenceOrder(sessions);
@@ -141,15 +147,7 @@ public class TrainingSessionService {
         }
 
         // Teachers/students: only sessions for programs where they are instructor or enrolled.
-        Set<Long> accessibleProgramIds = new HashSet<>();
-
-        // As instructor
-        programRepository.findByInstructorId(user.getId())
-            .forEach(p -> accessibleProgramIds.add(p.getId()));
-
-        // As enrolled student (active enrollments only are already enforced in repository)
-        programRepository.findByStudentId(user.getId())
-            .forEach(p -> accessibleProgramIds.add(p.getId()));
+        Set<Long> accessibleProgramIds = programAccessIndex.accessibleProgramIds(user.id());
 
         if (accessibleProgramIds.isEmpty()) {
             return new ArrayList<>();
@@ -157,7 +155,7 @@ public class TrainingSessionService {
 
         List<TrainingSessionDto> result = new ArrayList<>();
         for (Long pid : accessibleProgramIds) {
-            List<TrainingSessionDto> programSessions = sessionRepository.findByProgramId(pid).stream()
+            List<TrainingSessionDto> programSessions = sessionRepository.findListRowsByProgramId(pid).stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
             result.addAll(programSessions);
@@ -171,6 +169,9 @@ public class TrainingSessionService {
     public TrainingSessionDto updateSession(Long id, CreateTrainingSessionRequest request) {
         TrainingSession session = sessionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Training session not found"));
+        // The session may move to another month; refresh both
+        trainingFactService.markDirty(session.getProgram().getId(), session.getStartDateTime());
+        LocalDateTime previousStart = session.getStartDateTime();
         
         session.setStartDateTime(request.getStartDateTime());
         session.setEndDateTime(request.getEndDateTime());
@@ -190,25 +191,18 @@ public class TrainingSessionService {
         }
         
         TrainingSession saved = sessionRepository.save(session);
+        trainingFactService.markDirty(saved.getProgram().getId(), saved.getStartDateTime());
+        reportCache.invalidateSessionAfterCommit(previousStart, saved.getStartDateTime());
         return mapToDto(saved);
     }
 
-    private boolean hasAnyRole(User user, String... roleNames) {
-        if (user.getRoles() == null || user.getRoles().isEmpty()) {
-            return false;
-        }
-        return user.getRoles().stream()
-            .map(role -> role.getName() != null ? role.getName().trim() : "")
-            .anyMatch(userRole ->
-                java.util.Arrays.stream(roleNames)
-                    .anyMatch(required -> required.equalsIgnoreCase(userRole)));
-    }
-    
     @Transactional
     public void deleteSession(Long id) {
         TrainingSession session = sessionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Training session not found"));
         sessionRepository.delete(session);
+        trainingFactService.markDirty(session.getProgram().getId(), session.getStartDateTime());
+        reportCache.invalidateSessionAfterCommit(session.getStartDateTime());
     }
 
     /**
@@ -218,6 +212,8 @@ public class TrainingSessionService {
     @Transactional
     public void deleteAllSessions() {
         sessionRepository.deleteAll();
+        trainingFactService.rebuild();
+        reportCache.invalidateAllAfterCommit();
     }
 
     private TrainingSessionDto mapToDto(TrainingSession session) {
@@ -226,26 +222,11 @@ public class TrainingSessionService {
         dto.setProgramId(session.getProgram().getId());
         dto.setProgramTitle(session.getProgram().getTitle());
 
-        // Prefer explicit per-session topic; fall back to program-level topic/name/title
-        String topic = session.getTopic();
-        if (topic == null || topic.isBlank()) {
-            if (session.getProgram() != null) {
-                if (session.getProgram().getTrainingTopic() != null
-                        && session.getProgram().getTrainingTopic().getName() != null
-                        && !session.getProgram().getTrainingTopic().getName().isBlank()) {
-                    topic = session.getProgram().getTrainingTopic().getName().trim();
-                } else if (session.getProgram().getTrainingNameString() != null
-                        && !session.getProgram().getTrainingNameString().isBlank()) {
-                    topic = session.getProgram().getTrainingNameString().trim();
-                } else if (session.getProgram().getTitle() != null
-                        && !session.getProgram().getTitle().isBlank()) {
-                    topic = session.getProgram().getTitle().trim();
-                }
-            }
-        } else {
-            topic = topic.trim();
-        }
-        dto.setTopicName(topic);
+        TrainingProgram program = session.getProgram();
+        dto.setTopicName(displayTopic(session.getTopic(),
+                program.getTrainingTopic() != null ? program.getTrainingTopic().getName() : null,
+                program.getTrainingNameString(),
+                program.getTitle()));
 
         dto.setStartDateTime(session.getStartDateTime());
         dto.setEndDateTime(session.getEndDateTime());
@@ -267,4 +248,48 @@ public class TrainingSessionService {
         dto.setSequenceOrder(session.getSequenceOrder());
         return dto;
     }
+
+    private TrainingSessionDto mapToDto(TrainingSessionRepository.SessionListRow row) {
+        TrainingSessionDto dto = new TrainingSessionDto();
+        dto.setId(row.getId());
+        dto.setProgramId(row.getProgramId());
+        dto.setProgramTitle(row.getProgramTitle());
+        dto.setTopicName(displayTopic(row.getTopic(), row.getProgramTopicName(),
+                row.getProgramTrainingName(), row.getProgramTitle()));
+        dto.setStartDateTime(row.getStartDateTime());
+        dto.setEndDateTime(row.getEndDateTime());
+        dto.setLocation(row.getLocation());
+        dto.setSessionType(row.getSessionType());
+        dto.setStatus(row.getStatus().name());
+        dto.setMaxCapacity(row.getMaxCapacity());
+        dto.setNotes(row.getNotes());
+        dto.setInstructorId(row.getInstructorId());
+        dto.setInstructorUsername(row.getInstructorUsername());
+        dto.setInstructorFullName(row.getInstructorFullName());
+        dto.setCreatedById(row.getCreatedById());
+        dto.setCreatedByUsername(row.getCreatedByUsername());
+        dto.setCreatedAt(row.getCreatedAt());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setEnrollmentsCount(row.getEnrollmentsCount() != null ? row.getEnrollmentsCount().intValue() : 0);
+        dto.setSequenceOrder(row.getSequenceOrder());
+        return dto;
+    }
+
+    /** Prefer explicit per-session topic; fall back to program-level topic/name/title. */
+    private static String displayTopic(String topic, String programTopicName, String programTrainingName,
+                                       String programTitle) {
+        if (topic != null && !topic.isBlank()) {
+            return topic.trim();
+        }
+        if (programTopicName != null && !programTopicName.isBlank()) {
+            return programTopicName.trim();
+        }
+        if (programTrainingName != null && !programTrainingName.isBlank()) {
+            return programTrainingName.trim();
+        }
+        if (programTitle != null && !programTitle.isBlank()) {
+            return programTitle.trim();
+        }
+        return topic;
+    }
 }
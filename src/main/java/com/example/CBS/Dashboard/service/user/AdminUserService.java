@@ -1,5 +1,6 @@
 package com.example.CBS.Dashboard.service.user;
 
+import com.example.CBS.Dashboard.dto.common.CursorPage;
 import com.example.CBS.Dashboard.dto.user.CreateUserRequest;
 import com.example.CBS.Dashboard.dto.user.ModuleRoleDto;
 import com.example.CBS.Dashboard.dto.user.RoleDto;
@@ -11,9 +12,11 @@ import com.example.CBS.Dashboard.mapper.UserMapper;
 import com.example.CBS.Dashboard.repository.RoleRepository;
 import com.example.CBS.Dashboard.repository.StudentTeacherRepository;
 import com.example.CBS.Dashboard.repository.UserRepository;
+import com.example.CBS.Dashboard.security.UserPrincipalCache;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -43,6 +46,9 @@ public class AdminUserService {
     @Autowired
     private StudentTeacherRepository studentTeacherRepository;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
     /**
      * Users that are not yet assigned as student or teacher (no row in student_teachers).
      * Excludes users who already have any student_teachers record and optionally ADMIN.
@@ -51,20 +57,26 @@ public class AdminUserService {
     @Transactional(readOnly = true)
     public List<UserDto> getUsersAvailableForTraining() {
         Set<Long> assignedUserIds = new HashSet<>(studentTeacherRepository.findAllAssignedUserIds());
-        return userRepository.findAll()
-                .stream()
+        return listUsers().stream()
                 .filter(user -> !assignedUserIds.contains(user.getId()))
-                .filter(user -> user.getRoles().stream()
-                        .noneMatch(role -> "ROLE_ADMIN".equals(role.getName())))
-                .map(userMapper::toDto)
+                .filter(user -> !user.getRoles().contains("ROLE_ADMIN"))
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        return userRepository.findAll()
+        return listUsers();
+    }
+
+    /** All users for list views: two queries (rows, role names), no entity or signature loading. */
+    private List<UserDto> listUsers() {
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        for (UserRepository.UserRoleName role : userRepository.findAllRoleNames()) {
+            rolesByUser.computeIfAbsent(role.getUserId(), id -> new HashSet<>()).add(role.getRoleName());
+        }
+        return userRepository.findListRows()
                 .stream()
-                .map(userMapper::toDto)
+                .map(row -> userMapper.toDto(row, rolesByUser.getOrDefault(row.getId(), new HashSet<>())))
                 .collect(Collectors.toList());
     }
 
@@ -167,6 +179,27 @@ public class AdminUserService {
                 .map(userMapper::toDto);
     }
 
+    /** Cursor-paginated variant of {@link #getUsers} in id order, without the count query. */
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsersPage(String cursor, int size, String search) {
+        int pageSize = CursorPage.pageSize(size);
+        Long afterId = CursorPage.decodeIdCursor(cursor);
+        String searchTerm = search != null && !search.trim().isEmpty() ? "%" + search.toLowerCase() + "%" : null;
+
+        List<UserRepository.UserListRow> rows =
+                userRepository.findListRowsAfter(searchTerm, afterId, PageRequest.of(0, pageSize + 1));
+        Map<Long, Set<String>> rolesByUser = new HashMap<>();
+        if (!rows.isEmpty()) {
+            List<Long> ids = rows.stream().map(UserRepository.UserListRow::getId).collect(Collectors.toList());
+            for (UserRepository.UserRoleName role : userRepository.findRoleNamesByUserIdIn(ids)) {
+                rolesByUser.computeIfAbsent(role.getUserId(), id -> new HashSet<>()).add(role.getRoleName());
+            }
+        }
+        return CursorPage.of(rows, pageSize,
+                row -> CursorPage.encodeCursor(row.getId()),
+                row -> userMapper.toDto(row, rolesByUser.getOrDefault(row.getId(), new HashSet<>())));
+    }
+
     @Transactional
     public UserDto createUser(CreateUserRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -220,6 +253,7 @@ public class AdminUserService {
             user.setEnabled(request.getEnabled());
         }
 
+        principalCache.invalidateAfterCommit(user.getUsername());
         return userMapper.toDto(userRepository.save(user));
     }
 
@@ -26,15 +26,8 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
         
-        // Ensure role names have ROLE_ prefix so hasRole() and hasAuthority('ROLE_*') work (e.g. admin with "ADMIN" in DB gets ROLE_ADMIN)
         Set<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> {
-                    String name = role.getName();
-                    if (name != null && !name.startsWith("ROLE_")) {
-                        name = "ROLE_" + name;
-                    }
-                    return new SimpleGrantedAuthority(name);
-                })
+                .map(role -> new SimpleGrantedAuthority(toAuthority(role.getName())))
                 .collect(Collectors.toSet());
         
         return org.springframework.security.core.userdetails.User
@@ -47,4 +40,12 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .disabled(!user.getEnabled())
                 .build();
     }
+    
+    /** Ensures role names have ROLE_ prefix so hasRole() and hasAuthority('ROLE_*') work (e.g. admin with "ADMIN" in DB gets ROLE_ADMIN) */
+    public static String toAuthority(String roleName) {
+        if (roleName != null && !roleName.startsWith("ROLE_")) {
+            return "ROLE_" + roleName;
+        }
+        return roleName;
+    }
 }
@@ -0,0 +1,143 @@
+package com.example.CBS.Dashboard.service.user;
+
+import com.example.CBS.Dashboard.entity.SignatureImage;
+import com.example.CBS.Dashboard.entity.User;
+import com.example.CBS.Dashboard.repository.SignatureImageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Content-addressed storage for e-signature images. Each distinct image is stored once in
+ * signature_images under the SHA-256 of its bytes; attendance rows and users keep only the hash.
+ * Images never change once stored, so the base64 form handed to API clients is cached without
+ * invalidation in a bounded LRU.
+ */
+@Service
+public class SignatureStore {
+
+    @Value("${app.signature-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Autowired
+    private SignatureImageRepository signatureImageRepository;
+
+    private final Map<String, String> base64ByHash = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /** Stores the image (data URL or raw base64) if it is new and returns its hash. */
+    @Transactional
+    public String store(String signatureData) {
+        byte[] image = decode(signatureData);
+        if (image == null) {
+            throw new IllegalArgumentException("Signature image is empty or not valid base64");
+        }
+        String hash = sha256Hex(image);
+        signatureImageRepository.insertIfAbsent(hash, image);
+        remember(hash, Base64.getEncoder().encodeToString(image));
+        return hash;
+    }
+
+    /**
+     * Hash of the user's profile signature, storing it first for signatures saved before
+     * signature_images existed; null when the user has no signature.
+     */
+    @Transactional
+    public String hashFor(User user) {
+        if (user.getSignatureHash() != null) {
+            return user.getSignatureHash();
+        }
+        if (user.getSignatureData() == null || user.getSignatureData().isBlank()) {
+            return null;
+        }
+        String hash = store(user.getSignatureData());
+        user.setSignatureHash(hash);
+        return hash;
+    }
+
+    /** Base64 of the stored image, or null if no image has that hash. */
+    @Transactional(readOnly = true)
+    public String base64(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        String cached = cached(hash);
+        if (cached != null) {
+            return cached;
+        }
+        return signatureImageRepository.findById(hash)
+                .map(image -> remember(hash, Base64.getEncoder().encodeToString(image.getImageData())))
+                .orElse(null);
+    }
+
+    /** Base64 images for several hashes, loading all cache misses with one query. */
+    @Transactional(readOnly = true)
+    public Map<String, String> base64(Collection<String> hashes) {
+        Map<String, String> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String hash : hashes) {
+            if (hash == null) continue;
+            String cached = cached(hash);
+            if (cached != null) {
+                result.put(hash, cached);
+            } else {
+                missing.add(hash);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (SignatureImage image : signatureImageRepository.findAllById(missing)) {
+                result.put(image.getHash(), remember(image.getHash(),
+                        Base64.getEncoder().encodeToString(image.getImageData())));
+            }
+        }
+        return result;
+    }
+
+    /** Signature of an attendance row: the referenced image, else the legacy inline copy. */
+    public String resolve(String hash, String legacySignatureData) {
+        return hash != null ? base64(hash) : legacySignatureData;
+    }
+
+    /** Decodes a data URL or raw base64 (line breaks allowed); null if empty or malformed. */
+    public static byte[] decode(String signatureData) {
+        if (signatureData == null) {
+            return null;
+        }
+        String base64 = signatureData.trim();
+        if (base64.contains(",")) {
+            base64 = base64.substring(base64.indexOf(",") + 1).trim();
+        }
+        try {
+            byte[] bytes = Base64.getMimeDecoder().decode(base64);
+            return bytes.length > 0 ? bytes : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private synchronized String cached(String hash) {
+        return base64ByHash.get(hash);
+    }
+
+    private synchronized String remember(String hash, String base64) {
+        base64ByHash.put(hash, base64);
+        return base64;
+    }
+}
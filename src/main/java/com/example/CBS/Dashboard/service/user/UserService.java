@@ -24,6 +24,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SignatureStore signatureStore;
+
     @Transactional(readOnly = true)
     public UserDto getUserProfile(String username) {
         User user = userRepository.findByUsername(username)
@@ -41,6 +44,7 @@ public class UserService {
             cleanData = cleanData.substring(cleanData.indexOf(",") + 1).trim();
         }
         user.setSignatureData(cleanData);
+        user.setSignatureHash(cleanData != null && !cleanData.isBlank() ? signatureStore.store(cleanData) : null);
         user.setSignatureCreatedAt(LocalDateTime.now());
         userRepository.save(user);
     }
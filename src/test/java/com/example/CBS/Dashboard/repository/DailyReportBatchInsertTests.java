@@ -0,0 +1,85 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.entity.CbsTeamActivity;
+import com.example.CBS.Dashboard.entity.DailyReport;
+import com.example.CBS.Dashboard.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round-trip benchmark for bulk report creation: a report with 200 CBS team activities must be written
+ * with batched inserts and pooled sequence calls, not one statement per activity.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class DailyReportBatchInsertTests {
+
+    private static final int ACTIVITY_COUNT = 200;
+
+    // 1 report insert + 4 activity batches (batch_size 50) + ~5 sequence calls (allocationSize 50), with
+    // some slack for statement re-preparation; one statement per activity would be over 200
+    private static final long MAX_STATEMENTS = 15;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DailyReportRepository dailyReportRepository;
+
+    private Statistics statistics;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new User();
+        employee.setUsername("bulk");
+        employee.setEmail("bulk@example.com");
+        employee.setPassword("secret");
+        entityManager.persist(employee);
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createReportWithManyActivitiesUsesBatchedInserts() {
+        DailyReport report = new DailyReport();
+        report.setEmployee(employee);
+        report.setBusinessDate(LocalDate.of(2025, 1, 1));
+        for (int i = 0; i < ACTIVITY_COUNT; i++) {
+            CbsTeamActivity activity = new CbsTeamActivity();
+            activity.setDailyReport(report);
+            activity.setDescription("Activity " + i);
+            activity.setActivityType("Reversals");
+            report.getCbsTeamActivities().add(activity);
+        }
+
+        long started = System.nanoTime();
+        dailyReportRepository.save(report);
+        entityManager.flush();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ACTIVITY_COUNT + 1);
+        assertThat(statistics.getPrepareStatementCount())
+                .as("statements for %d activities (took %d ms)", ACTIVITY_COUNT, elapsedMillis)
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.dto.dailyreport.DailyReportDto;
+import com.example.CBS.Dashboard.entity.*;
+import com.example.CBS.Dashboard.mapper.DailyReportMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements needed to load a page of daily reports with all ten sections,
+ * so lazy collection access does not regress into one query per report and section.
+ */
+@DataJpaTest
+@Import(DailyReportMapper.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class DailyReportFetchQueryCountTests {
+
+    private static final int PAGE_SIZE = 50;
+
+    // page query + count query + one batch per section (10) + one batch for the users' roles
+    private static final long MAX_STATEMENTS_PER_PAGE = 13;
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DailyReportRepository dailyReportRepository;
+
+    @Autowired
+    private DailyReportMapper dailyReportMapper;
+
+    private Statistics statistics;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setName("ROLE_INDIVIDUAL");
+        entityManager.persist(role);
+
+        employee = newUser("employee", role);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            entityManager.persist(newReport(employee, FIRST_DATE.plusDays(i)));
+        }
+        // Same business date, one report per employee, for the by-date query
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            entityManager.persist(newReport(newUser("colleague" + i, role), FIRST_DATE.minusDays(1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void employeePageLoadsAllSectionsInConstantQueries() {
+        Page<DailyReport> page = dailyReportRepository.findByEmployeeIdOrderByBusinessDateDesc(
+                employee.getId(), PageRequest.of(0, PAGE_SIZE));
+        List<DailyReportDto> dtos = page.map(dailyReportMapper::toDto).getContent();
+
+        assertThat(dtos).hasSize(PAGE_SIZE);
+        assertThat(dtos).allSatisfy(this::assertAllSectionsLoaded);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void businessDateListLoadsAllSectionsInConstantQueries() {
+        List<DailyReportDto> dtos = dailyReportRepository.findByBusinessDate(FIRST_DATE.minusDays(1)).stream()
+                .map(dailyReportMapper::toDto)
+                .collect(Collectors.toList());
+
+        assertThat(dtos).hasSize(PAGE_SIZE);
+        assertThat(dtos).allSatisfy(this::assertAllSectionsLoaded);
+        // No count query for a plain list
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE - 1);
+    }
+
+    private void assertAllSectionsLoaded(DailyReportDto dto) {
+        assertThat(dto.getEmployeeUsername()).isNotNull();
+        assertThat(dto.getChatCommunications()).hasSize(1);
+        assertThat(dto.getEmailCommunications()).hasSize(1);
+        assertThat(dto.getProblemEscalations()).hasSize(1);
+        assertThat(dto.getTrainingCapacityBuildings()).hasSize(1);
+        assertThat(dto.getProjectProgressUpdates()).hasSize(1);
+        assertThat(dto.getCbsTeamActivities()).hasSize(1);
+        assertThat(dto.getPendingActivities()).hasSize(1);
+        assertThat(dto.getMeetings()).hasSize(1);
+        assertThat(dto.getAfpayCardRequests()).hasSize(1);
+        assertThat(dto.getQrmisIssues()).hasSize(1);
+    }
+
+    private User newUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setFullName(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.getRoles().add(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private DailyReport newReport(User owner, LocalDate businessDate) {
+        DailyReport report = new DailyReport();
+        report.setEmployee(owner);
+        report.setBusinessDate(businessDate);
+        report.setStatus(DailyReport.ReportStatus.SUBMITTED);
+
+        ChatCommunication chat = new ChatCommunication();
+        chat.setDailyReport(report);
+        chat.setPlatform("WhatsApp");
+        chat.setSummary("summary");
+        report.getChatCommunications().add(chat);
+
+        EmailCommunication email = new EmailCommunication();
+        email.setDailyReport(report);
+        email.setSender("a");
+        email.setReceiver("b");
+        email.setSubject("subject");
+        email.setSummary("summary");
+        report.getEmailCommunications().add(email);
+
+        ProblemEscalation escalation = new ProblemEscalation();
+        escalation.setDailyReport(report);
+        escalation.setEscalatedTo("IT");
+        escalation.setReason("reason");
+        escalation.setEscalationDateTime(LocalDateTime.now());
+        report.getProblemEscalations().add(escalation);
+
+        TrainingCapacityBuilding training = new TrainingCapacityBuilding();
+        training.setDailyReport(report);
+        training.setTrainingType("internal");
+        training.setTopic("topic");
+        report.getTrainingCapacityBuildings().add(training);
+
+        ProjectProgressUpdate project = new ProjectProgressUpdate();
+        project.setDailyReport(report);
+        project.setProjectName("project");
+        project.setProgressDetail("detail");
+        report.getProjectProgressUpdates().add(project);
+
+        CbsTeamActivity activity = new CbsTeamActivity();
+        activity.setDailyReport(report);
+        activity.setDescription("activity");
+        report.getCbsTeamActivities().add(activity);
+
+        PendingActivity pending = new PendingActivity();
+        pending.setDailyReport(report);
+        pending.setTitle("title");
+        pending.setDescription("description");
+        pending.setStatus("Open");
+        pending.setAmount(BigDecimal.ONE);
+        report.getPendingActivities().add(pending);
+
+        Meeting meeting = new Meeting();
+        meeting.setDailyReport(report);
+        meeting.setMeetingType("Internal");
+        meeting.setTopic("topic");
+        meeting.setSummary("summary");
+        report.getMeetings().add(meeting);
+
+        AfpayCardRequest afpay = new AfpayCardRequest();
+        afpay.setDailyReport(report);
+        afpay.setRequestType("Issue");
+        afpay.setRequestedBy("customer");
+        afpay.setRequestDate(businessDate);
+        report.getAfpayCardRequests().add(afpay);
+
+        QrmisIssue qrmis = new QrmisIssue();
+        qrmis.setDailyReport(report);
+        qrmis.setProblemType("type");
+        qrmis.setProblemDescription("description");
+        report.getQrmisIssues().add(qrmis);
+
+        return report;
+    }
+}
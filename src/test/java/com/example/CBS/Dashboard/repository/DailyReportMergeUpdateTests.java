@@ -0,0 +1,112 @@
+package com.example.CBS.Dashboard.repository;
+
+import com.example.CBS.Dashboard.dto.dailyreport.DailyReportDto;
+import com.example.CBS.Dashboard.dto.dailyreport.UpdateDailyReportRequest;
+import com.example.CBS.Dashboard.entity.CbsTeamActivity;
+import com.example.CBS.Dashboard.entity.ChatCommunication;
+import com.example.CBS.Dashboard.entity.DailyReport;
+import com.example.CBS.Dashboard.entity.User;
+import com.example.CBS.Dashboard.mapper.DailyReportMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An autosave that sends every section row back with its id and changes one field must update that
+ * single row, not delete and re-insert the report's children.
+ */
+@DataJpaTest
+@Import(DailyReportMapper.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class DailyReportMergeUpdateTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DailyReportRepository dailyReportRepository;
+
+    @Autowired
+    private DailyReportMapper dailyReportMapper;
+
+    private Statistics statistics;
+    private Long reportId;
+
+    @BeforeEach
+    void setUp() {
+        User employee = new User();
+        employee.setUsername("autosave");
+        employee.setEmail("autosave@example.com");
+        employee.setPassword("secret");
+        entityManager.persist(employee);
+
+        DailyReport report = new DailyReport();
+        report.setEmployee(employee);
+        report.setBusinessDate(LocalDate.of(2025, 1, 1));
+        for (int i = 0; i < 5; i++) {
+            CbsTeamActivity activity = new CbsTeamActivity();
+            activity.setDailyReport(report);
+            activity.setDescription("Activity " + i);
+            activity.setActivityType("Reversals");
+            report.getCbsTeamActivities().add(activity);
+        }
+        ChatCommunication chat = new ChatCommunication();
+        chat.setDailyReport(report);
+        chat.setPlatform("General");
+        chat.setSummary("Chat");
+        report.getChatCommunications().add(chat);
+        reportId = dailyReportRepository.save(report).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void autosaveChangingOneFieldUpdatesOneRow() {
+        DailyReport report = dailyReportRepository.findById(reportId).orElseThrow();
+        UpdateDailyReportRequest request = toRequest(dailyReportMapper.toDto(report));
+        request.getCbsTeamActivities().get(2).setDescription("Activity 2 (edited)");
+
+        statistics.clear();
+        dailyReportMapper.updateEntityFromDto(report, request);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+
+    // What the editor sends back: the rows it was given, ids included
+    private static UpdateDailyReportRequest toRequest(DailyReportDto dto) {
+        UpdateDailyReportRequest request = new UpdateDailyReportRequest();
+        request.setChatCommunications(dto.getChatCommunications());
+        request.setEmailCommunications(dto.getEmailCommunications());
+        request.setProblemEscalations(dto.getProblemEscalations());
+        request.setTrainingCapacityBuildings(dto.getTrainingCapacityBuildings());
+        request.setProjectProgressUpdates(dto.getProjectProgressUpdates());
+        request.setCbsTeamActivities(dto.getCbsTeamActivities());
+        request.setPendingActivities(dto.getPendingActivities());
+        request.setMeetings(dto.getMeetings());
+        request.setAfpayCardRequests(dto.getAfpayCardRequests());
+        request.setQrmisIssues(dto.getQrmisIssues());
+        return request;
+    }
+}